@@ -25,6 +25,8 @@ export const API_ENDPOINTS = {
     UPDATE: (donationId) => `${API_BASE_URL}/donations/${donationId}`,
     DELETE: (donationId) => `${API_BASE_URL}/donations/${donationId}`,
     CLAIM: (donationId) => `${API_BASE_URL}/donations/${donationId}/claim`,
+    NEARBY: `${API_BASE_URL}/donations/nearby`,
+    BULK: `${API_BASE_URL}/donations/bulk`,
   },
   
   // Admin related endpoints
@@ -59,6 +61,11 @@ export const API_ENDPOINTS = {
     DELETE: (requestId) => `${API_BASE_URL}/donation_requests/${requestId}`
   },
   
+  // Server-Sent Events stream of donation, request and notification updates
+  UPDATES: {
+    STREAM: (userId) => `${API_BASE_URL}/updates/stream?user_id=${userId}`
+  },
+
   // Categories
   CATEGORIES: {
     FOOD: `${API_BASE_URL}/categories/food`
@@ -44,6 +44,7 @@ import MyRequests from '../components/beneficiary/MyRequests';
 import ImpactMetrics from '../components/beneficiary/ImpactMetrics';
 import { mockDonations, mockBeneficiaryImpact } from '../mocks/mockData';
 import { mockNotifications } from '../mocks/mockNotificationsData';
+import { api } from '../utils/apiUtils';
 
 // Define drawer width for sidebar
 const drawerWidth = 240;
@@ -182,6 +183,22 @@ const BeneficiaryDashboardPage = () => {
 
     fetchDashboardData();
   }, [navigate]);
+
+  // Apply request status changes pushed by the server instead of refetching the list
+  useEffect(() => {
+    if (!user?.user_id) {
+      return undefined;
+    }
+    return api.updates.subscribe(user.user_id, {
+      request: (update) => {
+        setRequests(prevRequests => Array.isArray(prevRequests) ? prevRequests.map(request =>
+          request.request_id === update.request_id || request.donation_id === update.donation_id
+            ? { ...request, status: update.status }
+            : request
+        ) : prevRequests);
+      }
+    });
+  }, [user?.user_id]);
   
   // Handle drawer open/close
   const toggleDrawer = () => {
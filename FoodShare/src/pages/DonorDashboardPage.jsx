@@ -40,6 +40,7 @@ import DonationsList from '../components/donor/DonationsList';
 import ImpactMetrics from '../components/donor/ImpactMetrics';
 import Rewards from '../components/donor/Rewards';
 import { mockDonations, mockRewards, mockDonorImpact } from '../mocks/mockData';
+import { api } from '../utils/apiUtils';
 
 // Helper function for delay
 const delay = (ms) => new Promise(resolve => setTimeout(resolve, ms));
@@ -133,6 +134,20 @@ const DonorDashboardPage = () => {
     
     fetchDashboardData();
   }, []);
+
+  // Apply donation status changes pushed by the server instead of refetching the list
+  useEffect(() => {
+    if (!userData?.user_id) {
+      return undefined;
+    }
+    return api.updates.subscribe(userData.user_id, {
+      donation: (update) => {
+        setDonations(prevDonations => prevDonations.map(donation =>
+          donation.donation_id === update.donation_id ? { ...donation, status: update.status } : donation
+        ));
+      }
+    });
+  }, [userData?.user_id]);
   
   // Handle drawer open/close
   const toggleDrawer = () => {
@@ -159,7 +159,27 @@ export const api = {
   notifications: {
     getNotifications: (userId, params) => apiService.get(`/api/v1/notifications?user_id=${userId}`, params),
     markAsRead: (notificationId) => apiService.patch(`/api/v1/notifications/${notificationId}/read`),
+    markAllAsRead: (userId) => apiService.patch(`/api/v1/notifications/read-all?user_id=${userId}`),
+    getUnreadCount: (userId) => apiService.get(`/api/v1/notifications/unread-count?user_id=${userId}`),
     sendNotification: (notificationData) => apiService.post('/api/v1/notifications', notificationData)
+  },
+
+  // Live updates
+  updates: {
+    /**
+     * Subscribe to live donation, request and notification updates for a user
+     *
+     * @param {string} userId - The user to receive updates for
+     * @param {Object} handlers - Callbacks keyed by event name (donation, request, notification)
+     * @returns {Function} Function that closes the subscription
+     */
+    subscribe: (userId, handlers = {}) => {
+      const source = new EventSource(API_ENDPOINTS.UPDATES.STREAM(userId));
+      Object.entries(handlers).forEach(([eventName, handler]) => {
+        source.addEventListener(eventName, (event) => handler(JSON.parse(event.data)));
+      });
+      return () => source.close();
+    }
   }
 };
 
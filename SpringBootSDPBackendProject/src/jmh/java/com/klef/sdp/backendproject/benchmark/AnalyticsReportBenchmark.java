@@ -0,0 +1,121 @@
+package com.klef.sdp.backendproject.benchmark;
+
+import com.klef.sdp.backendproject.dto.AnalyticsReportResponseDTO;
+import com.klef.sdp.backendproject.event.DonationChangedEvent;
+import com.klef.sdp.backendproject.event.DonationSnapshot;
+import com.klef.sdp.backendproject.model.Donations;
+import com.klef.sdp.backendproject.model.Users;
+import com.klef.sdp.backendproject.service.DonationAnalyticsStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// generateAnalyticsReport: reading the incremental store versus the original stream aggregation
+// over every donation (kept here as the baseline, minus its per-donor repository lookups),
+// and the cost the store adds to each donation change.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class AnalyticsReportBenchmark {
+
+	@Param({"10000", "100000", "1000000"})
+	public int donations;
+
+	@Param({"1000"})
+	public int donors;
+
+	private List<Donations> donationList;
+	private DonationAnalyticsStore store;
+	private DonationChangedEvent[] transitions;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(Fixtures.SEED);
+		List<Users> donorList = Fixtures.users(donors, "donor", random);
+		donationList = Fixtures.donations(donations, donorList, random);
+		store = new DonationAnalyticsStore();
+		for (Donations donation : donationList) {
+			store.onDonationChanged(new DonationChangedEvent(null, DonationSnapshot.of(donation)));
+		}
+		// Each transition is followed by its reverse so the store's totals stay constant across iterations
+		transitions = new DonationChangedEvent[2048];
+		for (int i = 0; i < transitions.length; i += 2) {
+			DonationSnapshot before = DonationSnapshot.of(donationList.get(random.nextInt(donationList.size())));
+			DonationSnapshot after = before.withStatus(Donations.Status.delivered, before.getUpdatedAt());
+			transitions[i] = new DonationChangedEvent(before, after);
+			transitions[i + 1] = new DonationChangedEvent(after, before);
+		}
+		next = transitions.length - 1;
+	}
+
+	@Benchmark
+	public AnalyticsReportResponseDTO storeBuildReport() {
+		return store.buildReport(5);
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public void storeApplyChange() {
+		next = (next + 1) & (transitions.length - 1);
+		store.onDonationChanged(transitions[next]);
+	}
+
+	@Benchmark
+	public AnalyticsReportResponseDTO streamAggregation() {
+		AnalyticsReportResponseDTO report = new AnalyticsReportResponseDTO();
+		report.setTotalDonations(donationList.size());
+		double totalFoodSavedKg = donationList.stream()
+				.filter(d -> d.getStatus() == Donations.Status.delivered)
+				.mapToDouble(Donations::getQuantity_kg)
+				.sum();
+		report.setTotalFoodSavedKg(totalFoodSavedKg);
+		report.setTotalMealsServed((long) (totalFoodSavedKg * 2));
+
+		Map<String, Long> donationCounts = donationList.stream()
+				.collect(Collectors.groupingBy(d -> d.getUser().getUser_id(), Collectors.counting()));
+		report.setTopDonors(donationCounts.entrySet().stream()
+				.sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+				.limit(5)
+				.map(entry -> {
+					AnalyticsReportResponseDTO.TopDonorDTO dto = new AnalyticsReportResponseDTO.TopDonorDTO();
+					dto.setUserId(entry.getKey());
+					dto.setTotalDonations(entry.getValue());
+					return dto;
+				})
+				.collect(Collectors.toList()));
+
+		Map<String, Double> foodByCity = donationList.stream()
+				.filter(d -> d.getStatus() == Donations.Status.delivered)
+				.filter(d -> d.getUser().getCity() != null)
+				.collect(Collectors.groupingBy(d -> d.getUser().getCity(),
+						Collectors.summingDouble(Donations::getQuantity_kg)));
+		report.setGeographicImpact(foodByCity.entrySet().stream()
+				.map(entry -> {
+					AnalyticsReportResponseDTO.GeographicImpactDTO dto = new AnalyticsReportResponseDTO.GeographicImpactDTO();
+					dto.setCity(entry.getKey());
+					dto.setFoodSavedKg(entry.getValue());
+					return dto;
+				})
+				.collect(Collectors.toList()));
+		return report;
+	}
+}
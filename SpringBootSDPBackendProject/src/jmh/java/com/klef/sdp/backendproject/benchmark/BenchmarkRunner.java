@@ -0,0 +1,39 @@
+package com.klef.sdp.backendproject.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.time.LocalDate;
+
+// Runs the benchmarks and writes JMH's JSON results, one file per label, so runs from different
+// releases can be compared side by side (e.g. with jmh.morethan.io or a diff of the scores).
+//   args[0]  label for the results file, e.g. a release version (default: today's date)
+//   args[1]  regex of benchmarks to include (default: all in this package)
+//   -Dfoodshare.jmh.results-dir  output directory (default: build/jmh-results)
+public final class BenchmarkRunner {
+
+	private BenchmarkRunner() {
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		String label = args.length > 0 ? args[0] : LocalDate.now().toString();
+		String include = args.length > 1 ? args[1] : BenchmarkRunner.class.getPackageName() + ".*";
+		File resultsDir = new File(System.getProperty("foodshare.jmh.results-dir", "build/jmh-results"));
+		if (!resultsDir.isDirectory() && !resultsDir.mkdirs()) {
+			throw new IllegalStateException("Cannot create " + resultsDir);
+		}
+		File results = new File(resultsDir, "jmh-" + label + ".json");
+
+		Options options = new OptionsBuilder()
+				.include(include)
+				.resultFormat(ResultFormatType.JSON)
+				.result(results.getPath())
+				.build();
+		new Runner(options).run();
+		System.out.println("Results written to " + results.getAbsolutePath());
+	}
+}
@@ -0,0 +1,128 @@
+package com.klef.sdp.backendproject.benchmark;
+
+import com.klef.sdp.backendproject.dto.DonationSearchResponseDTO;
+import com.klef.sdp.backendproject.event.DonationChangedEvent;
+import com.klef.sdp.backendproject.event.DonationSnapshot;
+import com.klef.sdp.backendproject.model.Donations;
+import com.klef.sdp.backendproject.model.Users;
+import com.klef.sdp.backendproject.service.DonationSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// searchDonations against the in-memory index with every donation available. Descriptions are
+// three words from a small vocabulary, so a single common word matches about a tenth of the index,
+// which is the expensive case; two words or a category narrow it much further.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class DonationSearchBenchmark {
+	private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+	private static final String[] VOCABULARY = {"rice", "dal", "roti", "sambar", "idli", "dosa", "bread", "milk",
+			"curd", "paneer", "biryani", "curry", "vegetables", "fruit", "bananas", "apples", "mangoes", "tomatoes",
+			"onions", "potatoes", "lentils", "flour", "sugar", "oil", "biscuits", "cake", "juice", "eggs", "chapati",
+			"pulao"};
+	private static final int QUERIES = 1024;
+
+	@Param({"10000", "100000", "1000000"})
+	public int donations;
+
+	private DonationSearchIndex index;
+	private DonationChangedEvent[] updates;
+	private Donations.FoodCategory[] categories;
+	private double[] queryLat;
+	private double[] queryLon;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(Fixtures.SEED);
+		List<Users> donors = Fixtures.users(1000, "donor", random);
+		List<Donations> donationList = Fixtures.donations(donations, donors, random);
+		index = new DonationSearchIndex();
+		ReflectionTestUtils.setField(index, "cellSizeDeg", 0.25);
+		updates = new DonationChangedEvent[QUERIES];
+		for (int i = 0; i < donationList.size(); i++) {
+			Donations donation = donationList.get(i);
+			donation.setFood_description(VOCABULARY[random.nextInt(VOCABULARY.length)] + " "
+					+ VOCABULARY[random.nextInt(VOCABULARY.length)] + " " + VOCABULARY[random.nextInt(VOCABULARY.length)]);
+			DonationSnapshot available = DonationSnapshot.of(donation).withStatus(Donations.Status.available, NOW);
+			index.onDonationChanged(new DonationChangedEvent(null, available));
+			if (i < QUERIES) {
+				// Claimed and then released again, so the index size stays constant across iterations
+				updates[i] = new DonationChangedEvent(available, available.withStatus(Donations.Status.requested, NOW));
+			}
+		}
+		categories = Donations.FoodCategory.values();
+		queryLat = new double[QUERIES];
+		queryLon = new double[QUERIES];
+		for (int i = 0; i < QUERIES; i++) {
+			queryLat[i] = Fixtures.MIN_LAT + random.nextDouble() * (Fixtures.MAX_LAT - Fixtures.MIN_LAT);
+			queryLon[i] = Fixtures.MIN_LON + random.nextDouble() * (Fixtures.MAX_LON - Fixtures.MIN_LON);
+		}
+	}
+
+	private int nextQuery() {
+		next = (next + 1) & (QUERIES - 1);
+		return next;
+	}
+
+	@Benchmark
+	public DonationSearchResponseDTO oneWord() {
+		int q = nextQuery();
+		return index.search(VOCABULARY[q % VOCABULARY.length], null, null, null, null, null,
+				DonationSearchIndex.Sort.expiry, 20, NOW);
+	}
+
+	@Benchmark
+	public DonationSearchResponseDTO twoWordsInCategory() {
+		int q = nextQuery();
+		return index.search(VOCABULARY[q % VOCABULARY.length] + " " + VOCABULARY[(q + 7) % VOCABULARY.length],
+				categories[q % categories.length], null, null, null, null, DonationSearchIndex.Sort.expiry, 20, NOW);
+	}
+
+	@Benchmark
+	public DonationSearchResponseDTO cityPrefix() {
+		int q = nextQuery();
+		return index.search("biry", null, Fixtures.CITIES[q % Fixtures.CITIES.length], null, null, null,
+				DonationSearchIndex.Sort.expiry, 20, NOW);
+	}
+
+	@Benchmark
+	public DonationSearchResponseDTO nearbyByDistance() {
+		int q = nextQuery();
+		return index.search(null, null, null, queryLat[q], queryLon[q], 25.0,
+				DonationSearchIndex.Sort.distance, 20, NOW);
+	}
+
+	@Benchmark
+	public DonationSearchResponseDTO soonestExpiring() {
+		return index.search(null, null, null, null, null, null, DonationSearchIndex.Sort.expiry, 20, NOW);
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public void claimAndRelease() {
+		DonationChangedEvent claim = updates[nextQuery()];
+		index.onDonationChanged(claim);
+		index.onDonationChanged(new DonationChangedEvent(claim.getAfter(), claim.getBefore()));
+	}
+}
@@ -0,0 +1,88 @@
+package com.klef.sdp.backendproject.benchmark;
+
+import com.klef.sdp.backendproject.model.Donations;
+import com.klef.sdp.backendproject.model.Users;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Synthetic, seeded data so every run (and every release) benchmarks the same inputs.
+// Coordinates are spread over roughly the area of India, where the platform's users are.
+final class Fixtures {
+	static final long SEED = 42;
+	static final double MIN_LAT = 8.0;
+	static final double MAX_LAT = 30.0;
+	static final double MIN_LON = 70.0;
+	static final double MAX_LON = 90.0;
+	static final String[] CITIES = {"Vijayawada", "Guntur", "Hyderabad", "Chennai", "Bengaluru", "Mumbai",
+			"Delhi", "Kolkata", "Pune", "Visakhapatnam"};
+	private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+	private Fixtures() {
+	}
+
+	static List<Users> users(int count, String role, Random random) {
+		List<Users> users = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			Users user = new Users();
+			user.setUser_id(String.format("%s-%08d", role, i));
+			user.setUsername(role + i);
+			user.setEmail(role + i + "@example.com");
+			user.setPassword_hash("secret");
+			user.setRole(role);
+			user.setPhone("98" + String.format("%08d", i));
+			user.setAddress(i + " Main Road");
+			user.setCity(CITIES[random.nextInt(CITIES.length)]);
+			user.setState("Andhra Pradesh");
+			user.setPostalCode("520001");
+			user.setCountry("India");
+			user.setLatitude(MIN_LAT + random.nextDouble() * (MAX_LAT - MIN_LAT));
+			user.setLongitude(MIN_LON + random.nextDouble() * (MAX_LON - MIN_LON));
+			user.setIs_active(true);
+			user.setCreated_at(NOW.minusMinutes(i));
+			user.setUpdated_at(NOW.minusMinutes(i));
+			users.add(user);
+		}
+		return users;
+	}
+
+	static List<Donations> donations(int count, List<Users> donors, Random random) {
+		Donations.Status[] statuses = Donations.Status.values();
+		Donations.FoodCategory[] categories = Donations.FoodCategory.values();
+		List<Donations> donations = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			Users donor = donors.get(random.nextInt(donors.size()));
+			Donations donation = new Donations();
+			donation.setDonation_id(String.format("donation-%08d", i));
+			donation.setUser(donor);
+			donation.setFood_description("Cooked rice and dal, batch " + i);
+			donation.setFood_category(categories[random.nextInt(categories.length)]);
+			donation.setQuantity_kg(0.5 + random.nextInt(200) / 4.0);
+			donation.setExpiry_date(NOW.plusHours(random.nextInt(72)));
+			donation.setPickup_window_start(NOW.plusHours(1));
+			donation.setPickup_window_end(NOW.plusHours(5));
+			donation.setLatitude(donor.getLatitude());
+			donation.setLongitude(donor.getLongitude());
+			donation.setStatus(statuses[random.nextInt(statuses.length)]);
+			donation.setCreated_at(NOW.minusMinutes(i));
+			donation.setUpdated_at(NOW.minusMinutes(i));
+			donations.add(donation);
+		}
+		return donations;
+	}
+
+	// The service mappers are private; a constant MethodHandle is inlined by the JIT like a direct call
+	static MethodHandle privateMethod(Class<?> owner, String name, Class<?> returnType, Class<?>... parameterTypes) {
+		try {
+			return MethodHandles.privateLookupIn(owner, MethodHandles.lookup())
+					.findVirtual(owner, name, MethodType.methodType(returnType, parameterTypes));
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Cannot access " + owner.getSimpleName() + "." + name, e);
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package com.klef.sdp.backendproject.benchmark;
+
+import com.klef.sdp.backendproject.dto.MatchedBeneficiaryDTO;
+import com.klef.sdp.backendproject.event.UserChangedEvent;
+import com.klef.sdp.backendproject.model.Users;
+import com.klef.sdp.backendproject.service.BeneficiaryLocationIndex;
+import com.klef.sdp.backendproject.service.DonorServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// matchDonation: the grid index it now uses versus a scan over every beneficiary (the path it
+// took before the index, and still takes while the index is loading), plus the raw distance call.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class GeoMatchBenchmark {
+	private static final MethodHandle CALCULATE_DISTANCE = Fixtures.privateMethod(DonorServiceImpl.class,
+			"calculateDistance", double.class, double.class, double.class, double.class, double.class);
+	private static final MethodHandle SCAN_NEAREST = Fixtures.privateMethod(DonorServiceImpl.class,
+			"scanNearest", List.class, double.class, double.class, List.class, double.class, int.class);
+	private static final int QUERIES = 1024;
+
+	@Param({"1000", "100000", "1000000"})
+	public int beneficiaries;
+
+	@Param({"10", "50"})
+	public double radiusKm;
+
+	private List<Users> users;
+	private BeneficiaryLocationIndex index;
+	private final DonorServiceImpl donorService = new DonorServiceImpl();
+	private double[] queryLat;
+	private double[] queryLon;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(Fixtures.SEED);
+		users = Fixtures.users(beneficiaries, "beneficiary", random);
+		index = new BeneficiaryLocationIndex();
+		ReflectionTestUtils.setField(index, "cellSizeDeg", 0.25);
+		for (Users user : users) {
+			index.onUserChanged(new UserChangedEvent(user));
+		}
+		queryLat = new double[QUERIES];
+		queryLon = new double[QUERIES];
+		for (int i = 0; i < QUERIES; i++) {
+			queryLat[i] = Fixtures.MIN_LAT + random.nextDouble() * (Fixtures.MAX_LAT - Fixtures.MIN_LAT);
+			queryLon[i] = Fixtures.MIN_LON + random.nextDouble() * (Fixtures.MAX_LON - Fixtures.MIN_LON);
+		}
+	}
+
+	private int nextQuery() {
+		next = (next + 1) & (QUERIES - 1);
+		return next;
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public double calculateDistance() throws Throwable {
+		int q = nextQuery();
+		return (double) CALCULATE_DISTANCE.invokeExact(donorService, queryLat[q], queryLon[q],
+				queryLat[(q + 1) & (QUERIES - 1)], queryLon[(q + 1) & (QUERIES - 1)]);
+	}
+
+	@Benchmark
+	public List<MatchedBeneficiaryDTO> matchWithIndex() {
+		int q = nextQuery();
+		return index.findNearest(queryLat[q], queryLon[q], radiusKm, 20);
+	}
+
+	// Every beneficiary is a candidate here; in the service the SQL bounding box narrows them first
+	@Benchmark
+	@SuppressWarnings("unchecked")
+	public List<MatchedBeneficiaryDTO> matchWithScan() throws Throwable {
+		int q = nextQuery();
+		return (List<MatchedBeneficiaryDTO>) SCAN_NEAREST.invokeExact(donorService, queryLat[q], queryLon[q], users,
+				radiusKm, 20);
+	}
+}
@@ -0,0 +1,70 @@
+package com.klef.sdp.backendproject.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.klef.sdp.backendproject.dto.DonationResponseDTO;
+import com.klef.sdp.backendproject.model.Donations;
+import com.klef.sdp.backendproject.model.Users;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Response body serialization for donation listings, using an ObjectMapper configured the way
+// Spring Boot configures the one behind @RestController responses
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+	// Default page size, maximum admin page size, and an unpaged listing
+	@Param({"20", "100", "1000"})
+	public int size;
+
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+	private List<DonationResponseDTO> page;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(Fixtures.SEED);
+		List<Users> donors = Fixtures.users(Math.max(size / 10, 1), "donor", random);
+		page = new ArrayList<>(size);
+		for (Donations donation : Fixtures.donations(size, donors, random)) {
+			DonationResponseDTO dto = new DonationResponseDTO();
+			dto.setDonationId(donation.getDonation_id());
+			dto.setUserId(donation.getUser().getUser_id());
+			dto.setFoodDescription(donation.getFood_description());
+			dto.setFoodCategory(donation.getFood_category().name());
+			dto.setQuantityKg(donation.getQuantity_kg());
+			dto.setExpiryDate(donation.getExpiry_date());
+			dto.setPickupWindowStart(donation.getPickup_window_start());
+			dto.setPickupWindowEnd(donation.getPickup_window_end());
+			dto.setStatus(donation.getStatus().name());
+			dto.setLatitude(donation.getLatitude());
+			dto.setLongitude(donation.getLongitude());
+			dto.setCreatedAt(donation.getCreated_at());
+			page.add(dto);
+		}
+	}
+
+	@Benchmark
+	public byte[] serializeDonationList() throws Exception {
+		return objectMapper.writeValueAsBytes(page);
+	}
+}
@@ -0,0 +1,76 @@
+package com.klef.sdp.backendproject.benchmark;
+
+import com.klef.sdp.backendproject.dto.DonationResponseDTO;
+import com.klef.sdp.backendproject.dto.UserResponseDTO;
+import com.klef.sdp.backendproject.model.Donations;
+import com.klef.sdp.backendproject.model.Users;
+import com.klef.sdp.backendproject.service.AdminServiceImpl;
+import com.klef.sdp.backendproject.service.DonorServiceImpl;
+import com.klef.sdp.backendproject.service.UsersServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Entity to DTO mappers used by every listing endpoint, per entity
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+	private static final MethodHandle DONOR_MAP_TO_RESPONSE = Fixtures.privateMethod(DonorServiceImpl.class,
+			"mapToResponseDTO", DonationResponseDTO.class, Donations.class);
+	private static final MethodHandle ADMIN_MAP_TO_DONATION_RESPONSE = Fixtures.privateMethod(AdminServiceImpl.class,
+			"mapToDonationResponseDTO", DonationResponseDTO.class, Donations.class);
+	private static final MethodHandle USERS_MAP_TO_RESPONSE = Fixtures.privateMethod(UsersServiceImpl.class,
+			"mapToResponseDTO", UserResponseDTO.class, Users.class);
+	private static final int FIXTURES = 1024;
+
+	private final DonorServiceImpl donorService = new DonorServiceImpl();
+	private final AdminServiceImpl adminService = new AdminServiceImpl();
+	private final UsersServiceImpl usersService = new UsersServiceImpl();
+	private List<Users> users;
+	private List<Donations> donations;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(Fixtures.SEED);
+		users = Fixtures.users(FIXTURES, "donor", random);
+		donations = Fixtures.donations(FIXTURES, users, random);
+	}
+
+	private int nextFixture() {
+		next = (next + 1) & (FIXTURES - 1);
+		return next;
+	}
+
+	@Benchmark
+	public DonationResponseDTO donorMapToResponseDTO() throws Throwable {
+		return (DonationResponseDTO) DONOR_MAP_TO_RESPONSE.invokeExact(donorService, donations.get(nextFixture()));
+	}
+
+	@Benchmark
+	public DonationResponseDTO adminMapToDonationResponseDTO() throws Throwable {
+		return (DonationResponseDTO) ADMIN_MAP_TO_DONATION_RESPONSE.invokeExact(adminService, donations.get(nextFixture()));
+	}
+
+	@Benchmark
+	public UserResponseDTO usersMapToResponseDTO() throws Throwable {
+		return (UserResponseDTO) USERS_MAP_TO_RESPONSE.invokeExact(usersService, users.get(nextFixture()));
+	}
+}
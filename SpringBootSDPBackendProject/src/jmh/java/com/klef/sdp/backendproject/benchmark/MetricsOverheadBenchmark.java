@@ -0,0 +1,83 @@
+package com.klef.sdp.backendproject.benchmark;
+
+import com.klef.sdp.backendproject.metrics.InstrumentationPostProcessor;
+import com.klef.sdp.backendproject.metrics.MetricsRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Per-call cost of the service/repository instrumentation: a direct call, the same call through a
+// plain Spring proxy (what @Transactional beans already pay), and through the timing interceptor.
+// The difference between the last two is what foodshare.metrics.enabled adds to each call.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+	public static class EchoServiceImpl {
+		public long echo(long value) {
+			return value + 1;
+		}
+	}
+
+	private EchoServiceImpl direct;
+	private EchoServiceImpl proxied;
+	private EchoServiceImpl instrumented;
+	private long value;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		direct = new EchoServiceImpl();
+
+		ProxyFactory plain = new ProxyFactory(new EchoServiceImpl());
+		plain.setProxyTargetClass(true);
+		plain.addAdvice((MethodInterceptor) invocation -> invocation.proceed());
+		proxied = (EchoServiceImpl) plain.getProxy();
+
+		StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(
+				Map.of("metricsRegistry", new MetricsRegistry()));
+		InstrumentationPostProcessor postProcessor = new InstrumentationPostProcessor(
+				beanFactory.getBeanProvider(MetricsRegistry.class), true);
+		instrumented = (EchoServiceImpl) postProcessor.postProcessAfterInitialization(new EchoServiceImpl(), "echoServiceImpl");
+	}
+
+	@Benchmark
+	public long directCall() {
+		return direct.echo(value++);
+	}
+
+	@Benchmark
+	public long proxiedCall() {
+		return proxied.echo(value++);
+	}
+
+	@Benchmark
+	public long instrumentedCall() {
+		return instrumented.echo(value++);
+	}
+
+	// Contention on the shared histogram and counters when many request threads hit one method
+	@Benchmark
+	@Threads(8)
+	public long instrumentedCallContended() {
+		return instrumented.echo(42);
+	}
+}
@@ -0,0 +1,48 @@
+package com.klef.sdp.backendproject.audit;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// One audit record as captured on the request thread. Details stay a map until the consumer
+// serializes them, so recording costs an allocation and a ring buffer slot.
+public final class AuditEvent {
+    private final String actorId;
+    private final String action;
+    private final String targetType;
+    private final String targetId;
+    private final Map<String, Object> details;
+    private final LocalDateTime createdAt;
+
+    public AuditEvent(String actorId, String action, String targetType, String targetId, Map<String, Object> details) {
+        this.actorId = actorId;
+        this.action = action;
+        this.targetType = targetType;
+        this.targetId = targetId;
+        this.details = details;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public String getActorId() {
+        return actorId;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public String getTargetType() {
+        return targetType;
+    }
+
+    public String getTargetId() {
+        return targetId;
+    }
+
+    public Map<String, Object> getDetails() {
+        return details;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
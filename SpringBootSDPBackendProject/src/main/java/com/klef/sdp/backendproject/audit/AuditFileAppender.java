@@ -0,0 +1,65 @@
+package com.klef.sdp.backendproject.audit;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+// Append-only NDJSON files used when the database cannot keep up. Files are named
+// audit-<date>-<n>.ndjson and roll over daily or when they reach maxBytes. Used only from the
+// audit consumer thread.
+class AuditFileAppender {
+    private final Path directory;
+    private final long maxBytes;
+    private BufferedWriter writer;
+    private LocalDate fileDate;
+    private int fileIndex;
+    private long fileBytes;
+
+    AuditFileAppender(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    void append(List<String> lines) throws IOException {
+        for (String line : lines) {
+            rollIfNeeded();
+            writer.write(line);
+            writer.newLine();
+            fileBytes += line.getBytes(StandardCharsets.UTF_8).length + 1;
+        }
+        writer.flush();
+    }
+
+    private void rollIfNeeded() throws IOException {
+        LocalDate today = LocalDate.now();
+        if (writer != null && today.equals(fileDate) && fileBytes < maxBytes) {
+            return;
+        }
+        close();
+        Files.createDirectories(directory);
+        if (!today.equals(fileDate)) {
+            fileDate = today;
+            fileIndex = 0;
+        }
+        Path file;
+        do {
+            file = directory.resolve("audit-" + fileDate + "-" + fileIndex++ + ".ndjson");
+        } while (Files.exists(file) && Files.size(file) >= maxBytes);
+        fileBytes = Files.exists(file) ? Files.size(file) : 0;
+        writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND), StandardCharsets.UTF_8));
+    }
+
+    void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+}
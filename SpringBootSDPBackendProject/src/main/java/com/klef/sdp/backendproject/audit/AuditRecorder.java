@@ -0,0 +1,207 @@
+package com.klef.sdp.backendproject.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Append-only audit trail. record() only puts the event in a lock-free ring buffer and never waits;
+// when the buffer is full the record is dropped and counted. A single consumer thread writes
+// batches to audit_logs, each in one transaction. When a batch insert fails or takes longer than
+// foodshare.audit.db-slow-ms, the consumer switches to local NDJSON files for a cool-down period
+// so the buffer keeps draining while the database recovers.
+@Component
+public class AuditRecorder {
+    private static final Logger log = LoggerFactory.getLogger(AuditRecorder.class);
+    private static final String INSERT_SQL = "INSERT INTO audit_logs (actor_id, action, target_type, target_id, " +
+            "details, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final int[] INSERT_TYPES = {Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR, Types.TIMESTAMP};
+    private static final int MAX_DETAILS_LENGTH = 2000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Rounded up to a power of two
+    @Value("${foodshare.audit.buffer-size:65536}")
+    private int bufferSize;
+
+    @Value("${foodshare.audit.batch-size:500}")
+    private int batchSize;
+
+    @Value("${foodshare.audit.db-slow-ms:500}")
+    private long dbSlowMs;
+
+    @Value("${foodshare.audit.file-cooldown-ms:30000}")
+    private long fileCooldownMs;
+
+    @Value("${foodshare.audit.fallback-dir:audit-fallback}")
+    private String fallbackDir;
+
+    @Value("${foodshare.audit.fallback-max-bytes:67108864}")
+    private long fallbackMaxBytes;
+
+    private MpscRingBuffer<AuditEvent> buffer;
+    private AuditFileAppender fileAppender;
+    private TransactionTemplate transaction;
+    private Thread consumer;
+    private volatile boolean running;
+    private volatile long fileModeUntil;
+
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong writtenToDb = new AtomicLong();
+    private final AtomicLong writtenToFile = new AtomicLong();
+    private final AtomicLong overflowed = new AtomicLong();
+    private final AtomicLong lost = new AtomicLong();
+
+    @PostConstruct
+    void start() {
+        buffer = new MpscRingBuffer<>(Integer.highestOneBit(Math.max(bufferSize - 1, 1)) << 1);
+        fileAppender = new AuditFileAppender(Paths.get(fallbackDir), fallbackMaxBytes);
+        transaction = new TransactionTemplate(transactionManager);
+        running = true;
+        consumer = new Thread(this::runConsumer, "audit-writer");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(consumer);
+        consumer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    public void record(String actorId, String action, String targetType, String targetId, Map<String, Object> details) {
+        AuditEvent event = new AuditEvent(actorId, action, targetType, targetId, details);
+        recorded.incrementAndGet();
+        // Only when the consumer is far behind; the caller's request never waits on the audit trail
+        if (!buffer.offer(event) && overflowed.incrementAndGet() % 1000 == 1) {
+            log.error("Audit buffer full, dropped {} records so far, latest {} {} {}/{}",
+                    overflowed.get(), action, actorId, targetType, targetId);
+        }
+    }
+
+    private void runConsumer() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running || buffer.size() > 0) {
+            if (buffer.drainTo(batch, batchSize) == 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+                continue;
+            }
+            try {
+                write(batch);
+            } catch (RuntimeException e) {
+                log.error("Failed to write {} audit records", batch.size(), e);
+                lost.addAndGet(batch.size());
+            }
+            batch.clear();
+        }
+        try {
+            fileAppender.close();
+        } catch (IOException e) {
+            log.warn("Failed to close audit fallback file", e);
+        }
+    }
+
+    private void write(List<AuditEvent> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (AuditEvent event : batch) {
+            rows.add(new Object[]{event.getActorId(), event.getAction(), event.getTargetType(), event.getTargetId(),
+                    truncate(serialize(event.getDetails())), Timestamp.valueOf(event.getCreatedAt())});
+        }
+        if (System.currentTimeMillis() >= fileModeUntil) {
+            long started = System.nanoTime();
+            try {
+                // All or nothing, so a batch that fails halfway is not also partly in the table
+                transaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows, INSERT_TYPES));
+                writtenToDb.addAndGet(batch.size());
+                long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                if (elapsedMs > dbSlowMs) {
+                    log.warn("Audit batch of {} took {} ms, writing to files for {} ms", batch.size(), elapsedMs, fileCooldownMs);
+                    fileModeUntil = System.currentTimeMillis() + fileCooldownMs;
+                }
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Audit batch insert failed, writing to files for {} ms", fileCooldownMs, e);
+                fileModeUntil = System.currentTimeMillis() + fileCooldownMs;
+            }
+        }
+        writeToFile(batch);
+    }
+
+    private void writeToFile(List<AuditEvent> batch) {
+        List<String> lines = new ArrayList<>(batch.size());
+        for (AuditEvent event : batch) {
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("actor_id", event.getActorId());
+            line.put("action", event.getAction());
+            line.put("target_type", event.getTargetType());
+            line.put("target_id", event.getTargetId());
+            line.put("details", event.getDetails());
+            line.put("created_at", event.getCreatedAt().toString());
+            lines.add(serialize(line));
+        }
+        try {
+            fileAppender.append(lines);
+            writtenToFile.addAndGet(batch.size());
+        } catch (IOException e) {
+            throw new IllegalStateException("Audit fallback file write failed", e);
+        }
+    }
+
+    // audit_logs.details is VARCHAR(2000); the fallback files keep the full text
+    private static String truncate(String details) {
+        return details != null && details.length() > MAX_DETAILS_LENGTH ? details.substring(0, MAX_DETAILS_LENGTH) : details;
+    }
+
+    private String serialize(Map<String, Object> value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            return String.valueOf(value);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("buffered", buffer.size());
+        stats.put("capacity", buffer.capacity());
+        stats.put("recorded", recorded.get());
+        stats.put("writtenToDb", writtenToDb.get());
+        stats.put("writtenToFile", writtenToFile.get());
+        stats.put("overflowed", overflowed.get());
+        stats.put("lost", lost.get());
+        stats.put("fileMode", System.currentTimeMillis() < fileModeUntil);
+        return stats;
+    }
+}
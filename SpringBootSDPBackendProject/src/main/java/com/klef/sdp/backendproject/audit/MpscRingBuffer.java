@@ -0,0 +1,74 @@
+package com.klef.sdp.backendproject.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Bounded multi-producer, single-consumer ring buffer. Producers claim a sequence with a CAS and
+// publish the slot by writing its sequence number; the consumer reads slots in order until it
+// reaches one that is not published yet. No locks on either side.
+public class MpscRingBuffer<T> {
+    private final int mask;
+    private final AtomicReferenceArray<T> slots;
+    // Sequence most recently published in each slot, -1 before first use
+    private final AtomicLongArray published;
+    private final AtomicLong claimed = new AtomicLong();
+    // Next sequence the consumer will read; written only by the consumer
+    private final AtomicLong consumed = new AtomicLong();
+
+    public MpscRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two");
+        }
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    // Returns false without blocking when the buffer is full
+    public boolean offer(T item) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed.get() > mask) {
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+        int index = (int) (sequence & mask);
+        slots.lazySet(index, item);
+        published.set(index, sequence);
+        return true;
+    }
+
+    // Consumer only: moves up to max published items into target, in sequence order
+    public int drainTo(List<T> target, int max) {
+        long next = consumed.get();
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (next & mask);
+            if (published.get(index) != next) {
+                break;
+            }
+            target.add(slots.get(index));
+            slots.lazySet(index, null);
+            next++;
+            drained++;
+        }
+        if (drained > 0) {
+            consumed.set(next);
+        }
+        return drained;
+    }
+
+    public int size() {
+        return (int) Math.max(0, claimed.get() - consumed.get());
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,148 @@
+package com.klef.sdp.backendproject.cache;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// Size-bounded LRU map with a per-entry time to live. Loads happen outside the lock, so two
+// concurrent misses on the same key may both hit the loader; only the one that started last is kept.
+// A load that an invalidate or put overtook is returned to its caller but never cached, since it may
+// have read the row before the change that triggered the invalidation.
+public class BoundedTtlCache<K, V> {
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    // Token of the newest load in flight per key, guarded by entries; removed by invalidate and put
+    private final Map<K, Object> loading = new HashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong staleLoads = new AtomicLong();
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public BoundedTtlCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    // Returns the cached value, or loads and caches it. A null from the loader is not cached.
+    public V get(K key, Function<K, V> loader) {
+        long now = System.nanoTime();
+        Object token = new Object();
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt - now > 0) {
+                    hits.incrementAndGet();
+                    return entry.value;
+                }
+                entries.remove(key);
+                expirations.incrementAndGet();
+            }
+            loading.put(key, token);
+        }
+        misses.incrementAndGet();
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (RuntimeException e) {
+            synchronized (entries) {
+                loading.remove(key, token);
+            }
+            throw e;
+        }
+        synchronized (entries) {
+            if (!loading.remove(key, token)) {
+                staleLoads.incrementAndGet();
+            } else if (value != null) {
+                store(key, value);
+            }
+        }
+        return value;
+    }
+
+    // Returns the cached value without loading, or null when it is missing or expired
+    public V getIfPresent(K key) {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt - now > 0) {
+                return entry.value;
+            }
+            entries.remove(key);
+            expirations.incrementAndGet();
+            return null;
+        }
+    }
+
+    public void put(K key, V value) {
+        synchronized (entries) {
+            loading.remove(key);
+            store(key, value);
+        }
+    }
+
+    private void store(K key, V value) {
+        entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+        Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxSize && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+            loading.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            loading.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long requests = hitCount + missCount;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size());
+        stats.put("maxSize", maxSize);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", requests == 0 ? 0.0 : (double) hitCount / requests);
+        stats.put("evictions", evictions.get());
+        stats.put("expirations", expirations.get());
+        stats.put("staleLoads", staleLoads.get());
+        return stats;
+    }
+}
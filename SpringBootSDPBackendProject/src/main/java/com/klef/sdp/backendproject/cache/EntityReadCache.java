@@ -0,0 +1,106 @@
+package com.klef.sdp.backendproject.cache;
+
+import com.klef.sdp.backendproject.event.DonationChangedEvent;
+import com.klef.sdp.backendproject.event.UserChangedEvent;
+import com.klef.sdp.backendproject.model.Donations;
+import com.klef.sdp.backendproject.model.Users;
+import com.klef.sdp.backendproject.repository.DonationsRepository;
+import com.klef.sdp.backendproject.repository.UsersRepository;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+// Read-through cache of detached Users and Donations rows for read-only lookups by id.
+// Every lookup returns its own copy of the cached row, so a caller that modifies it cannot change
+// what other callers read; write paths keep loading from the repository.
+// Entries are evicted on the change events every save/delete publishes, and a load that such an
+// eviction overtakes is not cached (see BoundedTtlCache).
+// foodshare.cache.entities.enabled=false bypasses it entirely, for latency comparisons.
+@Component
+public class EntityReadCache {
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Autowired
+    private DonationsRepository donationsRepository;
+
+    @Value("${foodshare.cache.entities.enabled:true}")
+    private boolean enabled;
+
+    @Value("${foodshare.cache.entities.users.max-size:10000}")
+    private int usersMaxSize;
+
+    @Value("${foodshare.cache.entities.users.ttl-seconds:300}")
+    private long usersTtlSeconds;
+
+    @Value("${foodshare.cache.entities.donations.max-size:20000}")
+    private int donationsMaxSize;
+
+    @Value("${foodshare.cache.entities.donations.ttl-seconds:60}")
+    private long donationsTtlSeconds;
+
+    private BoundedTtlCache<String, Users> users;
+    private BoundedTtlCache<String, Donations> donations;
+
+    @PostConstruct
+    void init() {
+        users = new BoundedTtlCache<>(usersMaxSize, usersTtlSeconds * 1000);
+        donations = new BoundedTtlCache<>(donationsMaxSize, donationsTtlSeconds * 1000);
+    }
+
+    public Optional<Users> findUser(String userId) {
+        if (!enabled) {
+            return usersRepository.findById(userId);
+        }
+        Users user = users.get(userId, id -> usersRepository.findById(id).orElse(null));
+        return Optional.ofNullable(user).map(EntityReadCache::copy);
+    }
+
+    public Optional<Donations> findDonation(String donationId) {
+        if (!enabled) {
+            return donationsRepository.findById(donationId);
+        }
+        Donations donation = donations.get(donationId, id -> donationsRepository.findById(id).orElse(null));
+        return Optional.ofNullable(donation).map(EntityReadCache::copy);
+    }
+
+    private static Users copy(Users user) {
+        Users copy = new Users();
+        BeanUtils.copyProperties(user, copy);
+        return copy;
+    }
+
+    private static Donations copy(Donations donation) {
+        Donations copy = new Donations();
+        BeanUtils.copyProperties(donation, copy);
+        if (donation.getUser() != null) {
+            copy.setUser(copy(donation.getUser()));
+        }
+        return copy;
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        users.invalidate(event.getUserId());
+    }
+
+    @EventListener
+    public void onDonationChanged(DonationChangedEvent event) {
+        donations.invalidate(event.getDonationId());
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("users", users.stats());
+        stats.put("donations", donations.stats());
+        return stats;
+    }
+}
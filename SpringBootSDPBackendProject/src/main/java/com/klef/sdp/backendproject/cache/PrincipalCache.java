@@ -0,0 +1,83 @@
+package com.klef.sdp.backendproject.cache;
+
+import com.klef.sdp.backendproject.event.UserChangedEvent;
+import com.klef.sdp.backendproject.model.Users;
+import com.klef.sdp.backendproject.repository.UsersRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.util.Map;
+import java.util.Optional;
+
+// Role and active flag per user id, for the permission checks that otherwise load a full Users row
+// on every call. Entries are dropped whenever the user is changed through the services.
+@Component
+public class PrincipalCache {
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Value("${foodshare.cache.principals.max-size:10000}")
+    private int maxSize;
+
+    @Value("${foodshare.cache.principals.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private BoundedTtlCache<String, Principal> cache;
+
+    public static class Principal {
+        private final String userId;
+        private final String role;
+        private final boolean active;
+
+        public Principal(String userId, String role, boolean active) {
+            this.userId = userId;
+            this.role = role;
+            this.active = active;
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public boolean hasRole(String expected) {
+            return expected.equals(role);
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        cache = new BoundedTtlCache<>(maxSize, ttlSeconds * 1000);
+    }
+
+    // Returns null if no user exists with this id
+    public Principal get(String userId) {
+        return cache.get(userId, id -> {
+            Optional<Users> user = usersRepository.findById(id);
+            return user.map(u -> new Principal(u.getUser_id(), u.getRole(), u.isIs_active())).orElse(null);
+        });
+    }
+
+    public void invalidate(String userId) {
+        cache.invalidate(userId);
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    public Map<String, Object> stats() {
+        return cache.stats();
+    }
+}
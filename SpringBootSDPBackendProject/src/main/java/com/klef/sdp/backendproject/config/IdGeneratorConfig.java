@@ -0,0 +1,28 @@
+package com.klef.sdp.backendproject.config;
+
+import com.klef.sdp.backendproject.id.IdGenerator;
+import com.klef.sdp.backendproject.id.RandomUuidIdGenerator;
+import com.klef.sdp.backendproject.id.SnowflakeIdGenerator;
+import com.klef.sdp.backendproject.id.UuidV7IdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdGeneratorConfig {
+    // uuidv7 (default), snowflake, or random for the original version 4 UUIDs
+    @Bean
+    public IdGenerator idGenerator(@Value("${foodshare.ids.strategy:uuidv7}") String strategy,
+                                   @Value("${foodshare.ids.worker-id:0}") long workerId) {
+        switch (strategy) {
+            case "uuidv7":
+                return new UuidV7IdGenerator();
+            case "snowflake":
+                return new SnowflakeIdGenerator(workerId);
+            case "random":
+                return new RandomUuidIdGenerator();
+            default:
+                throw new IllegalArgumentException("Unknown foodshare.ids.strategy: " + strategy);
+        }
+    }
+}
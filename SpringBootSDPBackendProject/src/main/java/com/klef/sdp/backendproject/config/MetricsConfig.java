@@ -0,0 +1,81 @@
+package com.klef.sdp.backendproject.config;
+
+import com.klef.sdp.backendproject.metrics.EndpointMetricsInterceptor;
+import com.klef.sdp.backendproject.metrics.EntityLoadCounter;
+import com.klef.sdp.backendproject.metrics.InstrumentationPostProcessor;
+import com.klef.sdp.backendproject.metrics.MetricsRegistry;
+import com.klef.sdp.backendproject.metrics.NPlusOneDetectionFilter;
+import com.klef.sdp.backendproject.metrics.NPlusOneDetector;
+import com.klef.sdp.backendproject.metrics.SqlStatementInspector;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+// Always-on instrumentation behind GET api/v1/metrics; foodshare.metrics.enabled=false removes it.
+// The N+1 detector shares its statement inspector but is off unless foodshare.queries.detector.enabled=true.
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @Value("${foodshare.metrics.enabled:true}")
+    private boolean enabled;
+
+    @Value("${foodshare.queries.detector.enabled:false}")
+    private boolean detectorEnabled;
+
+    // Hibernate logs statements slower than this under org.hibernate.SQL_SLOW; 0 turns it off
+    @Value("${foodshare.queries.slow-query-ms:0}")
+    private long slowQueryMs;
+
+    // Static so it is created before the service and repository beans it has to wrap
+    @Bean
+    public static InstrumentationPostProcessor instrumentationPostProcessor(ObjectProvider<MetricsRegistry> registry,
+                                                                            Environment environment) {
+        return new InstrumentationPostProcessor(registry,
+                environment.getProperty("foodshare.metrics.enabled", Boolean.class, true));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer metricsHibernateCustomizer() {
+        return properties -> {
+            if (enabled || detectorEnabled) {
+                properties.put("hibernate.session_factory.statement_inspector", new SqlStatementInspector());
+            }
+            if (enabled) {
+                properties.put("hibernate.integrator_provider",
+                        (IntegratorProvider) () -> List.of(new EntityLoadCounter()));
+            }
+            if (slowQueryMs > 0) {
+                properties.put("hibernate.log_slow_query", slowQueryMs);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "foodshare.queries.detector.enabled", havingValue = "true")
+    public FilterRegistrationBean<NPlusOneDetectionFilter> nPlusOneDetectionFilter(NPlusOneDetector detector) {
+        FilterRegistrationBean<NPlusOneDetectionFilter> registration =
+                new FilterRegistrationBean<>(new NPlusOneDetectionFilter(detector));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (enabled) {
+            registry.addInterceptor(new EndpointMetricsInterceptor(metricsRegistry));
+        }
+    }
+}
@@ -4,10 +4,13 @@ package com.klef.sdp.backendproject.controller;
 import com.klef.sdp.backendproject.dto.*;
 import com.klef.sdp.backendproject.service.AdminService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @RestController
@@ -17,11 +20,19 @@ public class AdminController {
     @Autowired
     private AdminService adminService;
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     @GetMapping()
-    public ResponseEntity<?> listAllUsers(@RequestParam String userId) {
+    public ResponseEntity<?> listAllUsers(@RequestParam String userId,
+                                          @RequestParam(required = false) String role,
+                                          @RequestParam(required = false) String city,
+                                          @RequestParam(required = false) Boolean active,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "0") int page,
+                                          @RequestParam(defaultValue = "20") int size) {
         try {
-            List<UserResponseDTO> users = adminService.listAllUsers(userId);
-            return ResponseEntity.ok(Map.of("content", users));
+            PageResponseDTO<UserResponseDTO> users = adminService.listAllUsers(userId, role, city, active, cursor, page, size);
+            return ResponseEntity.ok(users);
         } catch (IllegalArgumentException e) {
             System.out.println(e.getMessage());
             return ResponseEntity.status(400).body("Invalid Request: " + e.getMessage());
@@ -31,6 +42,24 @@ public class AdminController {
         }
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<?> exportUsers(@RequestParam String userId,
+                                         @RequestParam(required = false) String role,
+                                         @RequestParam(required = false) String city,
+                                         @RequestParam(required = false) Boolean active) {
+        try {
+            adminService.requireAdmin(userId);
+            StreamingResponseBody body = out -> adminService.exportUsers(userId, role, city, active, out);
+            return ResponseEntity.ok().contentType(NDJSON).body(body);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(400).body("Invalid Request: " + e.getMessage());
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(500).body("Failed to Export Users: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/users/{targetUserId}")
     public ResponseEntity<?> getUserDetails(@PathVariable String targetUserId, @RequestBody Map<String, String> request) {
         try {
@@ -64,10 +93,15 @@ public class AdminController {
     }
 
     @GetMapping("/donations")
-    public ResponseEntity<?> listAllDonations(@RequestParam String userId) {
+    public ResponseEntity<?> listAllDonations(@RequestParam String userId,
+                                              @RequestParam(required = false) String status,
+                                              @RequestParam(required = false) String city,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = "0") int page,
+                                              @RequestParam(defaultValue = "20") int size) {
         try {
-            List<DonationResponseDTO> donations = adminService.listAllDonations(userId);
-            return ResponseEntity.ok(Map.of("content", donations));
+            PageResponseDTO<DonationResponseDTO> donations = adminService.listAllDonations(userId, status, city, cursor, page, size);
+            return ResponseEntity.ok(donations);
         } catch (IllegalArgumentException e) {
             System.out.println(e.getMessage());
             return ResponseEntity.status(400).body("Invalid Request: " + e.getMessage());
@@ -76,6 +110,23 @@ public class AdminController {
             return ResponseEntity.status(500).body("Failed to List Donations: " + e.getMessage());
         }
     }
+    @GetMapping("/donations/export")
+    public ResponseEntity<?> exportDonations(@RequestParam String userId,
+                                             @RequestParam(required = false) String status,
+                                             @RequestParam(required = false) String city) {
+        try {
+            adminService.requireAdmin(userId);
+            StreamingResponseBody body = out -> adminService.exportDonations(userId, status, city, out);
+            return ResponseEntity.ok().contentType(NDJSON).body(body);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(400).body("Invalid Request: " + e.getMessage());
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(500).body("Failed to Export Donations: " + e.getMessage());
+        }
+    }
+
     @PutMapping("/donations/{donationId}/status")
     public ResponseEntity<?> overrideDonationStatus(@PathVariable String donationId, @RequestBody UpdateDonationStatusRequestDTO request) {
         try {
@@ -104,6 +155,120 @@ public class AdminController {
         }
     }
 
+    @PostMapping("/analytics/rebuild")
+    public ResponseEntity<?> rebuildAnalytics(@RequestBody Map<String, String> request) {
+        try {
+            String userId = request.get("userId");
+            if (userId == null || userId.isEmpty()) {
+                return ResponseEntity.status(400).body("userId is required");
+            }
+            String response = adminService.rebuildAnalytics(userId);
+            return ResponseEntity.ok(Map.of("message", response));
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(400).body("Invalid Request: " + e.getMessage());
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(500).body("Failed to Rebuild Analytics: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<?> getCacheStats(@RequestParam String userId) {
+        try {
+            return ResponseEntity.ok(adminService.getCacheStats(userId));
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(400).body("Invalid Request: " + e.getMessage());
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(500).body("Failed to Get Cache Stats: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/queries/report")
+    public ResponseEntity<?> getQueryReport(@RequestParam String userId) {
+        try {
+            return ResponseEntity.ok(Map.of("content", adminService.getQueryReport(userId)));
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(400).body("Invalid Request: " + e.getMessage());
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(500).body("Failed to Get Query Report: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/audit")
+    public ResponseEntity<?> listAuditLogs(@RequestParam String userId,
+                                           @RequestParam(required = false) String actorId,
+                                           @RequestParam(required = false) String targetType,
+                                           @RequestParam(required = false) String targetId,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(defaultValue = "50") int size) {
+        try {
+            PageResponseDTO<AuditLogResponseDTO> logs = adminService.listAuditLogs(userId, actorId, targetType, targetId,
+                    from, to, cursor, size);
+            return ResponseEntity.ok(logs);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(400).body("Invalid Request: " + e.getMessage());
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(500).body("Failed to List Audit Logs: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/expiry/stats")
+    public ResponseEntity<?> getExpirySweepStats(@RequestParam String userId) {
+        try {
+            return ResponseEntity.ok(adminService.getExpirySweepStats(userId));
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(400).body("Invalid Request: " + e.getMessage());
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(500).body("Failed to Get Expiry Stats: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/expiry/run")
+    public ResponseEntity<?> runExpirySweep(@RequestBody Map<String, String> request) {
+        try {
+            String userId = request.get("userId");
+            if (userId == null || userId.isEmpty()) {
+                return ResponseEntity.status(400).body("userId is required");
+            }
+            return ResponseEntity.ok(adminService.runExpirySweep(userId));
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(400).body("Invalid Request: " + e.getMessage());
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(500).body("Failed to Run Expiry Sweep: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/impact-metrics/backfill")
+    public ResponseEntity<?> backfillImpactMetrics(@RequestBody Map<String, String> request) {
+        try {
+            String userId = request.get("userId");
+            if (userId == null || userId.isEmpty()) {
+                return ResponseEntity.status(400).body("userId is required");
+            }
+            int updated = adminService.backfillImpactMetrics(userId);
+            return ResponseEntity.ok(Map.of("message", "Impact metrics backfilled successfully", "usersUpdated", updated));
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(400).body("Invalid Request: " + e.getMessage());
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(500).body("Failed to Backfill Impact Metrics: " + e.getMessage());
+        }
+    }
+
     @PutMapping("/donations/{donationId}/audit")
     public ResponseEntity<?> auditDonation(@PathVariable String donationId, @RequestBody AuditDonationRequestDTO request) {
         try {
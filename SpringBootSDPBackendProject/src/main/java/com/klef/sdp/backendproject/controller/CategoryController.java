@@ -0,0 +1,29 @@
+package com.klef.sdp.backendproject.controller;
+
+import com.klef.sdp.backendproject.service.DonorService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("api/v1/categories")
+@CrossOrigin("*")
+public class CategoryController {
+    @Autowired
+    private DonorService donorService;
+
+    // value/label pairs for the donation form, with how many donations of each are available
+    @GetMapping("/food")
+    public ResponseEntity<?> listFoodCategories() {
+        try {
+            List<Map<String, Object>> response = donorService.listFoodCategories();
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(500).body("Failed to List Food Categories: " + e.getMessage());
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.klef.sdp.backendproject.controller;
 
+import com.klef.sdp.backendproject.dto.BulkDonationResponseDTO;
 import com.klef.sdp.backendproject.dto.DonationRequestDTO;
+import com.klef.sdp.backendproject.dto.DonationRequestResponseDTO;
 import com.klef.sdp.backendproject.dto.DonationResponseDTO;
+import com.klef.sdp.backendproject.dto.DonationSearchResponseDTO;
 import com.klef.sdp.backendproject.model.Donations;
 import com.klef.sdp.backendproject.dto.MatchedBeneficiaryDTO;
+import com.klef.sdp.backendproject.dto.PageResponseDTO;
 import com.klef.sdp.backendproject.service.DonorService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -33,6 +38,21 @@ public class DonorController {
         }
     }
 
+    // Accepts a JSON array of donations or one donation per line (application/x-ndjson)
+    @PostMapping(value = "/bulk", consumes = {"application/json", "application/x-ndjson"})
+    public ResponseEntity<?> createDonationsBulk(@RequestParam String userId, HttpServletRequest request) {
+        try {
+            BulkDonationResponseDTO response = donorService.createDonationsBulk(userId, request.getInputStream());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(400).body("Invalid Request: " + e.getMessage());
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(500).body("Failed to Create Donations: " + e.getMessage());
+        }
+    }
+
     @PutMapping("/{donationId}")
     public ResponseEntity<?> updateDonation(@PathVariable String donationId, @RequestBody Donations donation) {
         try {
@@ -75,6 +95,67 @@ public class DonorController {
             return ResponseEntity.status(500).body("Failed to List Donations: " + e.getMessage());
         }
     }
+    @GetMapping("/nearby")
+    public ResponseEntity<?> listNearbyDonations(@RequestParam(required = false) String userId,
+                                                 @RequestParam(required = false) Double latitude,
+                                                 @RequestParam(required = false) Double longitude,
+                                                 @RequestParam(required = false) Double radiusKm,
+                                                 @RequestParam(required = false) Integer limit) {
+        try {
+            List<DonationResponseDTO> response = donorService.listNearbyDonations(userId, latitude, longitude, radiusKm, limit);
+            return ResponseEntity.ok(Map.of("content", response));
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(400).body("Invalid Request: " + e.getMessage());
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(500).body("Failed to List Nearby Donations: " + e.getMessage());
+        }
+    }
+
+    // Available donations by text, category, donor city and distance; soonest expiry first by default
+    @GetMapping("/search")
+    public ResponseEntity<?> searchDonations(@RequestParam(required = false) String keyword,
+                                             @RequestParam(name = "food_category", required = false) String foodCategory,
+                                             @RequestParam(required = false) String location,
+                                             @RequestParam(required = false) Double latitude,
+                                             @RequestParam(required = false) Double longitude,
+                                             @RequestParam(required = false) Double radiusKm,
+                                             @RequestParam(required = false) String sort,
+                                             @RequestParam(required = false) Integer limit) {
+        try {
+            DonationSearchResponseDTO response = donorService.searchDonations(keyword, foodCategory, location,
+                    latitude, longitude, radiusKm, sort, limit);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(400).body("Invalid Request: " + e.getMessage());
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(500).body("Failed to Search Donations: " + e.getMessage());
+        }
+    }
+
+    // Requests beneficiaries made on this donor's donations; pending ones by default
+    @GetMapping("/incoming-requests")
+    public ResponseEntity<?> listIncomingRequests(@RequestParam String userId,
+                                                  @RequestParam(defaultValue = "pending") String status,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(defaultValue = "0") int page,
+                                                  @RequestParam(defaultValue = "20") int size) {
+        try {
+            PageResponseDTO<DonationRequestResponseDTO> response =
+                    donorService.listIncomingRequests(userId, status, cursor, page, size);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(400).body("Invalid Request: " + e.getMessage());
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(500).body("Failed to List Incoming Requests: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/{donationId}")
     public ResponseEntity<?> getDonationDetails(@PathVariable String donationId, @RequestBody Map<String, String> request) {
         try {
@@ -101,8 +182,13 @@ public class DonorController {
             if (userId == null || userId.isEmpty()) {
                 return ResponseEntity.status(400).body("userId is required");
             }
-            List<MatchedBeneficiaryDTO> response = donorService.matchDonation(donationId, userId);
+            Double radiusKm = request.get("radiusKm") != null ? Double.valueOf(request.get("radiusKm")) : null;
+            Integer limit = request.get("limit") != null ? Integer.valueOf(request.get("limit")) : null;
+            List<MatchedBeneficiaryDTO> response = donorService.matchDonation(donationId, userId, radiusKm, limit);
             return ResponseEntity.ok(Map.of("donationId", donationId, "matchedBeneficiaries", response));
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(400).body("Invalid Request: " + e.getMessage());
         } catch (Exception e) {
             System.out.println(e.getMessage());
             return ResponseEntity.status(500).body("Failed to Match Donation: " + e.getMessage());
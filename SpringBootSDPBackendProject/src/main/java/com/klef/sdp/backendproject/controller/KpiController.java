@@ -0,0 +1,51 @@
+package com.klef.sdp.backendproject.controller;
+
+import com.klef.sdp.backendproject.dto.PlatformKpiResponseDTO;
+import com.klef.sdp.backendproject.service.KpiService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api/v1")
+@CrossOrigin("*")
+public class KpiController {
+    @Autowired
+    private KpiService kpiService;
+
+    @GetMapping({"/kpi", "/kpis"})
+    public ResponseEntity<?> getLatestKpis() {
+        try {
+            PlatformKpiResponseDTO kpis = kpiService.getLatestKpis();
+            return ResponseEntity.ok().cacheControl(CacheControl.maxAge(60, TimeUnit.SECONDS).cachePublic()).body(kpis);
+        } catch (IllegalStateException e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(503).body("KPIs Not Available: " + e.getMessage());
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(500).body("Failed to Get KPIs: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/kpi/history")
+    public ResponseEntity<?> getKpiHistory(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            List<PlatformKpiResponseDTO> history = kpiService.getKpiHistory(from, to);
+            return ResponseEntity.ok(Map.of("content", history));
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(400).body("Invalid Request: " + e.getMessage());
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(500).body("Failed to Get KPI History: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.klef.sdp.backendproject.controller;
+
+import com.klef.sdp.backendproject.cache.PrincipalCache;
+import com.klef.sdp.backendproject.service.LiveUpdateBroker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+// Server-Sent Events stream of the caller's donation, request and notification updates.
+// Event names: donation, request, notification (plus connected on subscribe).
+@RestController
+@RequestMapping("api/v1/updates")
+@CrossOrigin("*")
+public class LiveUpdateController {
+    @Autowired
+    private LiveUpdateBroker liveUpdateBroker;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> stream(@RequestParam("user_id") String userId) {
+        try {
+            PrincipalCache.Principal principal = principalCache.get(userId);
+            if (principal == null || !principal.isActive()) {
+                throw new IllegalArgumentException("User not found or inactive: " + userId);
+            }
+            return ResponseEntity.ok(liveUpdateBroker.subscribe(userId));
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(400).contentType(MediaType.TEXT_PLAIN).body("Invalid Request: " + e.getMessage());
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(500).contentType(MediaType.TEXT_PLAIN).body("Failed to Open Update Stream: " + e.getMessage());
+        }
+    }
+}
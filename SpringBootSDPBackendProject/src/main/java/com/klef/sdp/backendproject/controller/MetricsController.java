@@ -0,0 +1,29 @@
+package com.klef.sdp.backendproject.controller;
+
+import com.klef.sdp.backendproject.metrics.MetricsRegistry;
+import com.klef.sdp.backendproject.metrics.PrometheusFormatter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("api/v1/metrics")
+@CrossOrigin("*")
+public class MetricsController {
+    private static final MediaType PROMETHEUS_TEXT = MediaType.parseMediaType("text/plain;version=0.0.4;charset=utf-8");
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @GetMapping
+    public ResponseEntity<?> scrape() {
+        try {
+            return ResponseEntity.ok().contentType(PROMETHEUS_TEXT)
+                    .body(PrometheusFormatter.format(metricsRegistry.snapshot()));
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(500).body("Failed to Get Metrics: " + e.getMessage());
+        }
+    }
+}
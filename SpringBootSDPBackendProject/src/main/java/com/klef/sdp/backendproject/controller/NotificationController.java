@@ -0,0 +1,76 @@
+package com.klef.sdp.backendproject.controller;
+
+import com.klef.sdp.backendproject.dto.NotificationResponseDTO;
+import com.klef.sdp.backendproject.dto.PageResponseDTO;
+import com.klef.sdp.backendproject.service.NotificationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("api/v1/notifications")
+@CrossOrigin("*")
+public class NotificationController {
+    @Autowired
+    private NotificationService notificationService;
+
+    @GetMapping
+    public ResponseEntity<?> listNotifications(@RequestParam("user_id") String userId,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(defaultValue = "0") int page,
+                                               @RequestParam(defaultValue = "20") int size) {
+        try {
+            PageResponseDTO<NotificationResponseDTO> response = notificationService.listNotifications(userId, cursor, page, size);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(400).body("Invalid Request: " + e.getMessage());
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(500).body("Failed to List Notifications: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<?> getUnreadCount(@RequestParam("user_id") String userId) {
+        try {
+            return ResponseEntity.ok(Map.of("unread_count", notificationService.getUnreadCount(userId)));
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(400).body("Invalid Request: " + e.getMessage());
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(500).body("Failed to Get Unread Count: " + e.getMessage());
+        }
+    }
+
+    @PatchMapping("/{notificationId}/read")
+    public ResponseEntity<?> markAsRead(@PathVariable String notificationId) {
+        try {
+            boolean updated = notificationService.markAsRead(notificationId);
+            return ResponseEntity.ok(Map.of("message", updated ? "Notification marked as read" : "Notification was already read"));
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(400).body("Invalid Request: " + e.getMessage());
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(500).body("Failed to Mark Notification as Read: " + e.getMessage());
+        }
+    }
+
+    @PatchMapping("/read-all")
+    public ResponseEntity<?> markAllAsRead(@RequestParam("user_id") String userId) {
+        try {
+            int updated = notificationService.markAllAsRead(userId);
+            return ResponseEntity.ok(Map.of("message", "Notifications marked as read", "updated", updated));
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(400).body("Invalid Request: " + e.getMessage());
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(500).body("Failed to Mark Notifications as Read: " + e.getMessage());
+        }
+    }
+}
@@ -48,9 +48,10 @@ public class ReceiverController {
 
     @GetMapping
     public ResponseEntity<?> listDonationRequests(@RequestParam(required = false) String userId,
-                                                 @RequestParam(required = false) String status) {
+                                                 @RequestParam(required = false) String status,
+                                                 @RequestParam(defaultValue = "false") boolean includeDonation) {
         try {
-            List<DonationRequestResponseDTO> response = receiverService.listDonationRequests(userId, status);
+            List<DonationRequestResponseDTO> response = receiverService.listDonationRequests(userId, status, includeDonation);
             return ResponseEntity.ok(Map.of("content", response));
         } catch (Exception e) {
             System.out.println(e.getMessage());
@@ -60,13 +60,31 @@ public class RewardController {
     }
 
     @GetMapping("/rewards/leaderboard")
-    public ResponseEntity<?> getLeaderboard() {
+    public ResponseEntity<?> getLeaderboard(@RequestParam(defaultValue = "0") int page,
+                                            @RequestParam(defaultValue = "10") int size) {
         try {
-            List<LeaderboardResponseDTO> leaderboard = rewardService.getLeaderboard();
-            return ResponseEntity.ok(Map.of("content", leaderboard));
+            List<LeaderboardResponseDTO> leaderboard = rewardService.getLeaderboard(page, size);
+            return ResponseEntity.ok(Map.of("content", leaderboard, "page", page, "size", size));
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(400).body("Invalid Request: " + e.getMessage());
         } catch (Exception e) {
             System.out.println(e.getMessage());
             return ResponseEntity.status(500).body("Failed to Get Leaderboard: " + e.getMessage());
         }
     }
+
+    @GetMapping("/rewards/leaderboard/users/{userId}")
+    public ResponseEntity<?> getUserRank(@PathVariable String userId) {
+        try {
+            LeaderboardResponseDTO standing = rewardService.getUserRank(userId);
+            return ResponseEntity.ok(standing);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(404).body("Not Found: " + e.getMessage());
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            return ResponseEntity.status(500).body("Failed to Get User Rank: " + e.getMessage());
+        }
+    }
 }
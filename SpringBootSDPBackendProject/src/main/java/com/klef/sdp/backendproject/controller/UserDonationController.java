@@ -49,9 +49,10 @@ public class UserDonationController {
 
     @GetMapping
     public ResponseEntity<?> listDonationRequests(@RequestParam(required = false) String userId,
-                                                 @RequestParam(required = false) String status) {
+                                                 @RequestParam(required = false) String status,
+                                                 @RequestParam(defaultValue = "false") boolean includeDonation) {
         try {
-            List<DonationRequestResponseDTO> response = userDonationService.listDonationRequests(userId, status);
+            List<DonationRequestResponseDTO> response = userDonationService.listDonationRequests(userId, status, includeDonation);
             return ResponseEntity.ok(Map.of("content", response));
         } catch (Exception e) {
             System.out.println(e.getMessage());
@@ -0,0 +1,109 @@
+package com.klef.sdp.backendproject.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkDonationResponseDTO {
+    private int received;
+    private int created;
+    private int rejected;
+    private String error;
+    private List<RowResultDTO> results = new ArrayList<>();
+
+    public static class RowResultDTO {
+        private int index;
+        private String status;
+        private String donationId;
+        private String error;
+
+        public static RowResultDTO created(int index, String donationId) {
+            RowResultDTO result = new RowResultDTO();
+            result.setIndex(index);
+            result.setStatus("created");
+            result.setDonationId(donationId);
+            return result;
+        }
+
+        public static RowResultDTO rejected(int index, String error) {
+            RowResultDTO result = new RowResultDTO();
+            result.setIndex(index);
+            result.setStatus("rejected");
+            result.setError(error);
+            return result;
+        }
+
+        // Getters and Setters
+        public int getIndex() {
+            return index;
+        }
+
+        public void setIndex(int index) {
+            this.index = index;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public String getDonationId() {
+            return donationId;
+        }
+
+        public void setDonationId(String donationId) {
+            this.donationId = donationId;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+    }
+
+    // Getters and Setters
+    public int getReceived() {
+        return received;
+    }
+
+    public void setReceived(int received) {
+        this.received = received;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public List<RowResultDTO> getResults() {
+        return results;
+    }
+
+    public void setResults(List<RowResultDTO> results) {
+        this.results = results;
+    }
+}
@@ -1,13 +1,50 @@
 package com.klef.sdp.backendproject.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.klef.sdp.backendproject.model.DonationRequest;
+
 import java.time.LocalDateTime;
 
+// The donation summary fields are only filled by listings that ask for them (includeDonation)
+// and are left out of the JSON otherwise.
 public class DonationRequestResponseDTO {
     private String requestId;
     private String donationId;
     private String beneficiaryId;
     private String status;
     private LocalDateTime requestedAt;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String foodDescription;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double quantityKg;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDateTime pickupWindowStart;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDateTime pickupWindowEnd;
+
+    public DonationRequestResponseDTO() {
+    }
+
+    // Used by JPQL constructor expressions in DonationRequestRepository
+    public DonationRequestResponseDTO(String requestId, String donationId, String beneficiaryId,
+                                      DonationRequest.Status status, LocalDateTime requestedAt) {
+        this.requestId = requestId;
+        this.donationId = donationId;
+        this.beneficiaryId = beneficiaryId;
+        this.status = status.name();
+        this.requestedAt = requestedAt;
+    }
+
+    public DonationRequestResponseDTO(String requestId, String donationId, String beneficiaryId,
+                                      DonationRequest.Status status, LocalDateTime requestedAt,
+                                      String foodDescription, Double quantityKg,
+                                      LocalDateTime pickupWindowStart, LocalDateTime pickupWindowEnd) {
+        this(requestId, donationId, beneficiaryId, status, requestedAt);
+        this.foodDescription = foodDescription;
+        this.quantityKg = quantityKg;
+        this.pickupWindowStart = pickupWindowStart;
+        this.pickupWindowEnd = pickupWindowEnd;
+    }
 
     // Getters and Setters
     public String getRequestId() {
@@ -49,4 +86,36 @@ public class DonationRequestResponseDTO {
     public void setRequestedAt(LocalDateTime requestedAt) {
         this.requestedAt = requestedAt;
     }
+
+    public String getFoodDescription() {
+        return foodDescription;
+    }
+
+    public void setFoodDescription(String foodDescription) {
+        this.foodDescription = foodDescription;
+    }
+
+    public Double getQuantityKg() {
+        return quantityKg;
+    }
+
+    public void setQuantityKg(Double quantityKg) {
+        this.quantityKg = quantityKg;
+    }
+
+    public LocalDateTime getPickupWindowStart() {
+        return pickupWindowStart;
+    }
+
+    public void setPickupWindowStart(LocalDateTime pickupWindowStart) {
+        this.pickupWindowStart = pickupWindowStart;
+    }
+
+    public LocalDateTime getPickupWindowEnd() {
+        return pickupWindowEnd;
+    }
+
+    public void setPickupWindowEnd(LocalDateTime pickupWindowEnd) {
+        this.pickupWindowEnd = pickupWindowEnd;
+    }
 }
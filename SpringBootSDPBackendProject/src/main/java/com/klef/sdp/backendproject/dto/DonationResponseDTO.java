@@ -1,6 +1,8 @@
 package com.klef.sdp.backendproject.dto;
 
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.time.LocalDateTime;
 
 public class DonationResponseDTO {
@@ -16,6 +18,9 @@ public class DonationResponseDTO {
     private Double latitude;
     private Double longitude;
     private LocalDateTime createdAt;
+    // Only set on nearby searches
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double distanceKm;
 
     // Getters and Setters
     public String getDonationId() {
@@ -113,4 +118,12 @@ public class DonationResponseDTO {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public Double getDistanceKm() {
+        return distanceKm;
+    }
+
+    public void setDistanceKm(Double distanceKm) {
+        this.distanceKm = distanceKm;
+    }
 }
@@ -0,0 +1,37 @@
+package com.klef.sdp.backendproject.dto;
+
+import java.util.List;
+import java.util.Map;
+
+// Search results for available donations. facets counts the matches per food category with
+// every filter applied except the category one, so the UI can show what switching category gives.
+public class DonationSearchResponseDTO {
+    private List<DonationResponseDTO> content;
+    private long total;
+    private Map<String, Long> facets;
+
+    // Getters and Setters
+    public List<DonationResponseDTO> getContent() {
+        return content;
+    }
+
+    public void setContent(List<DonationResponseDTO> content) {
+        this.content = content;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<String, Long> getFacets() {
+        return facets;
+    }
+
+    public void setFacets(Map<String, Long> facets) {
+        this.facets = facets;
+    }
+}
@@ -5,6 +5,7 @@ public class LeaderboardResponseDTO {
     private String userId;
     private String username;
     private long totalPoints;
+    private int rank;
 
     // Getters and Setters
     public String getUserId() {
@@ -30,4 +31,12 @@ public class LeaderboardResponseDTO {
     public void setTotalPoints(long totalPoints) {
         this.totalPoints = totalPoints;
     }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
 }
@@ -0,0 +1,78 @@
+package com.klef.sdp.backendproject.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+// Field names follow the frontend's NotificationsPage (notification_id, is_read, created_at, ...)
+public class NotificationResponseDTO {
+    @JsonProperty("notification_id")
+    private String notificationId;
+    @JsonProperty("user_id")
+    private String userId;
+    private String type;
+    private String message;
+    @JsonProperty("reference_id")
+    private String referenceId;
+    @JsonProperty("is_read")
+    private boolean read;
+    @JsonProperty("created_at")
+    private LocalDateTime createdAt;
+
+    // Getters and Setters
+    public String getNotificationId() {
+        return notificationId;
+    }
+
+    public void setNotificationId(String notificationId) {
+        this.notificationId = notificationId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getReferenceId() {
+        return referenceId;
+    }
+
+    public void setReferenceId(String referenceId) {
+        this.referenceId = referenceId;
+    }
+
+    public boolean isRead() {
+        return read;
+    }
+
+    public void setRead(boolean read) {
+        this.read = read;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,82 @@
+package com.klef.sdp.backendproject.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.Map;
+
+// Shape expected by the frontend's paginated listings (content/page/size/total_elements/total_pages).
+// nextCursor is the keyset position to pass back for the following page, null on the last page.
+// statusCounts is only set by listings that report per-status totals alongside the page.
+public class PageResponseDTO<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    @JsonProperty("total_elements")
+    private long totalElements;
+    @JsonProperty("total_pages")
+    private int totalPages;
+    @JsonProperty("next_cursor")
+    private String nextCursor;
+    @JsonProperty("status_counts")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, Long> statusCounts;
+
+    // Getters and Setters
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public long getTotalElements() {
+        return totalElements;
+    }
+
+    public void setTotalElements(long totalElements) {
+        this.totalElements = totalElements;
+    }
+
+    public int getTotalPages() {
+        return totalPages;
+    }
+
+    public void setTotalPages(int totalPages) {
+        this.totalPages = totalPages;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public Map<String, Long> getStatusCounts() {
+        return statusCounts;
+    }
+
+    public void setStatusCounts(Map<String, Long> statusCounts) {
+        this.statusCounts = statusCounts;
+    }
+}
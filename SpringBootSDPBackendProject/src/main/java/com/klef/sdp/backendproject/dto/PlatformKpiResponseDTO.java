@@ -0,0 +1,100 @@
+package com.klef.sdp.backendproject.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+// Field names follow the frontend's KPI payload (total_food_saved_kg, total_donations, ...)
+public class PlatformKpiResponseDTO {
+    @JsonProperty("bucket_start")
+    private LocalDateTime bucketStart;
+    @JsonProperty("total_donations")
+    private long totalDonations;
+    @JsonProperty("total_food_saved_kg")
+    private double totalFoodSavedKg;
+    @JsonProperty("total_meals_served")
+    private long totalMealsServed;
+    @JsonProperty("total_carbon_offset_kg")
+    private double totalCarbonOffsetKg;
+    @JsonProperty("active_donors")
+    private long activeDonors;
+    @JsonProperty("total_beneficiaries")
+    private long activeBeneficiaries;
+    @JsonProperty("median_pickup_minutes")
+    private Double medianPickupMinutes;
+    @JsonProperty("updated_at")
+    private LocalDateTime updatedAt;
+
+    // Getters and Setters
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public long getTotalDonations() {
+        return totalDonations;
+    }
+
+    public void setTotalDonations(long totalDonations) {
+        this.totalDonations = totalDonations;
+    }
+
+    public double getTotalFoodSavedKg() {
+        return totalFoodSavedKg;
+    }
+
+    public void setTotalFoodSavedKg(double totalFoodSavedKg) {
+        this.totalFoodSavedKg = totalFoodSavedKg;
+    }
+
+    public long getTotalMealsServed() {
+        return totalMealsServed;
+    }
+
+    public void setTotalMealsServed(long totalMealsServed) {
+        this.totalMealsServed = totalMealsServed;
+    }
+
+    public double getTotalCarbonOffsetKg() {
+        return totalCarbonOffsetKg;
+    }
+
+    public void setTotalCarbonOffsetKg(double totalCarbonOffsetKg) {
+        this.totalCarbonOffsetKg = totalCarbonOffsetKg;
+    }
+
+    public long getActiveDonors() {
+        return activeDonors;
+    }
+
+    public void setActiveDonors(long activeDonors) {
+        this.activeDonors = activeDonors;
+    }
+
+    public long getActiveBeneficiaries() {
+        return activeBeneficiaries;
+    }
+
+    public void setActiveBeneficiaries(long activeBeneficiaries) {
+        this.activeBeneficiaries = activeBeneficiaries;
+    }
+
+    public Double getMedianPickupMinutes() {
+        return medianPickupMinutes;
+    }
+
+    public void setMedianPickupMinutes(Double medianPickupMinutes) {
+        this.medianPickupMinutes = medianPickupMinutes;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
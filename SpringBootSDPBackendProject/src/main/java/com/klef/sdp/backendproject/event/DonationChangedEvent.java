@@ -0,0 +1,29 @@
+package com.klef.sdp.backendproject.event;
+
+// Published after a donation is created, updated, deleted or changes status.
+// before is null for a new donation, after is null for a deleted one.
+public class DonationChangedEvent {
+    private final DonationSnapshot before;
+    private final DonationSnapshot after;
+
+    public DonationChangedEvent(DonationSnapshot before, DonationSnapshot after) {
+        this.before = before;
+        this.after = after;
+    }
+
+    public DonationSnapshot getBefore() {
+        return before;
+    }
+
+    public DonationSnapshot getAfter() {
+        return after;
+    }
+
+    public String getDonationId() {
+        return after != null ? after.getDonationId() : before.getDonationId();
+    }
+
+    public boolean isStatusChange() {
+        return before != null && after != null && before.getStatus() != after.getStatus();
+    }
+}
@@ -0,0 +1,23 @@
+package com.klef.sdp.backendproject.event;
+
+import java.util.List;
+
+// Published by the expiry sweeper for each donation it expires, alongside the DonationChangedEvent,
+// so the donor and every beneficiary whose pending request was cancelled can be told.
+public class DonationExpiredEvent {
+    private final DonationSnapshot donation;
+    private final List<String> cancelledBeneficiaryIds;
+
+    public DonationExpiredEvent(DonationSnapshot donation, List<String> cancelledBeneficiaryIds) {
+        this.donation = donation;
+        this.cancelledBeneficiaryIds = cancelledBeneficiaryIds;
+    }
+
+    public DonationSnapshot getDonation() {
+        return donation;
+    }
+
+    public List<String> getCancelledBeneficiaryIds() {
+        return cancelledBeneficiaryIds;
+    }
+}
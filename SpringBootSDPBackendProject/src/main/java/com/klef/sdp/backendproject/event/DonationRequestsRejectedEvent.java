@@ -0,0 +1,22 @@
+package com.klef.sdp.backendproject.event;
+
+import java.util.List;
+
+// Published after a claim commits, for the pending requests it rejected on the same donation
+public class DonationRequestsRejectedEvent {
+    private final String donationId;
+    private final List<String> beneficiaryIds;
+
+    public DonationRequestsRejectedEvent(String donationId, List<String> beneficiaryIds) {
+        this.donationId = donationId;
+        this.beneficiaryIds = beneficiaryIds;
+    }
+
+    public String getDonationId() {
+        return donationId;
+    }
+
+    public List<String> getBeneficiaryIds() {
+        return beneficiaryIds;
+    }
+}
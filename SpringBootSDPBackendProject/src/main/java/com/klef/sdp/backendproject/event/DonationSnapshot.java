@@ -0,0 +1,138 @@
+package com.klef.sdp.backendproject.event;
+
+import com.klef.sdp.backendproject.model.Donations;
+import com.klef.sdp.backendproject.model.Users;
+
+import java.time.LocalDateTime;
+
+// Immutable copy of the donation fields that derived views (analytics, metrics, ...) depend on.
+// Taken before and after a change so listeners can retract the old values and apply the new ones.
+public final class DonationSnapshot {
+    private final String donationId;
+    private final String donorId;
+    private final String donorUsername;
+    private final String donorCity;
+    private final Donations.Status status;
+    private final double quantityKg;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    // Listing fields, kept so the search index can serve results without reloading the row
+    private final String foodDescription;
+    private final Donations.FoodCategory foodCategory;
+    private final LocalDateTime expiryDate;
+    private final LocalDateTime pickupWindowStart;
+    private final LocalDateTime pickupWindowEnd;
+    private final Double latitude;
+    private final Double longitude;
+
+    private DonationSnapshot(String donationId, String donorId, String donorUsername, String donorCity,
+                            Donations.Status status, double quantityKg,
+                            LocalDateTime createdAt, LocalDateTime updatedAt,
+                            String foodDescription, Donations.FoodCategory foodCategory, LocalDateTime expiryDate,
+                            LocalDateTime pickupWindowStart, LocalDateTime pickupWindowEnd,
+                            Double latitude, Double longitude) {
+        this.donationId = donationId;
+        this.donorId = donorId;
+        this.donorUsername = donorUsername;
+        this.donorCity = donorCity;
+        this.status = status;
+        this.quantityKg = quantityKg;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.foodDescription = foodDescription;
+        this.foodCategory = foodCategory;
+        this.expiryDate = expiryDate;
+        this.pickupWindowStart = pickupWindowStart;
+        this.pickupWindowEnd = pickupWindowEnd;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    // The only way in from outside: rows inserted without JPA build a transient entity to snapshot
+    public static DonationSnapshot of(Donations donation) {
+        Users donor = donation.getUser();
+        return new DonationSnapshot(
+                donation.getDonation_id(),
+                donor.getUser_id(),
+                donor.getUsername(),
+                donor.getCity(),
+                donation.getStatus(),
+                donation.getQuantity_kg() != null ? donation.getQuantity_kg() : 0.0,
+                donation.getCreated_at(),
+                donation.getUpdated_at(),
+                donation.getFood_description(),
+                donation.getFood_category(),
+                donation.getExpiry_date(),
+                donation.getPickup_window_start(),
+                donation.getPickup_window_end(),
+                donation.getLatitude(),
+                donation.getLongitude());
+    }
+
+    // Same donation after a bulk status update that did not go through the entity
+    public DonationSnapshot withStatus(Donations.Status newStatus, LocalDateTime newUpdatedAt) {
+        return new DonationSnapshot(donationId, donorId, donorUsername, donorCity, newStatus, quantityKg,
+                createdAt, newUpdatedAt, foodDescription, foodCategory, expiryDate,
+                pickupWindowStart, pickupWindowEnd, latitude, longitude);
+    }
+
+    public String getDonationId() {
+        return donationId;
+    }
+
+    public String getDonorId() {
+        return donorId;
+    }
+
+    public String getDonorUsername() {
+        return donorUsername;
+    }
+
+    public String getDonorCity() {
+        return donorCity;
+    }
+
+    public Donations.Status getStatus() {
+        return status;
+    }
+
+    public double getQuantityKg() {
+        return quantityKg;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public String getFoodDescription() {
+        return foodDescription;
+    }
+
+    public Donations.FoodCategory getFoodCategory() {
+        return foodCategory;
+    }
+
+    public LocalDateTime getExpiryDate() {
+        return expiryDate;
+    }
+
+    public LocalDateTime getPickupWindowStart() {
+        return pickupWindowStart;
+    }
+
+    public LocalDateTime getPickupWindowEnd() {
+        return pickupWindowEnd;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+}
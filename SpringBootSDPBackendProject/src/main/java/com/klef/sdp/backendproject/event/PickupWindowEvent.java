@@ -0,0 +1,64 @@
+package com.klef.sdp.backendproject.event;
+
+import java.time.LocalDateTime;
+
+// Lifecycle of the pickup window of an approved request: APPROVED when the claim commits,
+// STARTING when the window opens, RELEASED when it closed without a pickup and the
+// donation went back to available.
+public class PickupWindowEvent {
+    public enum Type {
+        APPROVED, STARTING, RELEASED
+    }
+
+    private final Type type;
+    private final String requestId;
+    private final String donationId;
+    private final String donorId;
+    private final String beneficiaryId;
+    private final LocalDateTime pickupWindowStart;
+    private final LocalDateTime pickupWindowEnd;
+
+    public PickupWindowEvent(Type type, String requestId, String donationId, String donorId, String beneficiaryId,
+                             LocalDateTime pickupWindowStart, LocalDateTime pickupWindowEnd) {
+        this.type = type;
+        this.requestId = requestId;
+        this.donationId = donationId;
+        this.donorId = donorId;
+        this.beneficiaryId = beneficiaryId;
+        this.pickupWindowStart = pickupWindowStart;
+        this.pickupWindowEnd = pickupWindowEnd;
+    }
+
+    public PickupWindowEvent withType(Type type) {
+        return new PickupWindowEvent(type, requestId, donationId, donorId, beneficiaryId,
+                pickupWindowStart, pickupWindowEnd);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public String getDonationId() {
+        return donationId;
+    }
+
+    public String getDonorId() {
+        return donorId;
+    }
+
+    public String getBeneficiaryId() {
+        return beneficiaryId;
+    }
+
+    public LocalDateTime getPickupWindowStart() {
+        return pickupWindowStart;
+    }
+
+    public LocalDateTime getPickupWindowEnd() {
+        return pickupWindowEnd;
+    }
+}
@@ -0,0 +1,52 @@
+package com.klef.sdp.backendproject.event;
+
+import com.klef.sdp.backendproject.model.Users;
+
+// Published after a user is registered, edits their profile or is (de)activated by an admin.
+public class UserChangedEvent {
+    private final String userId;
+    private final String username;
+    private final String role;
+    private final boolean active;
+    private final String city;
+    private final Double latitude;
+    private final Double longitude;
+
+    public UserChangedEvent(Users user) {
+        this.userId = user.getUser_id();
+        this.username = user.getUsername();
+        this.role = user.getRole();
+        this.active = user.isIs_active();
+        this.city = user.getCity();
+        this.latitude = user.getLatitude();
+        this.longitude = user.getLongitude();
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+}
@@ -0,0 +1,8 @@
+package com.klef.sdp.backendproject.id;
+
+// Source of primary keys for new rows. The strategy is chosen with foodshare.ids.strategy
+// (see IdGeneratorConfig); every implementation returns a string that fits the existing
+// VARCHAR(36) id columns, so strategies can be switched without a schema change.
+public interface IdGenerator {
+    String nextId();
+}
@@ -0,0 +1,11 @@
+package com.klef.sdp.backendproject.id;
+
+import java.util.UUID;
+
+// The original scheme (random version 4 UUIDs), kept selectable for comparison
+public class RandomUuidIdGenerator implements IdGenerator {
+    @Override
+    public String nextId() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,82 @@
+package com.klef.sdp.backendproject.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Snowflake-style 64-bit ids: 41 bits of milliseconds since EPOCH_MS, 10 bits of worker id,
+// 12 bits of per-millisecond sequence. Each application instance needs its own worker id
+// (foodshare.ids.worker-id). The string form is the value in 13 fixed-width Crockford base32
+// characters, so string order equals numeric order; decode() recovers the long for a BIGINT column.
+public class SnowflakeIdGenerator implements IdGenerator {
+    // 2024-01-01T00:00:00Z; 41 bits of milliseconds last until 2093
+    public static final long EPOCH_MS = 1704067200000L;
+    private static final int WORKER_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final int ENCODED_LENGTH = 13;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final long workerId;
+    // (millis since epoch << 12) | sequence of the last id issued
+    private final AtomicLong lastTimeAndSequence = new AtomicLong();
+
+    public SnowflakeIdGenerator(long workerId) {
+        if (workerId < 0 || workerId >= (1L << WORKER_BITS)) {
+            throw new IllegalArgumentException("workerId must be between 0 and " + ((1L << WORKER_BITS) - 1));
+        }
+        this.workerId = workerId;
+    }
+
+    @Override
+    public String nextId() {
+        return encode(nextLong());
+    }
+
+    public long nextLong() {
+        long candidate = (System.currentTimeMillis() - EPOCH_MS) << SEQUENCE_BITS;
+        // Same scheme as UuidV7IdGenerator: sequence overflow or a clock step back borrows the next millisecond
+        long timeAndSequence = lastTimeAndSequence.accumulateAndGet(candidate,
+                (last, now) -> now > last ? now : last + 1);
+        long millis = timeAndSequence >>> SEQUENCE_BITS;
+        long sequence = timeAndSequence & ((1L << SEQUENCE_BITS) - 1);
+        return (millis << (WORKER_BITS + SEQUENCE_BITS)) | (workerId << SEQUENCE_BITS) | sequence;
+    }
+
+    public static String encode(long id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Snowflake ids are non-negative");
+        }
+        char[] chars = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    public static long decode(String id) {
+        if (id == null || id.length() != ENCODED_LENGTH) {
+            throw new IllegalArgumentException("Not a snowflake id: " + id);
+        }
+        long value = 0;
+        for (int i = 0; i < ENCODED_LENGTH; i++) {
+            int digit = indexOf(Character.toUpperCase(id.charAt(i)));
+            if (digit < 0) {
+                throw new IllegalArgumentException("Not a snowflake id: " + id);
+            }
+            value = (value << 5) | digit;
+        }
+        return value;
+    }
+
+    private static int indexOf(char c) {
+        for (int i = 0; i < ALPHABET.length; i++) {
+            if (ALPHABET[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public static long timestampOf(String id) {
+        return (decode(id) >>> (WORKER_BITS + SEQUENCE_BITS)) + EPOCH_MS;
+    }
+}
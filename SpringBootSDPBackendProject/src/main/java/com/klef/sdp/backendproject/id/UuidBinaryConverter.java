@@ -0,0 +1,22 @@
+package com.klef.sdp.backendproject.id;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Compact storage option for UUID ids: maps the String attribute to BINARY(16) instead of
+// VARCHAR(36), less than half the size in the primary key and in every index and foreign key that
+// repeats it. Not applied automatically; an entity opts in per column with
+// @Convert(converter = UuidBinaryConverter.class) and @Column(columnDefinition = "BINARY(16)"),
+// after its table (and the referencing foreign keys) have been migrated.
+@Converter
+public class UuidBinaryConverter implements AttributeConverter<String, byte[]> {
+    @Override
+    public byte[] convertToDatabaseColumn(String attribute) {
+        return attribute != null ? UuidV7IdGenerator.toBytes(attribute) : null;
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] dbData) {
+        return dbData != null ? UuidV7IdGenerator.fromBytes(dbData) : null;
+    }
+}
@@ -0,0 +1,60 @@
+package com.klef.sdp.backendproject.id;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Version 7 UUIDs (RFC 9562): 48-bit Unix millisecond timestamp, then a 12-bit counter in rand_a,
+// then 62 random bits. The timestamp and counter are advanced together as one value, so ids from
+// this generator are strictly increasing even within a millisecond or if the clock steps back;
+// when the counter runs out, the timestamp is borrowed forward by a millisecond.
+// The canonical string form sorts the same way as the bytes, so B-tree inserts append at the end.
+public class UuidV7IdGenerator implements IdGenerator {
+    private static final int COUNTER_BITS = 12;
+
+    // (unix millis << 12) | counter of the last id issued
+    private final AtomicLong lastTimeAndCounter = new AtomicLong();
+
+    @Override
+    public String nextId() {
+        return nextUuid().toString();
+    }
+
+    public UUID nextUuid() {
+        long candidate = System.currentTimeMillis() << COUNTER_BITS;
+        long timeAndCounter = lastTimeAndCounter.accumulateAndGet(candidate,
+                (last, now) -> now > last ? now : last + 1);
+        long millis = timeAndCounter >>> COUNTER_BITS;
+        long counter = timeAndCounter & ((1L << COUNTER_BITS) - 1);
+        long mostSigBits = (millis << 16) | (0x7L << 12) | counter;
+        long leastSigBits = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    // Millisecond timestamp embedded in a version 7 id
+    public static long timestampOf(String id) {
+        UUID uuid = UUID.fromString(id);
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + id);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    // 16-byte big-endian form for BINARY(16) columns; works for legacy random UUIDs as well
+    public static byte[] toBytes(String id) {
+        UUID uuid = UUID.fromString(id);
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    public static String fromBytes(byte[] bytes) {
+        if (bytes.length != 16) {
+            throw new IllegalArgumentException("Expected 16 bytes, got " + bytes.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+}
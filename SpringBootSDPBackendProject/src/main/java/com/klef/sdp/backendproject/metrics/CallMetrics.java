@@ -0,0 +1,55 @@
+package com.klef.sdp.backendproject.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Everything recorded for one endpoint or one service/repository method
+public class CallMetrics {
+    private final String layer;
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder rowsHydrated = new LongAdder();
+
+    CallMetrics(String layer, String name) {
+        this.layer = layer;
+        this.name = name;
+    }
+
+    public void record(long micros, boolean error, long statementCount, long rowCount) {
+        latency.record(micros);
+        if (error) {
+            errors.increment();
+        }
+        if (statementCount > 0) {
+            statements.add(statementCount);
+        }
+        if (rowCount > 0) {
+            rowsHydrated.add(rowCount);
+        }
+    }
+
+    public String getLayer() {
+        return layer;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    public long getRowsHydrated() {
+        return rowsHydrated.sum();
+    }
+}
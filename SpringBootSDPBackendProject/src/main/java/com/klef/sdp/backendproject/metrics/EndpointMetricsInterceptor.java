@@ -0,0 +1,45 @@
+package com.klef.sdp.backendproject.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+// Times each request by its matched route ("GET api/v1/donations/{donationId}") rather than the
+// raw path, so path variables do not create one series per id. Controllers turn exceptions into
+// 400/500 responses themselves, so errors are counted by status code.
+public class EndpointMetricsInterceptor implements HandlerInterceptor {
+    private static final String STARTED = EndpointMetricsInterceptor.class.getName() + ".started";
+    private static final String STATEMENTS = EndpointMetricsInterceptor.class.getName() + ".statements";
+    private static final String ROWS = EndpointMetricsInterceptor.class.getName() + ".rows";
+
+    private final MetricsRegistry registry;
+
+    public EndpointMetricsInterceptor(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryCounters counters = QueryCounters.current();
+        request.setAttribute(STATEMENTS, counters.getStatements());
+        request.setAttribute(ROWS, counters.getRowsHydrated());
+        request.setAttribute(STARTED, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object started = request.getAttribute(STARTED);
+        if (!(started instanceof Long)) {
+            return;
+        }
+        long micros = (System.nanoTime() - (Long) started) / 1000;
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = request.getMethod() + " " + (pattern != null ? pattern : "unmatched");
+        QueryCounters counters = QueryCounters.current();
+        registry.get(MetricsRegistry.ENDPOINT, route).record(micros, ex != null || response.getStatus() >= 500,
+                counters.getStatements() - (Long) request.getAttribute(STATEMENTS),
+                counters.getRowsHydrated() - (Long) request.getAttribute(ROWS));
+    }
+}
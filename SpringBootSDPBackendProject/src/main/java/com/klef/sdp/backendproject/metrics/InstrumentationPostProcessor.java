@@ -0,0 +1,91 @@
+package com.klef.sdp.backendproject.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.Repository;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Wraps every *ServiceImpl bean and every Spring Data repository in a timing interceptor.
+// Beans that are already AOP proxies (@Transactional services, repositories) get the interceptor
+// added to their existing advice chain instead of a second proxy layer.
+// Calls between methods of the same bean bypass the proxy and are counted in the caller only.
+public class InstrumentationPostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<MetricsRegistry> registryProvider;
+    private final boolean enabled;
+
+    public InstrumentationPostProcessor(ObjectProvider<MetricsRegistry> registryProvider, boolean enabled) {
+        this.registryProvider = registryProvider;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!enabled) {
+            return bean;
+        }
+        String layer;
+        if (bean instanceof Repository) {
+            layer = MetricsRegistry.REPOSITORY;
+        } else if (bean.getClass().getName().contains("ServiceImpl")) {
+            layer = MetricsRegistry.SERVICE;
+        } else {
+            return bean;
+        }
+        TimingInterceptor interceptor = new TimingInterceptor(registryProvider, layer, beanName);
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(0, interceptor);
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+    }
+
+    static final class TimingInterceptor implements MethodInterceptor {
+        private final ObjectProvider<MetricsRegistry> registryProvider;
+        private final String layer;
+        private final String beanName;
+        // Resolved once per method so the hot path is a single map lookup on the Method
+        private final Map<Method, CallMetrics> byMethod = new ConcurrentHashMap<>();
+
+        TimingInterceptor(ObjectProvider<MetricsRegistry> registryProvider, String layer, String beanName) {
+            this.registryProvider = registryProvider;
+            this.layer = layer;
+            this.beanName = beanName;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Method method = invocation.getMethod();
+            if (method.getDeclaringClass() == Object.class) {
+                return invocation.proceed();
+            }
+            CallMetrics metrics = byMethod.get(method);
+            if (metrics == null) {
+                metrics = byMethod.computeIfAbsent(method,
+                        m -> registryProvider.getObject().get(layer, beanName + "." + m.getName()));
+            }
+            QueryCounters counters = QueryCounters.current();
+            long statementsBefore = counters.getStatements();
+            long rowsBefore = counters.getRowsHydrated();
+            long started = System.nanoTime();
+            boolean error = true;
+            try {
+                Object result = invocation.proceed();
+                error = false;
+                return result;
+            } finally {
+                metrics.record((System.nanoTime() - started) / 1000, error,
+                        counters.getStatements() - statementsBefore, counters.getRowsHydrated() - rowsBefore);
+            }
+        }
+    }
+}
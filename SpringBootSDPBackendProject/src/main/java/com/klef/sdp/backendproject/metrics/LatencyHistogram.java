@@ -0,0 +1,102 @@
+package com.klef.sdp.backendproject.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Log-linear histogram of microsecond latencies, in the style of HdrHistogram: exact below 128 us,
+// then 64 sub-buckets per power of two (under 1.6% relative error). Recording is a few atomic
+// increments and never allocates, so it is cheap enough to run on every request.
+public class LatencyHistogram {
+    private static final int LINEAR = 128;
+    private static final int SUB_BUCKETS = 64;
+    private static final int BUCKETS = LINEAR + SUB_BUCKETS * 57;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long micros) {
+        long value = Math.max(micros, 0);
+        counts.incrementAndGet(indexOf(value));
+        total.incrementAndGet();
+        sum.addAndGet(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    private static int indexOf(long value) {
+        if (value < LINEAR) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - 6;
+        int sub = (int) (value >>> shift);
+        return LINEAR + (shift - 1) * SUB_BUCKETS + (sub - SUB_BUCKETS);
+    }
+
+    // Largest value that lands in the bucket, so percentiles err on the slow side
+    private static long highestValueIn(int index) {
+        if (index < LINEAR) {
+            return index;
+        }
+        int offset = index - LINEAR;
+        int shift = offset / SUB_BUCKETS + 1;
+        long sub = offset % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    public long count() {
+        return total.get();
+    }
+
+    public long sum() {
+        return sum.get();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    public double mean() {
+        long count = total.get();
+        return count == 0 ? 0 : (double) sum.get() / count;
+    }
+
+    // Cumulative counts for Prometheus buckets: element i counts the values up to upperBounds[i]
+    // (ascending) and the last element counts every value. A bucket that straddles a bound counts
+    // above it, so each count is exact to the histogram's resolution.
+    public long[] cumulativeCounts(long[] upperBounds) {
+        long[] cumulative = new long[upperBounds.length + 1];
+        int bound = 0;
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = counts.get(i);
+            if (count == 0) {
+                continue;
+            }
+            while (bound < upperBounds.length && highestValueIn(i) > upperBounds[bound]) {
+                cumulative[bound++] = seen;
+            }
+            seen += count;
+        }
+        while (bound <= upperBounds.length) {
+            cumulative[bound++] = seen;
+        }
+        return cumulative;
+    }
+
+    public long percentile(double percentile) {
+        long count = total.get();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValueIn(i), max.get());
+            }
+        }
+        return max.get();
+    }
+}
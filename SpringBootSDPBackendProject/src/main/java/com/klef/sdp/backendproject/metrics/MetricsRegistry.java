@@ -0,0 +1,31 @@
+package com.klef.sdp.backendproject.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class MetricsRegistry {
+    public static final String ENDPOINT = "endpoint";
+    public static final String SERVICE = "service";
+    public static final String REPOSITORY = "repository";
+
+    private final Map<String, CallMetrics> metrics = new ConcurrentHashMap<>();
+
+    // Callers on hot paths should keep the returned instance rather than looking it up per call
+    public CallMetrics get(String layer, String name) {
+        String key = layer + '|' + name;
+        CallMetrics existing = metrics.get(key);
+        return existing != null ? existing : metrics.computeIfAbsent(key, k -> new CallMetrics(layer, name));
+    }
+
+    public List<CallMetrics> snapshot() {
+        List<CallMetrics> all = new ArrayList<>(metrics.values());
+        all.sort(Comparator.comparing(CallMetrics::getLayer).thenComparing(CallMetrics::getName));
+        return all;
+    }
+}
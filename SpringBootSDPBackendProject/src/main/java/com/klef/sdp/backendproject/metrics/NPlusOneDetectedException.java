@@ -0,0 +1,7 @@
+package com.klef.sdp.backendproject.metrics;
+
+public class NPlusOneDetectedException extends IllegalStateException {
+    public NPlusOneDetectedException(String message) {
+        super(message);
+    }
+}
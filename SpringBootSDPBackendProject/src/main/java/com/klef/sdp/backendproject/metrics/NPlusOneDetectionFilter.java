@@ -0,0 +1,86 @@
+package com.klef.sdp.backendproject.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+// Captures the statements of each request, including lazy loads during response serialization.
+// In fail mode the body is held back until the check has passed, so a flagged request becomes an
+// error response instead of an exception after the client already received a 200. Streamed
+// responses (SSE, exports) mark themselves through ShallowEtagHeaderFilter and are passed through.
+// Registered by MetricsConfig only when the detector is enabled.
+public class NPlusOneDetectionFilter extends OncePerRequestFilter {
+    // Attribute ShallowEtagHeaderFilter.disableContentCaching sets for streaming return values
+    private static final String STREAMING_ATTRIBUTE = ShallowEtagHeaderFilter.class.getName() + ".STREAMING";
+
+    private final NPlusOneDetector detector;
+
+    public NPlusOneDetectionFilter(NPlusOneDetector detector) {
+        this.detector = detector;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        BufferedResponse buffered = detector.isFailMode() ? new BufferedResponse(request, response) : null;
+        detector.begin();
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, buffered != null ? buffered : response);
+            completed = true;
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String endpoint = request.getMethod() + " " + (pattern != null ? pattern : "unmatched");
+            if (completed) {
+                detector.end(endpoint);
+            } else {
+                QueryCapture.stop();
+            }
+        }
+        // Only reached when the check passed; a flagged request's body is discarded with the buffer
+        if (buffered != null) {
+            buffered.copyBodyToResponse();
+        }
+    }
+
+    private static class BufferedResponse extends ContentCachingResponseWrapper {
+        private final HttpServletRequest request;
+
+        private BufferedResponse(HttpServletRequest request, HttpServletResponse response) {
+            super(response);
+            this.request = request;
+        }
+
+        private boolean streaming() {
+            return request.getAttribute(STREAMING_ATTRIBUTE) != null;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            return streaming() ? getResponse().getOutputStream() : super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            return streaming() ? getResponse().getWriter() : super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (streaming()) {
+                getResponse().flushBuffer();
+            } else {
+                super.flushBuffer();
+            }
+        }
+    }
+}
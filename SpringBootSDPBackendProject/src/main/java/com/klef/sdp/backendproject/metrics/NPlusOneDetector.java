@@ -0,0 +1,132 @@
+package com.klef.sdp.backendproject.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Opt-in (foodshare.queries.detector.enabled) check of the statements each request issues.
+// A request is flagged when it issues more than max-statements statements, or repeats one
+// statement shape repeat-threshold times or more. In "log" mode a warning names the endpoint and
+// the repeated SQL; in "fail" mode the request (or test) fails with NPlusOneDetectedException.
+// Per-endpoint totals and the worst shapes seen are kept for the admin report.
+@Component
+public class NPlusOneDetector {
+    private static final Logger log = LoggerFactory.getLogger(NPlusOneDetector.class);
+    private static final int SHAPES_PER_ENDPOINT = 5;
+
+    public enum Mode { log, fail }
+
+    @Value("${foodshare.queries.detector.mode:log}")
+    private Mode mode;
+
+    @Value("${foodshare.queries.detector.max-statements:30}")
+    private int maxStatements;
+
+    @Value("${foodshare.queries.detector.repeat-threshold:5}")
+    private int repeatThreshold;
+
+    private final Map<String, EndpointReport> endpoints = new ConcurrentHashMap<>();
+
+    private static class EndpointReport {
+        private long requests;
+        private long statements;
+        private int maxStatements;
+        private long flagged;
+        // Largest repeat count seen per shape on this endpoint
+        private final Map<String, Integer> repeatedShapes = new LinkedHashMap<>();
+    }
+
+    public boolean isFailMode() {
+        return mode == Mode.fail;
+    }
+
+    public QueryCapture begin() {
+        return QueryCapture.start();
+    }
+
+    // Stops the capture on this thread and checks it; throws in fail mode when it is flagged
+    public void end(String endpoint) {
+        QueryCapture capture = QueryCapture.stop();
+        if (capture == null) {
+            return;
+        }
+        List<Map.Entry<String, Integer>> repeated = capture.repeatedShapes(repeatThreshold);
+        boolean tooMany = capture.getStatements() > maxStatements;
+        boolean flagged = tooMany || !repeated.isEmpty();
+
+        EndpointReport report = endpoints.computeIfAbsent(endpoint, e -> new EndpointReport());
+        synchronized (report) {
+            report.requests++;
+            report.statements += capture.getStatements();
+            report.maxStatements = Math.max(report.maxStatements, capture.getStatements());
+            if (flagged) {
+                report.flagged++;
+            }
+            for (Map.Entry<String, Integer> shape : repeated) {
+                report.repeatedShapes.merge(shape.getKey(), shape.getValue(), Math::max);
+            }
+            if (report.repeatedShapes.size() > SHAPES_PER_ENDPOINT) {
+                trim(report.repeatedShapes);
+            }
+        }
+
+        if (flagged) {
+            String message = describe(endpoint, capture, repeated);
+            if (mode == Mode.fail) {
+                throw new NPlusOneDetectedException(message);
+            }
+            log.warn(message);
+        }
+    }
+
+    private static void trim(Map<String, Integer> shapes) {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(shapes.entrySet());
+        entries.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+        shapes.clear();
+        for (Map.Entry<String, Integer> entry : entries.subList(0, SHAPES_PER_ENDPOINT)) {
+            shapes.put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private String describe(String endpoint, QueryCapture capture, List<Map.Entry<String, Integer>> repeated) {
+        StringBuilder message = new StringBuilder()
+                .append(endpoint).append(" issued ").append(capture.getStatements()).append(" statements");
+        if (capture.getStatements() > maxStatements) {
+            message.append(" (limit ").append(maxStatements).append(')');
+        }
+        for (Map.Entry<String, Integer> shape : repeated) {
+            message.append("; repeated ").append(shape.getValue()).append("x: ").append(shape.getKey());
+        }
+        return message.toString();
+    }
+
+    public List<Map<String, Object>> report() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Map.Entry<String, EndpointReport> entry : endpoints.entrySet()) {
+            EndpointReport report = entry.getValue();
+            synchronized (report) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("endpoint", entry.getKey());
+                row.put("requests", report.requests);
+                row.put("avgStatements", report.requests == 0 ? 0.0 : (double) report.statements / report.requests);
+                row.put("maxStatements", report.maxStatements);
+                row.put("flaggedRequests", report.flagged);
+                row.put("repeatedShapes", new LinkedHashMap<>(report.repeatedShapes));
+                rows.add(row);
+            }
+        }
+        rows.sort((a, b) -> Long.compare((Long) b.get("flaggedRequests"), (Long) a.get("flaggedRequests")));
+        return rows;
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+}
@@ -0,0 +1,75 @@
+package com.klef.sdp.backendproject.metrics;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Prometheus text exposition format (version 0.0.4). Latency is exported as a histogram in seconds
+// with cumulative buckets, so quantiles are taken over a recent window on the server
+// (histogram_quantile over rate()) rather than over everything since the process started.
+public final class PrometheusFormatter {
+    // Bucket upper bounds in microseconds, 100 us to 10 s
+    private static final long[] BUCKET_MICROS = {100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000,
+            100_000, 250_000, 500_000, 1_000_000, 2_500_000, 5_000_000, 10_000_000};
+    private static final String[] BUCKET_LABELS = new String[BUCKET_MICROS.length];
+
+    static {
+        for (int i = 0; i < BUCKET_MICROS.length; i++) {
+            BUCKET_LABELS[i] = BigDecimal.valueOf(BUCKET_MICROS[i], 6).stripTrailingZeros().toPlainString();
+        }
+    }
+
+    private PrometheusFormatter() {
+    }
+
+    public static String format(List<CallMetrics> metrics) {
+        StringBuilder out = new StringBuilder(metrics.size() * 512);
+        out.append("# HELP foodshare_call_latency_seconds Latency of endpoints, service and repository methods\n");
+        out.append("# TYPE foodshare_call_latency_seconds histogram\n");
+        for (CallMetrics call : metrics) {
+            LatencyHistogram latency = call.getLatency();
+            String labels = labels(call);
+            long[] cumulative = latency.cumulativeCounts(BUCKET_MICROS);
+            for (int i = 0; i < BUCKET_LABELS.length; i++) {
+                out.append("foodshare_call_latency_seconds_bucket{").append(labels)
+                        .append(",le=\"").append(BUCKET_LABELS[i]).append("\"} ")
+                        .append(cumulative[i]).append('\n');
+            }
+            // +Inf and _count come from the same pass over the buckets so they always agree
+            long count = cumulative[BUCKET_LABELS.length];
+            out.append("foodshare_call_latency_seconds_bucket{").append(labels).append(",le=\"+Inf\"} ")
+                    .append(count).append('\n');
+            out.append("foodshare_call_latency_seconds_sum{").append(labels).append("} ")
+                    .append(seconds(latency.sum())).append('\n');
+            out.append("foodshare_call_latency_seconds_count{").append(labels).append("} ")
+                    .append(count).append('\n');
+        }
+        counter(out, metrics, "foodshare_call_errors_total", "Calls that threw or returned a 5xx status", Counter.ERRORS);
+        counter(out, metrics, "foodshare_sql_statements_total", "SQL statements prepared by Hibernate during the call", Counter.STATEMENTS);
+        counter(out, metrics, "foodshare_rows_hydrated_total", "Entities loaded by Hibernate during the call", Counter.ROWS);
+        return out.toString();
+    }
+
+    private enum Counter { ERRORS, STATEMENTS, ROWS }
+
+    private static void counter(StringBuilder out, List<CallMetrics> metrics, String name, String help, Counter counter) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" counter\n");
+        for (CallMetrics call : metrics) {
+            long value = counter == Counter.ERRORS ? call.getErrors()
+                    : counter == Counter.STATEMENTS ? call.getStatements() : call.getRowsHydrated();
+            out.append(name).append('{').append(labels(call)).append("} ").append(value).append('\n');
+        }
+    }
+
+    private static String labels(CallMetrics call) {
+        return "layer=\"" + call.getLayer() + "\",name=\"" + escape(call.getName()) + "\"";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static double seconds(long micros) {
+        return micros / 1_000_000.0;
+    }
+}
@@ -0,0 +1,91 @@
+package com.klef.sdp.backendproject.metrics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// The SQL statements one request (or one test) issued on its thread, grouped by shape: the SQL
+// with literals and IN-list lengths normalized away, so the same query for different ids counts
+// as one shape. A shape repeated many times in one request is the signature of an N+1 query.
+public final class QueryCapture {
+    private static final ThreadLocal<QueryCapture> ACTIVE = new ThreadLocal<>();
+    // Bounds memory for requests that generate unusual numbers of distinct statements
+    private static final int MAX_SHAPES = 256;
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private int statements;
+    private int untrackedStatements;
+
+    private QueryCapture() {
+    }
+
+    // Starts capturing on this thread, replacing any capture already running
+    public static QueryCapture start() {
+        QueryCapture capture = new QueryCapture();
+        ACTIVE.set(capture);
+        return capture;
+    }
+
+    public static QueryCapture stop() {
+        QueryCapture capture = ACTIVE.get();
+        ACTIVE.remove();
+        return capture;
+    }
+
+    static void onStatement(String sql) {
+        QueryCapture capture = ACTIVE.get();
+        if (capture != null) {
+            capture.record(sql);
+        }
+    }
+
+    private void record(String sql) {
+        statements++;
+        String shape = shapeOf(sql);
+        Integer count = shapes.get(shape);
+        if (count != null) {
+            shapes.put(shape, count + 1);
+        } else if (shapes.size() < MAX_SHAPES) {
+            shapes.put(shape, 1);
+        } else {
+            untrackedStatements++;
+        }
+    }
+
+    public static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (?...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public int getUntrackedStatements() {
+        return untrackedStatements;
+    }
+
+    public Map<String, Integer> getShapes() {
+        return shapes;
+    }
+
+    // Shapes issued at least threshold times, most repeated first
+    public List<Map.Entry<String, Integer>> repeatedShapes(int threshold) {
+        List<Map.Entry<String, Integer>> repeated = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : shapes.entrySet()) {
+            if (entry.getValue() >= threshold) {
+                repeated.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+        repeated.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+        return repeated;
+    }
+}
@@ -0,0 +1,34 @@
+package com.klef.sdp.backendproject.metrics;
+
+// Per-thread running totals of SQL statements prepared by Hibernate and entities it loaded.
+// Instrumented calls read them before and after to attribute the difference to themselves, so
+// a service method's counts include the repository calls it made.
+public final class QueryCounters {
+    private static final ThreadLocal<QueryCounters> CURRENT = ThreadLocal.withInitial(QueryCounters::new);
+
+    private long statements;
+    private long rowsHydrated;
+
+    private QueryCounters() {
+    }
+
+    public static QueryCounters current() {
+        return CURRENT.get();
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getRowsHydrated() {
+        return rowsHydrated;
+    }
+
+    void statementPrepared() {
+        statements++;
+    }
+
+    void entityLoaded() {
+        rowsHydrated++;
+    }
+}
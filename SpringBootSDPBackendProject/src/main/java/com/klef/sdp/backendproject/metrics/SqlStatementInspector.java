@@ -0,0 +1,15 @@
+package com.klef.sdp.backendproject.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Registered as hibernate.session_factory.statement_inspector; sees every SQL string Hibernate
+// prepares (HQL, criteria and native queries, but not JdbcTemplate) and leaves it unchanged.
+// Also feeds the N+1 detector when a QueryCapture is running on the thread.
+public class SqlStatementInspector implements StatementInspector {
+    @Override
+    public String inspect(String sql) {
+        QueryCounters.current().statementPrepared();
+        QueryCapture.onStatement(sql);
+        return sql;
+    }
+}
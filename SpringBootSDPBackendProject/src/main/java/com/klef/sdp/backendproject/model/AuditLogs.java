@@ -0,0 +1,93 @@
+package com.klef.sdp.backendproject.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "audit_logs",
+       indexes = {
+           @Index(name = "idx_audit_logs_created", columnList = "created_at, log_id"),
+           @Index(name = "idx_audit_logs_actor", columnList = "actor_id, created_at"),
+           @Index(name = "idx_audit_logs_target", columnList = "target_type, target_id, created_at")
+       })
+public class AuditLogs {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "log_id")
+    private Integer log_id;
+
+    @Column(name = "actor_id", length = 36, nullable = false)
+    private String actor_id;
+
+    @Column(name = "action", length = 64, nullable = false)
+    private String action;
+
+    @Column(name = "target_type", length = 32, nullable = false)
+    private String target_type;
+
+    @Column(name = "target_id", length = 36, nullable = false)
+    private String target_id;
+
+    @Column(name = "details", length = 2000)
+    private String details;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime created_at;
+
+    // Getters and Setters
+    public Integer getLog_id() {
+        return log_id;
+    }
+
+    public void setLog_id(Integer log_id) {
+        this.log_id = log_id;
+    }
+
+    public String getActor_id() {
+        return actor_id;
+    }
+
+    public void setActor_id(String actor_id) {
+        this.actor_id = actor_id;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public String getTarget_type() {
+        return target_type;
+    }
+
+    public void setTarget_type(String target_type) {
+        this.target_type = target_type;
+    }
+
+    public String getTarget_id() {
+        return target_id;
+    }
+
+    public void setTarget_id(String target_id) {
+        this.target_id = target_id;
+    }
+
+    public String getDetails() {
+        return details;
+    }
+
+    public void setDetails(String details) {
+        this.details = details;
+    }
+
+    public LocalDateTime getCreated_at() {
+        return created_at;
+    }
+
+    public void setCreated_at(LocalDateTime created_at) {
+        this.created_at = created_at;
+    }
+}
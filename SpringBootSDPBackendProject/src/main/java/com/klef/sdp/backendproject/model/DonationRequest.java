@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "donation_requests")
+@Table(name = "donation_requests",
+       indexes = {
+           @Index(name = "idx_donation_requests_donation_status", columnList = "donation_id, status"),
+           @Index(name = "idx_donation_requests_beneficiary", columnList = "beneficiary_id")
+       })
 public class DonationRequest {
     @Id
     @Column(name = "request_id", length = 36)
@@ -25,6 +29,10 @@ public class DonationRequest {
     @Column(name = "requested_at", nullable = false)
     private LocalDateTime requested_at;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     public enum Status {
         pending, approved, rejected, cancelled
     }
@@ -69,4 +77,12 @@ public class DonationRequest {
     public void setRequested_at(LocalDateTime requested_at) {
         this.requested_at = requested_at;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.klef.sdp.backendproject.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "impact_metrics",
+       uniqueConstraints = @UniqueConstraint(name = "uk_impact_metrics_user", columnNames = "user_id"))
+public class ImpactMetrics {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "metric_id")
+    private Integer metric_id;
+
+    @Column(name = "user_id", length = 36, nullable = false)
+    private String user_id;
+
+    @Column(name = "food_saved_kg", nullable = false)
+    private double food_saved_kg;
+
+    @Column(name = "meals_served", nullable = false)
+    private long meals_served;
+
+    @Column(name = "carbon_offset_kg", nullable = false)
+    private double carbon_offset_kg;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updated_at;
+
+    // Getters and Setters
+    public Integer getMetric_id() {
+        return metric_id;
+    }
+
+    public void setMetric_id(Integer metric_id) {
+        this.metric_id = metric_id;
+    }
+
+    public String getUser_id() {
+        return user_id;
+    }
+
+    public void setUser_id(String user_id) {
+        this.user_id = user_id;
+    }
+
+    public double getFood_saved_kg() {
+        return food_saved_kg;
+    }
+
+    public void setFood_saved_kg(double food_saved_kg) {
+        this.food_saved_kg = food_saved_kg;
+    }
+
+    public long getMeals_served() {
+        return meals_served;
+    }
+
+    public void setMeals_served(long meals_served) {
+        this.meals_served = meals_served;
+    }
+
+    public double getCarbon_offset_kg() {
+        return carbon_offset_kg;
+    }
+
+    public void setCarbon_offset_kg(double carbon_offset_kg) {
+        this.carbon_offset_kg = carbon_offset_kg;
+    }
+
+    public LocalDateTime getUpdated_at() {
+        return updated_at;
+    }
+
+    public void setUpdated_at(LocalDateTime updated_at) {
+        this.updated_at = updated_at;
+    }
+}
@@ -0,0 +1,96 @@
+package com.klef.sdp.backendproject.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "notifications",
+       indexes = {
+           @Index(name = "idx_notifications_user_created", columnList = "user_id, created_at"),
+           @Index(name = "idx_notifications_user_read", columnList = "user_id, is_read")
+       })
+public class Notifications {
+    @Id
+    @Column(name = "notification_id", length = 36)
+    private String notification_id;
+
+    @Column(name = "user_id", length = 36, nullable = false)
+    private String user_id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private Type type;
+
+    @Column(name = "message", length = 500, nullable = false)
+    private String message;
+
+    @Column(name = "reference_id", length = 36)
+    private String reference_id;
+
+    @Column(name = "is_read", nullable = false)
+    private boolean is_read;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime created_at;
+
+    public enum Type {
+        donation_status, expiry_alert, request_update
+    }
+
+    // Getters and Setters
+    public String getNotification_id() {
+        return notification_id;
+    }
+
+    public void setNotification_id(String notification_id) {
+        this.notification_id = notification_id;
+    }
+
+    public String getUser_id() {
+        return user_id;
+    }
+
+    public void setUser_id(String user_id) {
+        this.user_id = user_id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getReference_id() {
+        return reference_id;
+    }
+
+    public void setReference_id(String reference_id) {
+        this.reference_id = reference_id;
+    }
+
+    public boolean isIs_read() {
+        return is_read;
+    }
+
+    public void setIs_read(boolean is_read) {
+        this.is_read = is_read;
+    }
+
+    public LocalDateTime getCreated_at() {
+        return created_at;
+    }
+
+    public void setCreated_at(LocalDateTime created_at) {
+        this.created_at = created_at;
+    }
+}
@@ -0,0 +1,122 @@
+package com.klef.sdp.backendproject.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "platform_kpis",
+       indexes = @Index(name = "idx_platform_kpis_bucket", columnList = "bucket_start", unique = true))
+public class PlatformKPIs {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "kpi_id")
+    private Integer kpi_id;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucket_start;
+
+    @Column(name = "total_donations", nullable = false)
+    private long total_donations;
+
+    @Column(name = "total_food_saved_kg", nullable = false)
+    private double total_food_saved_kg;
+
+    @Column(name = "total_meals_served", nullable = false)
+    private long total_meals_served;
+
+    @Column(name = "total_carbon_offset_kg", nullable = false)
+    private double total_carbon_offset_kg;
+
+    @Column(name = "active_donors", nullable = false)
+    private long active_donors;
+
+    @Column(name = "active_beneficiaries", nullable = false)
+    private long active_beneficiaries;
+
+    @Column(name = "median_pickup_minutes")
+    private Double median_pickup_minutes;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updated_at;
+
+    // Getters and Setters
+    public Integer getKpi_id() {
+        return kpi_id;
+    }
+
+    public void setKpi_id(Integer kpi_id) {
+        this.kpi_id = kpi_id;
+    }
+
+    public LocalDateTime getBucket_start() {
+        return bucket_start;
+    }
+
+    public void setBucket_start(LocalDateTime bucket_start) {
+        this.bucket_start = bucket_start;
+    }
+
+    public long getTotal_donations() {
+        return total_donations;
+    }
+
+    public void setTotal_donations(long total_donations) {
+        this.total_donations = total_donations;
+    }
+
+    public double getTotal_food_saved_kg() {
+        return total_food_saved_kg;
+    }
+
+    public void setTotal_food_saved_kg(double total_food_saved_kg) {
+        this.total_food_saved_kg = total_food_saved_kg;
+    }
+
+    public long getTotal_meals_served() {
+        return total_meals_served;
+    }
+
+    public void setTotal_meals_served(long total_meals_served) {
+        this.total_meals_served = total_meals_served;
+    }
+
+    public double getTotal_carbon_offset_kg() {
+        return total_carbon_offset_kg;
+    }
+
+    public void setTotal_carbon_offset_kg(double total_carbon_offset_kg) {
+        this.total_carbon_offset_kg = total_carbon_offset_kg;
+    }
+
+    public long getActive_donors() {
+        return active_donors;
+    }
+
+    public void setActive_donors(long active_donors) {
+        this.active_donors = active_donors;
+    }
+
+    public long getActive_beneficiaries() {
+        return active_beneficiaries;
+    }
+
+    public void setActive_beneficiaries(long active_beneficiaries) {
+        this.active_beneficiaries = active_beneficiaries;
+    }
+
+    public Double getMedian_pickup_minutes() {
+        return median_pickup_minutes;
+    }
+
+    public void setMedian_pickup_minutes(Double median_pickup_minutes) {
+        this.median_pickup_minutes = median_pickup_minutes;
+    }
+
+    public LocalDateTime getUpdated_at() {
+        return updated_at;
+    }
+
+    public void setUpdated_at(LocalDateTime updated_at) {
+        this.updated_at = updated_at;
+    }
+}
@@ -1,9 +1,38 @@
 package com.klef.sdp.backendproject.repository;
 
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.klef.sdp.backendproject.model.AuditLogs;
 
-public interface AuditLogsRepository extends JpaRepository<AuditLogs, Integer>  {
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
+public interface AuditLogsRepository extends JpaRepository<AuditLogs, Integer>  {
+    // Filters for KeysetPageQuery: the given actor and target, within [from, to); only the ones that
+    // are set become predicates
+    static Specification<AuditLogs> filters(String actorId, String targetType, String targetId,
+                                            LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (actorId != null) {
+                predicates.add(cb.equal(root.get("actor_id"), actorId));
+            }
+            if (targetType != null) {
+                predicates.add(cb.equal(root.get("target_type"), targetType));
+            }
+            if (targetId != null) {
+                predicates.add(cb.equal(root.get("target_id"), targetId));
+            }
+            if (from != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("created_at"), from));
+            }
+            if (to != null) {
+                predicates.add(cb.lessThan(root.get("created_at"), to));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
 }
@@ -1,11 +1,21 @@
 package com.klef.sdp.backendproject.repository;
 
+import com.klef.sdp.backendproject.dto.DonationRequestResponseDTO;
 import com.klef.sdp.backendproject.model.DonationRequest;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface DonationRequestRepository extends JpaRepository<DonationRequest, String> {
@@ -14,4 +24,69 @@ public interface DonationRequestRepository extends JpaRepository<DonationRequest
 
     @Query("SELECT dr FROM DonationRequest dr WHERE dr.beneficiary.user_id = ?1 AND dr.status = ?2")
     List<DonationRequest> findByBeneficiaryUserIdAndStatus(String userId, DonationRequest.Status status);
+
+    // Listing rows built straight from columns: the donation and beneficiary ids come from the
+    // foreign keys, so no Donations or Users entity is loaded. A null status means all statuses.
+    @Query("SELECT new com.klef.sdp.backendproject.dto.DonationRequestResponseDTO(dr.request_id, " +
+           "dr.donation.donation_id, dr.beneficiary.user_id, dr.status, dr.requested_at) " +
+           "FROM DonationRequest dr WHERE dr.beneficiary.user_id = ?1 AND (?2 IS NULL OR dr.status = ?2) " +
+           "ORDER BY dr.requested_at DESC, dr.request_id DESC")
+    List<DonationRequestResponseDTO> findResponsesByBeneficiary(String userId, DonationRequest.Status status);
+
+    // Same rows plus the donation summary the beneficiary dashboard shows, in one joined query
+    @Query("SELECT new com.klef.sdp.backendproject.dto.DonationRequestResponseDTO(dr.request_id, " +
+           "d.donation_id, dr.beneficiary.user_id, dr.status, dr.requested_at, " +
+           "d.food_description, d.quantity_kg, d.pickup_window_start, d.pickup_window_end) " +
+           "FROM DonationRequest dr JOIN dr.donation d " +
+           "WHERE dr.beneficiary.user_id = ?1 AND (?2 IS NULL OR dr.status = ?2) " +
+           "ORDER BY dr.requested_at DESC, dr.request_id DESC")
+    List<DonationRequestResponseDTO> findResponsesWithDonationByBeneficiary(String userId, DonationRequest.Status status);
+
+    // Donor inbox: requests on any of the donor's donations, newest first; with a cursor,
+    // continues strictly after (afterRequestedAt, afterId). A null status means all statuses.
+    @Query("SELECT new com.klef.sdp.backendproject.dto.DonationRequestResponseDTO(dr.request_id, " +
+           "d.donation_id, dr.beneficiary.user_id, dr.status, dr.requested_at, " +
+           "d.food_description, d.quantity_kg, d.pickup_window_start, d.pickup_window_end) " +
+           "FROM DonationRequest dr JOIN dr.donation d " +
+           "WHERE d.user.user_id = ?1 AND (?2 IS NULL OR dr.status = ?2) " +
+           "AND (?3 IS NULL OR dr.requested_at < ?3 OR (dr.requested_at = ?3 AND dr.request_id < ?4)) " +
+           "ORDER BY dr.requested_at DESC, dr.request_id DESC")
+    List<DonationRequestResponseDTO> findInboxPage(String donorId, DonationRequest.Status status,
+                                                   LocalDateTime afterRequestedAt, String afterId, Pageable pageable);
+
+    // Inbox totals per request status: status, count
+    @Query("SELECT dr.status, COUNT(dr) FROM DonationRequest dr JOIN dr.donation d " +
+           "WHERE d.user.user_id = ?1 GROUP BY dr.status")
+    List<Object[]> countInboxByStatus(String donorId);
+
+    @Modifying
+    @Query("UPDATE DonationRequest dr SET dr.status = com.klef.sdp.backendproject.model.DonationRequest.Status.rejected, " +
+           "dr.version = dr.version + 1 " +
+           "WHERE dr.donation.donation_id = ?1 AND dr.request_id <> ?2 " +
+           "AND dr.status = com.klef.sdp.backendproject.model.DonationRequest.Status.pending")
+    int rejectOtherPending(String donationId, String approvedRequestId);
+
+    @Query("SELECT dr.donation.donation_id, dr.beneficiary.user_id FROM DonationRequest dr " +
+           "WHERE dr.donation.donation_id IN ?1 AND dr.status = com.klef.sdp.backendproject.model.DonationRequest.Status.pending")
+    List<Object[]> findPendingBeneficiaries(Collection<String> donationIds);
+
+    @Modifying
+    @Query("UPDATE DonationRequest dr SET dr.status = com.klef.sdp.backendproject.model.DonationRequest.Status.cancelled, " +
+           "dr.version = dr.version + 1 " +
+           "WHERE dr.donation.donation_id IN ?1 AND dr.status = com.klef.sdp.backendproject.model.DonationRequest.Status.pending")
+    int cancelPending(Collection<String> donationIds);
+
+    // Approved requests still waiting for pickup: request, donation, donor, beneficiary, window start, window end
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT dr.request_id, d.donation_id, d.user.user_id, dr.beneficiary.user_id, " +
+           "d.pickup_window_start, d.pickup_window_end FROM DonationRequest dr JOIN dr.donation d " +
+           "WHERE dr.status = com.klef.sdp.backendproject.model.DonationRequest.Status.approved " +
+           "AND d.status = com.klef.sdp.backendproject.model.Donations.Status.requested")
+    Stream<Object[]> streamAwaitingPickup();
+
+    @Modifying
+    @Query("UPDATE DonationRequest dr SET dr.status = com.klef.sdp.backendproject.model.DonationRequest.Status.cancelled, " +
+           "dr.version = dr.version + 1 " +
+           "WHERE dr.request_id = ?1 AND dr.status = com.klef.sdp.backendproject.model.DonationRequest.Status.approved")
+    int cancelApproved(String requestId);
 }
\ No newline at end of file
@@ -2,14 +2,41 @@ package com.klef.sdp.backendproject.repository;
 
 import com.klef.sdp.backendproject.model.Donations;
 import com.klef.sdp.backendproject.model.Users;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface DonationsRepository extends JpaRepository<Donations, String> {
+    interface TopDonorView {
+        String getUserId();
+        String getUsername();
+        long getTotalDonations();
+    }
+
+    interface CityImpactView {
+        String getCity();
+        Double getFoodSavedKg();
+    }
+
     @Query("SELECT d FROM Donations d WHERE d.user.user_id = ?1")
     List<Donations> findByUserUserId(String userId);
 
@@ -20,4 +47,95 @@ public interface DonationsRepository extends JpaRepository<Donations, String> {
 
     @Query("SELECT u FROM Users u WHERE u.role = 'beneficiary' AND u.is_active = true")
     List<Users> findActiveBeneficiaries();
+
+    @Query("SELECT u.user_id, u.username, u.city, d.status, COUNT(d), SUM(d.quantity_kg) " +
+           "FROM Donations d JOIN d.user u " +
+           "GROUP BY u.user_id, u.username, u.city, d.status")
+    List<Object[]> aggregateByDonorCityAndStatus();
+
+    @Query("SELECT SUM(d.quantity_kg) FROM Donations d WHERE d.status = ?1")
+    Double sumQuantityByStatus(Donations.Status status);
+
+    @Query("SELECT u.user_id AS userId, u.username AS username, COUNT(d) AS totalDonations " +
+           "FROM Donations d JOIN d.user u " +
+           "GROUP BY u.user_id, u.username " +
+           "ORDER BY COUNT(d) DESC, u.user_id")
+    List<TopDonorView> findTopDonors(Pageable pageable);
+
+    @Query("SELECT u.city AS city, SUM(d.quantity_kg) AS foodSavedKg " +
+           "FROM Donations d JOIN d.user u " +
+           "WHERE d.status = ?1 AND u.city IS NOT NULL " +
+           "GROUP BY u.city")
+    List<CityImpactView> sumQuantityByDonorCity(Donations.Status status);
+
+    // Admin listing filters for KeysetPageQuery; only the ones that are set become predicates. Row
+    // queries fetch the donor with the donation, since every listed donation is mapped with its donor.
+    @SuppressWarnings("unchecked")
+    static Specification<Donations> listingFilters(Donations.Status status, String city) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            if (query.getResultType() == Long.class) {
+                if (city != null) {
+                    predicates.add(cb.equal(root.join("user").get("city"), city));
+                }
+            } else {
+                Join<Donations, Users> user = (Join<Donations, Users>) root.<Donations, Users>fetch("user");
+                if (city != null) {
+                    predicates.add(cb.equal(user.get("city"), city));
+                }
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT d FROM Donations d JOIN FETCH d.user u " +
+           "WHERE (?1 IS NULL OR d.status = ?1) AND (?2 IS NULL OR u.city = ?2) " +
+           "ORDER BY d.created_at DESC, d.donation_id DESC")
+    Stream<Donations> streamByFilters(Donations.Status status, String city);
+
+    @Query("SELECT d FROM Donations d WHERE d.status = ?1 " +
+           "AND d.latitude BETWEEN ?2 AND ?3 AND d.longitude BETWEEN ?4 AND ?5")
+    List<Donations> findByStatusInBox(Donations.Status status, double minLat, double maxLat, double minLon, double maxLon);
+
+    @Query("SELECT DISTINCT d.user.user_id FROM Donations d")
+    List<String> findDonorIds();
+
+    @Query("SELECT d.user.user_id, SUM(d.quantity_kg) FROM Donations d " +
+           "WHERE d.status = ?1 AND d.user.user_id IN ?2 " +
+           "GROUP BY d.user.user_id")
+    List<Object[]> sumQuantityByDonors(Donations.Status status, Collection<String> userIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Donations d WHERE d.donation_id = ?1")
+    Optional<Donations> findByIdForUpdate(String donationId);
+
+    // Compare-and-set on status: only one caller can move a donation out of available
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Donations d SET d.status = com.klef.sdp.backendproject.model.Donations.Status.requested, d.updated_at = ?2 " +
+           "WHERE d.donation_id = ?1 AND d.status = com.klef.sdp.backendproject.model.Donations.Status.available")
+    int claimIfAvailable(String donationId, LocalDateTime updatedAt);
+
+    // Oldest first so a backlog drains in expiry order; served by an index on (status, expiry_date)
+    @Query("SELECT d.donation_id FROM Donations d WHERE d.status = ?1 AND d.expiry_date < ?2 ORDER BY d.expiry_date")
+    List<String> findIdsByStatusExpiringBefore(Donations.Status status, LocalDateTime cutoff, Pageable pageable);
+
+    @Query("SELECT d FROM Donations d JOIN FETCH d.user WHERE d.donation_id IN ?1")
+    List<Donations> findAllWithUserByIds(Collection<String> donationIds);
+
+    @Query("SELECT d.donation_id FROM Donations d WHERE d.donation_id IN ?1 AND d.status = ?2")
+    List<String> findIdsByIdsAndStatus(Collection<String> donationIds, Donations.Status status);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Donations d SET d.status = com.klef.sdp.backendproject.model.Donations.Status.expired, d.updated_at = ?2 " +
+           "WHERE d.donation_id IN ?1 AND d.status = com.klef.sdp.backendproject.model.Donations.Status.available")
+    int expireAvailable(Collection<String> donationIds, LocalDateTime updatedAt);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Donations d SET d.status = com.klef.sdp.backendproject.model.Donations.Status.available, d.updated_at = ?2 " +
+           "WHERE d.donation_id = ?1 AND d.status = com.klef.sdp.backendproject.model.Donations.Status.requested")
+    int releaseIfRequested(String donationId, LocalDateTime updatedAt);
 }
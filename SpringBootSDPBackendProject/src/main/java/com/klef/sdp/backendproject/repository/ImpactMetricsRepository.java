@@ -1,7 +1,27 @@
 package com.klef.sdp.backendproject.repository;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 
 import com.klef.sdp.backendproject.model.ImpactMetrics;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 public interface ImpactMetricsRepository extends JpaRepository<ImpactMetrics , Integer>{
+    @Query("SELECT m FROM ImpactMetrics m WHERE m.user_id = ?1")
+    Optional<ImpactMetrics> findByUserId(String userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM ImpactMetrics m WHERE m.user_id = ?1")
+    Optional<ImpactMetrics> findByUserIdForUpdate(String userId);
+
+    // Locks in user_id order so two chunks never wait on each other's rows crosswise
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM ImpactMetrics m WHERE m.user_id IN ?1 ORDER BY m.user_id")
+    List<ImpactMetrics> findByUserIdInForUpdate(Collection<String> userIds);
 
+    @Query("SELECT m.user_id FROM ImpactMetrics m")
+    List<String> findAllUserIds();
 }
@@ -0,0 +1,65 @@
+package com.klef.sdp.backendproject.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Page queries for listings ordered by (created_at DESC, id DESC). The filters are built per call
+// and only contain the ones that are set, and a cursor becomes created_at <= ?1 AND (created_at < ?1
+// OR id < ?2): a plain range on created_at that an index on (filters..., created_at, id) can seek
+// into, where a fixed "?1 IS NULL OR ..." query made the database plan for every filter being unset.
+@Repository
+public class KeysetPageQuery {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public <T, I extends Comparable<? super I>> List<T> findPage(Class<T> type, String idAttribute, Specification<T> filters,
+                                                                 LocalDateTime afterCreatedAt, I afterId, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(type);
+        Root<T> root = query.from(type);
+        Path<LocalDateTime> createdAt = root.get("created_at");
+        Path<I> id = root.get(idAttribute);
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filter = filters.toPredicate(root, query, cb);
+        if (filter != null) {
+            predicates.add(filter);
+        }
+        if (afterCreatedAt != null) {
+            predicates.add(cb.lessThanOrEqualTo(createdAt, afterCreatedAt));
+            predicates.add(cb.or(cb.lessThan(createdAt, afterCreatedAt), cb.lessThan(id, afterId)));
+        }
+        query.select(root)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(createdAt), cb.desc(id));
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    public <T> long count(Class<T> type, Specification<T> filters) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(type);
+        Predicate filter = filters.toPredicate(root, query, cb);
+        query.select(cb.count(root));
+        if (filter != null) {
+            query.where(filter);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -2,7 +2,31 @@ package com.klef.sdp.backendproject.repository;
 
 
 import com.klef.sdp.backendproject.model.Notifications;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 public interface NotificationRepository extends JpaRepository<Notifications, String> {
+    // A user's notifications, for KeysetPageQuery
+    static Specification<Notifications> forUser(String userId) {
+        return (root, query, cb) -> cb.equal(root.get("user_id"), userId);
+    }
+
+    @Query("SELECT COUNT(n) FROM Notifications n WHERE n.user_id = ?1")
+    long countByUserId(String userId);
+
+    @Query("SELECT COUNT(n) FROM Notifications n WHERE n.user_id = ?1 AND n.is_read = false")
+    long countUnreadByUserId(String userId);
+
+    @Query("SELECT n.user_id FROM Notifications n WHERE n.notification_id = ?1")
+    String findUserIdById(String notificationId);
+
+    @Modifying
+    @Query("UPDATE Notifications n SET n.is_read = true WHERE n.notification_id = ?1 AND n.is_read = false")
+    int markRead(String notificationId);
+
+    @Modifying
+    @Query("UPDATE Notifications n SET n.is_read = true WHERE n.user_id = ?1 AND n.is_read = false")
+    int markAllRead(String userId);
 }
@@ -1,9 +1,18 @@
 package com.klef.sdp.backendproject.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.klef.sdp.backendproject.model.PlatformKPIs;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 public interface PlatformKPIsRepository extends JpaRepository<PlatformKPIs, Integer>{
+    @Query("SELECT k FROM PlatformKPIs k ORDER BY k.bucket_start DESC")
+    List<PlatformKPIs> findLatest(Pageable pageable);
 
+    @Query("SELECT k FROM PlatformKPIs k WHERE k.bucket_start >= ?1 AND k.bucket_start < ?2 ORDER BY k.bucket_start")
+    List<PlatformKPIs> findByBucketRange(LocalDateTime from, LocalDateTime to, Pageable pageable);
 }
@@ -2,6 +2,7 @@
 package com.klef.sdp.backendproject.repository;
 
 import com.klef.sdp.backendproject.model.Reward;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -18,4 +19,11 @@ public interface RewardRepository extends JpaRepository<Reward, String> {
            "GROUP BY r.user.user_id, u.username " +
            "ORDER BY SUM(r.points) DESC")
     List<Object[]> findTopUsersByPoints();
+
+    // Same order as LeaderboardStore, ties broken by user id
+    @Query("SELECT r.user.user_id, u.username, SUM(r.points) " +
+           "FROM Reward r JOIN r.user u " +
+           "GROUP BY r.user.user_id, u.username " +
+           "ORDER BY SUM(r.points) DESC, r.user.user_id")
+    List<Object[]> findTopUsersByPoints(Pageable pageable);
 }
@@ -1,14 +1,54 @@
 package com.klef.sdp.backendproject.repository;
 
 import com.klef.sdp.backendproject.model.Users;
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
 @Repository
 public interface UsersRepository extends JpaRepository<Users, String> {
     @Query("SELECT u FROM Users u WHERE u.email = ?1 AND u.password_hash = ?2")
     Users findByEmailAndPassword(String email, String password);
 
 	Users findByEmail(String email);
+
+    // Admin listing filters for KeysetPageQuery; only the ones that are set become predicates
+    static Specification<Users> listingFilters(String role, String city, Boolean active) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (role != null) {
+                predicates.add(cb.equal(root.get("role"), role));
+            }
+            if (city != null) {
+                predicates.add(cb.equal(root.get("city"), city));
+            }
+            if (active != null) {
+                predicates.add(cb.equal(root.get("is_active"), active));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    @Query("SELECT COUNT(u) FROM Users u WHERE u.role = ?1 AND u.is_active = ?2")
+    long countByRoleAndActive(String role, boolean active);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT u FROM Users u " +
+           "WHERE (?1 IS NULL OR u.role = ?1) AND (?2 IS NULL OR u.city = ?2) AND (?3 IS NULL OR u.is_active = ?3) " +
+           "ORDER BY u.created_at DESC, u.user_id DESC")
+    Stream<Users> streamByFilters(String role, String city, Boolean active);
+
+    @Query("SELECT u FROM Users u WHERE u.role = 'beneficiary' AND u.is_active = true " +
+           "AND u.latitude BETWEEN ?1 AND ?2 AND u.longitude BETWEEN ?3 AND ?4")
+    List<Users> findActiveBeneficiariesInBox(double minLat, double maxLat, double minLon, double maxLon);
 }
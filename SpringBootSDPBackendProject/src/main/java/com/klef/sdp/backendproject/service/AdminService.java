@@ -0,0 +1,32 @@
+package com.klef.sdp.backendproject.service;
+
+import com.klef.sdp.backendproject.dto.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public interface AdminService {
+    void requireAdmin(String adminUserId);
+    PageResponseDTO<UserResponseDTO> listAllUsers(String adminUserId, String role, String city, Boolean active,
+                                                  String cursor, int page, int size);
+    void exportUsers(String adminUserId, String role, String city, Boolean active, OutputStream out) throws IOException;
+    UserDetailsResponseDTO getUserDetails(String targetUserId, String adminUserId);
+    UserResponseDTO updateUserStatus(String targetUserId, UpdateUserStatusRequestDTO request);
+    PageResponseDTO<DonationResponseDTO> listAllDonations(String adminUserId, String status, String city,
+                                                          String cursor, int page, int size);
+    void exportDonations(String adminUserId, String status, String city, OutputStream out) throws IOException;
+    DonationResponseDTO overrideDonationStatus(String donationId, UpdateDonationStatusRequestDTO request);
+    AnalyticsReportResponseDTO generateAnalyticsReport(String adminUserId);
+    AuditDonationResponseDTO auditDonation(String donationId, AuditDonationRequestDTO request);
+    String rebuildAnalytics(String adminUserId);
+    int backfillImpactMetrics(String adminUserId);
+    Map<String, Object> getCacheStats(String adminUserId);
+    List<Map<String, Object>> getQueryReport(String adminUserId);
+    Map<String, Object> getExpirySweepStats(String adminUserId);
+    Map<String, Object> runExpirySweep(String adminUserId);
+    PageResponseDTO<AuditLogResponseDTO> listAuditLogs(String adminUserId, String actorId, String targetType, String targetId,
+                                                       LocalDateTime from, LocalDateTime to, String cursor, int size);
+}
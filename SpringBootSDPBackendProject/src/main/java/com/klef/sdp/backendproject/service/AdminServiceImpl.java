@@ -1,18 +1,40 @@
 package com.klef.sdp.backendproject.service;
 
+import com.klef.sdp.backendproject.audit.AuditRecorder;
+import com.klef.sdp.backendproject.cache.EntityReadCache;
+import com.klef.sdp.backendproject.cache.PrincipalCache;
 import com.klef.sdp.backendproject.dto.*;
+import com.klef.sdp.backendproject.event.UserChangedEvent;
+import com.klef.sdp.backendproject.metrics.NPlusOneDetector;
+import com.klef.sdp.backendproject.model.AuditLogs;
 import com.klef.sdp.backendproject.model.Donations;
+import com.klef.sdp.backendproject.model.Notifications;
 import com.klef.sdp.backendproject.model.Users;
+import com.klef.sdp.backendproject.repository.AuditLogsRepository;
 import com.klef.sdp.backendproject.repository.DonationsRepository;
+import com.klef.sdp.backendproject.repository.KeysetPageQuery;
 import com.klef.sdp.backendproject.repository.UsersRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class AdminServiceImpl implements AdminService {
@@ -22,9 +44,66 @@ public class AdminServiceImpl implements AdminService {
     @Autowired
     private DonationsRepository donationsRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private EntityReadCache entityReadCache;
+
+    @Autowired
+    private DonationExpirySweeper donationExpirySweeper;
+
+    @Autowired
+    private PickupWindowScheduler pickupWindowScheduler;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private LiveUpdateBroker liveUpdateBroker;
+
+    @Autowired
+    private DonationSearchIndex donationSearchIndex;
+
+    @Autowired
+    private DonationAnalyticsStore analyticsStore;
+
+    @Autowired
+    private AnalyticsReportQuery analyticsReportQuery;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ImpactMetricsProjector impactMetricsProjector;
+
+    @Autowired
+    private AuditRecorder auditRecorder;
+
+    @Autowired
+    private AuditLogsRepository auditLogsRepository;
+
+    @Autowired
+    private NPlusOneDetector nPlusOneDetector;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private KeysetPageQuery keysetPageQuery;
+
+    @Autowired
+    private DonationClaimService donationClaimService;
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int EXPORT_FLUSH_ROWS = 500;
+
     private void validateAdmin(String adminUserId) {
-        Optional<Users> adminOptional = usersRepository.findById(adminUserId);
-        if (!adminOptional.isPresent() || !"admin".equals(adminOptional.get().getRole())) {
+        PrincipalCache.Principal admin = principalCache.get(adminUserId);
+        if (admin == null || !admin.hasRole("admin")) {
             throw new IllegalArgumentException("User is not an admin");
         }
     }
@@ -74,17 +153,99 @@ public class AdminServiceImpl implements AdminService {
         return dto;
     }
 
+    private <T> PageResponseDTO<T> toPage(List<T> content, int page, int size, long totalElements, KeysetCursor next) {
+        PageResponseDTO<T> response = new PageResponseDTO<>();
+        response.setContent(content);
+        response.setPage(page);
+        response.setSize(size);
+        response.setTotalElements(totalElements);
+        response.setTotalPages(totalElements < 0 ? -1 : (int) ((totalElements + size - 1) / size));
+        response.setNextCursor(content.size() == size && next != null ? next.encode() : null);
+        return response;
+    }
+
+    private int boundedPageSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    // A cursor continues from the previous page; without one, fall back to the page offset
+    private PageRequest pageRequest(KeysetCursor after, int page, int pageSize) {
+        if (page < 0) {
+            throw new IllegalArgumentException("page must be non-negative");
+        }
+        return after != null ? PageRequest.of(0, pageSize) : PageRequest.of(page, pageSize);
+    }
+
+    // Only the first page counts the matches; later pages report -1 and the client keeps the first total
+    private static boolean isFirstPage(KeysetCursor after, int page) {
+        return after == null && page == 0;
+    }
+
+    private Donations.Status parseDonationStatus(String status) {
+        if (status == null || status.isEmpty()) {
+            return null;
+        }
+        try {
+            return Donations.Status.valueOf(status);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid status: " + status);
+        }
+    }
+
+    // Writes one JSON document per line as rows come off the cursor. The persistence context is
+    // cleared every few hundred rows so memory stays flat regardless of table size.
+    private <E> void writeNdjson(Stream<E> rows, Function<E, Object> mapper, OutputStream out) throws IOException {
+        int written = 0;
+        Iterator<E> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            out.write(objectMapper.writeValueAsBytes(mapper.apply(iterator.next())));
+            out.write('\n');
+            if (++written % EXPORT_FLUSH_ROWS == 0) {
+                entityManager.clear();
+                out.flush();
+            }
+        }
+        out.flush();
+    }
+
     @Override
-    public List<UserResponseDTO> listAllUsers(String adminUserId) {
+    public void requireAdmin(String adminUserId) {
         validateAdmin(adminUserId);
-        List<Users> users = usersRepository.findAll();
-        return users.stream().map(this::mapToUserResponseDTO).collect(Collectors.toList());
+    }
+
+    @Override
+    public PageResponseDTO<UserResponseDTO> listAllUsers(String adminUserId, String role, String city, Boolean active,
+                                                         String cursor, int page, int size) {
+        validateAdmin(adminUserId);
+        int pageSize = boundedPageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Specification<Users> filters = UsersRepository.listingFilters(role, city, active);
+        List<Users> users = keysetPageQuery.findPage(Users.class, "user_id", filters,
+                after != null ? after.getCreatedAt() : null, after != null ? after.getId() : null,
+                pageRequest(after, page, pageSize));
+        long total = isFirstPage(after, page) ? keysetPageQuery.count(Users.class, filters) : -1;
+        KeysetCursor next = users.isEmpty() ? null
+                : new KeysetCursor(users.get(users.size() - 1).getCreated_at(), users.get(users.size() - 1).getUser_id());
+        return toPage(users.stream().map(this::mapToUserResponseDTO).collect(Collectors.toList()),
+                page, pageSize, total, next);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportUsers(String adminUserId, String role, String city, Boolean active, OutputStream out) throws IOException {
+        validateAdmin(adminUserId);
+        try (Stream<Users> users = usersRepository.streamByFilters(role, city, active)) {
+            writeNdjson(users, this::mapToUserResponseDTO, out);
+        }
     }
 
     @Override
     public UserDetailsResponseDTO getUserDetails(String targetUserId, String adminUserId) {
         validateAdmin(adminUserId);
-        Optional<Users> userOptional = usersRepository.findById(targetUserId);
+        Optional<Users> userOptional = entityReadCache.findUser(targetUserId);
         if (!userOptional.isPresent()) {
             throw new IllegalArgumentException("User not found with ID: " + targetUserId);
         }
@@ -100,14 +261,38 @@ public class AdminServiceImpl implements AdminService {
         Users user = userOptional.get();
         user.setIs_active(request.isActive());
         Users updatedUser = usersRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(updatedUser));
+        auditRecorder.record(request.getUserId(), "user.status", "user", targetUserId,
+                Map.of("is_active", request.isActive()));
         return mapToUserResponseDTO(updatedUser);
     }
 
     @Override
-    public List<DonationResponseDTO> listAllDonations(String adminUserId) {
+    public PageResponseDTO<DonationResponseDTO> listAllDonations(String adminUserId, String status, String city,
+                                                                 String cursor, int page, int size) {
+        validateAdmin(adminUserId);
+        int pageSize = boundedPageSize(size);
+        Donations.Status donationStatus = parseDonationStatus(status);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Specification<Donations> filters = DonationsRepository.listingFilters(donationStatus, city);
+        List<Donations> donations = keysetPageQuery.findPage(Donations.class, "donation_id", filters,
+                after != null ? after.getCreatedAt() : null, after != null ? after.getId() : null,
+                pageRequest(after, page, pageSize));
+        long total = isFirstPage(after, page) ? keysetPageQuery.count(Donations.class, filters) : -1;
+        KeysetCursor next = donations.isEmpty() ? null
+                : new KeysetCursor(donations.get(donations.size() - 1).getCreated_at(),
+                        donations.get(donations.size() - 1).getDonation_id());
+        return toPage(donations.stream().map(this::mapToDonationResponseDTO).collect(Collectors.toList()),
+                page, pageSize, total, next);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportDonations(String adminUserId, String status, String city, OutputStream out) throws IOException {
         validateAdmin(adminUserId);
-        List<Donations> donations = donationsRepository.findAll();
-        return donations.stream().map(this::mapToDonationResponseDTO).collect(Collectors.toList());
+        try (Stream<Donations> donations = donationsRepository.streamByFilters(parseDonationStatus(status), city)) {
+            writeNdjson(donations, this::mapToDonationResponseDTO, out);
+        }
     }
 
     @Override
@@ -118,70 +303,125 @@ public class AdminServiceImpl implements AdminService {
             throw new IllegalArgumentException("Donation not found with ID: " + donationId);
         }
         Donations donation = donationOptional.get();
+        Donations.Status newStatus;
         try {
-            Donations.Status newStatus = Donations.Status.valueOf(request.getStatus());
-            donation.setStatus(newStatus);
-            donation.setUpdated_at(LocalDateTime.now());
-            Donations updatedDonation = donationsRepository.save(donation);
-            return mapToDonationResponseDTO(updatedDonation);
+            newStatus = Donations.Status.valueOf(request.getStatus());
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid status: " + request.getStatus());
         }
+        Donations.Status oldStatus = donation.getStatus();
+        Donations updatedDonation = donationClaimService.update(donationId, oldStatus,
+                updated -> updated.setStatus(newStatus));
+        auditRecorder.record(request.getUserId(), "donation.status_override", "donation", donationId,
+                Map.of("from", oldStatus.name(), "to", newStatus.name()));
+        notificationService.notify(updatedDonation.getUser().getUser_id(), Notifications.Type.donation_status,
+                "An administrator changed the status of your donation to " + newStatus.name() + ".", donationId);
+        return mapToDonationResponseDTO(updatedDonation);
     }
 
     @Override
     public AnalyticsReportResponseDTO generateAnalyticsReport(String adminUserId) {
         validateAdmin(adminUserId);
-        List<Donations> donations = donationsRepository.findAll();
-
-        AnalyticsReportResponseDTO report = new AnalyticsReportResponseDTO();
-        report.setTotalDonations(donations.size());
-
-        double totalFoodSavedKg = donations.stream()
-                .filter(d -> d.getStatus() == Donations.Status.delivered)
-                .mapToDouble(Donations::getQuantity_kg)
-                .sum();
-        report.setTotalFoodSavedKg(totalFoodSavedKg);
-
-        // Assume 1 kg = 2 meals
-        long totalMealsServed = (long) (totalFoodSavedKg * 2);
-        report.setTotalMealsServed(totalMealsServed);
-
-        // Top donors: Group by user, count donations, limit to top 5
-        Map<String, Long> donationCounts = donations.stream()
-                .collect(Collectors.groupingBy(d -> d.getUser().getUser_id(), Collectors.counting()));
-        List<AnalyticsReportResponseDTO.TopDonorDTO> topDonors = donationCounts.entrySet().stream()
-                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-                .limit(5)
-                .map(entry -> {
-                    Optional<Users> user = usersRepository.findById(entry.getKey());
-                    AnalyticsReportResponseDTO.TopDonorDTO dto = new AnalyticsReportResponseDTO.TopDonorDTO();
-                    dto.setUserId(entry.getKey());
-                    dto.setUsername(user.map(Users::getUsername).orElse("Unknown"));
-                    dto.setTotalDonations(entry.getValue());
-                    return dto;
-                })
-                .collect(Collectors.toList());
-        report.setTopDonors(topDonors);
-     // Geographic impact: Group by city, sum food saved
-        Map<String, Double> foodByCity = donations.stream()
-                .filter(d -> d.getStatus() == Donations.Status.delivered)
-                .filter(d -> d.getUser().getCity() != null)
-                .collect(Collectors.groupingBy(
-                        d -> d.getUser().getCity(),
-                        Collectors.summingDouble(Donations::getQuantity_kg)
-                ));
-        List<AnalyticsReportResponseDTO.GeographicImpactDTO> geographicImpact = foodByCity.entrySet().stream()
-                .map(entry -> {
-                    AnalyticsReportResponseDTO.GeographicImpactDTO dto = new AnalyticsReportResponseDTO.GeographicImpactDTO();
-                    dto.setCity(entry.getKey());
-                    dto.setFoodSavedKg(entry.getValue());
-                    return dto;
-                })
-                .collect(Collectors.toList());
-        report.setGeographicImpact(geographicImpact);
-
-        return report;
+        if (!analyticsStore.isLoaded()) {
+            return analyticsReportQuery.buildReport(5);
+        }
+        return analyticsStore.buildReport(5);
+    }
+
+    @Override
+    public String rebuildAnalytics(String adminUserId) {
+        validateAdmin(adminUserId);
+        analyticsStore.rebuild();
+        return "Analytics rebuilt successfully";
+    }
+
+    @Override
+    public Map<String, Object> getCacheStats(String adminUserId) {
+        validateAdmin(adminUserId);
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("principals", principalCache.stats());
+        stats.put("entities", entityReadCache.stats());
+        stats.put("notifications", notificationService.getStats());
+        stats.put("liveUpdates", liveUpdateBroker.stats());
+        stats.put("audit", auditRecorder.stats());
+        stats.put("search", donationSearchIndex.stats());
+        return stats;
+    }
+
+    // Empty unless foodshare.queries.detector.enabled=true
+    @Override
+    public List<Map<String, Object>> getQueryReport(String adminUserId) {
+        validateAdmin(adminUserId);
+        return nPlusOneDetector.report();
+    }
+
+    @Override
+    public Map<String, Object> getExpirySweepStats(String adminUserId) {
+        validateAdmin(adminUserId);
+        Map<String, Object> stats = new LinkedHashMap<>(donationExpirySweeper.getStats());
+        stats.put("pickupWindows", pickupWindowScheduler.stats());
+        return stats;
+    }
+
+    @Override
+    public Map<String, Object> runExpirySweep(String adminUserId) {
+        validateAdmin(adminUserId);
+        return donationExpirySweeper.sweep();
+    }
+
+    // Keyset paging only: the audit table grows without bound, so no total count is computed
+    @Override
+    public PageResponseDTO<AuditLogResponseDTO> listAuditLogs(String adminUserId, String actorId, String targetType,
+                                                              String targetId, LocalDateTime from, LocalDateTime to,
+                                                              String cursor, int size) {
+        validateAdmin(adminUserId);
+        int pageSize = boundedPageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Integer afterId = null;
+        if (after != null) {
+            try {
+                afterId = Integer.parseInt(after.getId());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+        List<AuditLogs> logs = keysetPageQuery.findPage(AuditLogs.class, "log_id",
+                AuditLogsRepository.filters(emptyToNull(actorId), emptyToNull(targetType), emptyToNull(targetId), from, to),
+                after != null ? after.getCreatedAt() : null, afterId, PageRequest.of(0, pageSize));
+
+        PageResponseDTO<AuditLogResponseDTO> response = new PageResponseDTO<>();
+        response.setContent(logs.stream().map(this::mapToAuditLogResponseDTO).collect(Collectors.toList()));
+        response.setPage(0);
+        response.setSize(pageSize);
+        response.setTotalElements(-1);
+        response.setTotalPages(-1);
+        if (logs.size() == pageSize) {
+            AuditLogs last = logs.get(logs.size() - 1);
+            response.setNextCursor(new KeysetCursor(last.getCreated_at(), String.valueOf(last.getLog_id())).encode());
+        }
+        return response;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private AuditLogResponseDTO mapToAuditLogResponseDTO(AuditLogs log) {
+        AuditLogResponseDTO dto = new AuditLogResponseDTO();
+        dto.setLogId(log.getLog_id());
+        dto.setActorId(log.getActor_id());
+        dto.setAction(log.getAction());
+        dto.setTargetType(log.getTarget_type());
+        dto.setTargetId(log.getTarget_id());
+        dto.setDetails(log.getDetails());
+        dto.setCreatedAt(log.getCreated_at());
+        return dto;
+    }
+
+    @Override
+    public int backfillImpactMetrics(String adminUserId) {
+        validateAdmin(adminUserId);
+        return impactMetricsProjector.backfill();
     }
 
     @Override
@@ -191,17 +431,25 @@ public class AdminServiceImpl implements AdminService {
         if (!donationOptional.isPresent()) {
             throw new IllegalArgumentException("Donation not found with ID: " + donationId);
         }
-        Donations donation = donationOptional.get();
+        Donations.Status oldStatus = donationOptional.get().getStatus();
         String action = request.getAction().toLowerCase();
+        Donations.Status newStatus;
         if ("approve".equals(action)) {
-            donation.setStatus(Donations.Status.available);
+            newStatus = Donations.Status.available;
         } else if ("reject".equals(action)) {
-            donation.setStatus(Donations.Status.rejected);
+            newStatus = Donations.Status.rejected;
         } else {
             throw new IllegalArgumentException("Invalid action: " + request.getAction());
         }
-        donation.setUpdated_at(LocalDateTime.now());
-        Donations updatedDonation = donationsRepository.save(donation);
+        Donations updatedDonation = donationClaimService.update(donationId, oldStatus,
+                updated -> updated.setStatus(newStatus));
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("from", oldStatus.name());
+        details.put("to", updatedDonation.getStatus().name());
+        if (request.getDetails() != null) {
+            details.put("details", request.getDetails());
+        }
+        auditRecorder.record(request.getUserId(), "donation.audit_" + action, "donation", donationId, details);
 
         AuditDonationResponseDTO response = new AuditDonationResponseDTO();
         response.setDonationId(donationId);
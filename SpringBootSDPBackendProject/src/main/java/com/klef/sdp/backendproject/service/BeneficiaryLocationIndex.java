@@ -0,0 +1,211 @@
+package com.klef.sdp.backendproject.service;
+
+import com.klef.sdp.backendproject.dto.MatchedBeneficiaryDTO;
+import com.klef.sdp.backendproject.event.UserChangedEvent;
+import com.klef.sdp.backendproject.model.Users;
+import com.klef.sdp.backendproject.repository.DonationsRepository;
+import com.klef.sdp.backendproject.util.GeoUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory grid of active beneficiaries keyed by (lat, lon) cell, so matching only runs the
+// haversine on users in the cells overlapping the search radius instead of on every beneficiary.
+@Component
+public class BeneficiaryLocationIndex {
+    @Autowired
+    private DonationsRepository donationsRepository;
+
+    @Value("${foodshare.match.cell-size-deg:0.25}")
+    private double cellSizeDeg;
+
+    private final Object rebuildLock = new Object();
+    private volatile Grid grid = new Grid();
+    // Latest change per user seen while a rebuild is reading the table; non-null only then
+    private Map<String, UserChangedEvent> changedDuringRebuild;
+    private volatile boolean loaded;
+
+    private static class Entry {
+        private final String userId;
+        private final String username;
+        private final double latitude;
+        private final double longitude;
+        private final long cell;
+
+        private Entry(String userId, String username, double latitude, double longitude, long cell) {
+            this.userId = userId;
+            this.username = username;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.cell = cell;
+        }
+    }
+
+    // One generation of the index. Events update the live one; a rebuild fills a fresh one and swaps it in
+    private class Grid {
+        private final Map<Long, Map<String, Entry>> cells = new ConcurrentHashMap<>();
+        private final Map<String, Entry> byUserId = new ConcurrentHashMap<>();
+
+        private void apply(UserChangedEvent event) {
+            if ("beneficiary".equals(event.getRole()) && event.isActive()) {
+                put(event.getUserId(), event.getUsername(), event.getLatitude(), event.getLongitude());
+            } else {
+                remove(event.getUserId());
+            }
+        }
+
+        private void put(String userId, String username, Double latitude, Double longitude) {
+            remove(userId);
+            if (latitude == null || longitude == null) {
+                return;
+            }
+            long cell = cellKey(latIndex(latitude), lonIndex(longitude));
+            Entry entry = new Entry(userId, username, latitude, longitude, cell);
+            cells.computeIfAbsent(cell, c -> new ConcurrentHashMap<>()).put(userId, entry);
+            byUserId.put(userId, entry);
+        }
+
+        private void remove(String userId) {
+            Entry previous = byUserId.remove(userId);
+            if (previous != null) {
+                Map<String, Entry> cell = cells.get(previous.cell);
+                if (cell != null) {
+                    cell.remove(userId);
+                    if (cell.isEmpty()) {
+                        cells.remove(previous.cell);
+                    }
+                }
+            }
+        }
+    }
+
+    private static class Candidate {
+        private final Entry entry;
+        private final double distanceKm;
+
+        private Candidate(Entry entry, double distanceKm) {
+            this.entry = entry;
+            this.distanceKm = distanceKm;
+        }
+    }
+
+    private int latIndex(double latitude) {
+        return (int) Math.floor((latitude + 90) / cellSizeDeg);
+    }
+
+    private int lonIndex(double longitude) {
+        int columns = (int) Math.ceil(360 / cellSizeDeg);
+        int index = (int) Math.floor((longitude + 180) / cellSizeDeg);
+        return Math.floorMod(index, columns);
+    }
+
+    private static long cellKey(int latIndex, int lonIndex) {
+        return ((long) latIndex << 32) | (lonIndex & 0xffffffffL);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    // Repairs drift from missed events, e.g. users changed by a bulk update that published nothing
+    @Scheduled(cron = "${foodshare.match.rebuild-cron:0 15 3 * * *}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    // Reads every active beneficiary into a fresh grid while the live one keeps serving, then replays
+    // the changes that arrived during the read so a user deactivated mid-load is not brought back.
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                changedDuringRebuild = new LinkedHashMap<>();
+            }
+            Grid fresh = new Grid();
+            try {
+                for (Users beneficiary : donationsRepository.findActiveBeneficiaries()) {
+                    fresh.put(beneficiary.getUser_id(), beneficiary.getUsername(),
+                            beneficiary.getLatitude(), beneficiary.getLongitude());
+                }
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    changedDuringRebuild = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                changedDuringRebuild.values().forEach(fresh::apply);
+                changedDuringRebuild = null;
+                grid = fresh;
+                loaded = true;
+            }
+        }
+    }
+
+    @EventListener
+    public synchronized void onUserChanged(UserChangedEvent event) {
+        grid.apply(event);
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.put(event.getUserId(), event);
+        }
+    }
+
+    // Returns up to limit beneficiaries within radiusKm, nearest first
+    public List<MatchedBeneficiaryDTO> findNearest(double latitude, double longitude, double radiusKm, int limit) {
+        double latDelta = GeoUtils.latDeltaDeg(radiusKm);
+        double lonDelta = GeoUtils.lonDeltaDeg(latitude, radiusKm);
+        int minLat = latIndex(Math.max(latitude - latDelta, -90));
+        int maxLat = latIndex(Math.min(latitude + latDelta, 90));
+        int lonSteps = (int) Math.ceil(2 * lonDelta / cellSizeDeg) + 1;
+        int columns = (int) Math.ceil(360 / cellSizeDeg);
+        int firstLon = lonIndex(longitude - lonDelta);
+        Map<Long, Map<String, Entry>> cells = grid.cells;
+
+        // Max-heap on distance so the farthest of the current best k is evicted first
+        PriorityQueue<Candidate> best = new PriorityQueue<>(
+                Comparator.comparingDouble((Candidate c) -> c.distanceKm).reversed());
+        for (int lat = minLat; lat <= maxLat; lat++) {
+            for (int step = 0; step < Math.min(lonSteps, columns); step++) {
+                Map<String, Entry> cell = cells.get(cellKey(lat, (firstLon + step) % columns));
+                if (cell == null) {
+                    continue;
+                }
+                for (Entry entry : cell.values()) {
+                    double distance = GeoUtils.distanceKm(latitude, longitude, entry.latitude, entry.longitude);
+                    if (distance <= radiusKm) {
+                        best.offer(new Candidate(entry, distance));
+                        if (best.size() > limit) {
+                            best.poll();
+                        }
+                    }
+                }
+            }
+        }
+
+        List<MatchedBeneficiaryDTO> matches = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            Candidate candidate = best.poll();
+            MatchedBeneficiaryDTO dto = new MatchedBeneficiaryDTO();
+            dto.setUserId(candidate.entry.userId);
+            dto.setUsername(candidate.entry.username);
+            dto.setDistanceKm(candidate.distanceKm);
+            matches.add(0, dto);
+        }
+        return matches;
+    }
+}
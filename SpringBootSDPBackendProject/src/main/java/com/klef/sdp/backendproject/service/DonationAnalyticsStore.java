@@ -0,0 +1,218 @@
+package com.klef.sdp.backendproject.service;
+
+import com.klef.sdp.backendproject.dto.AnalyticsReportResponseDTO;
+import com.klef.sdp.backendproject.event.DonationChangedEvent;
+import com.klef.sdp.backendproject.event.DonationSnapshot;
+import com.klef.sdp.backendproject.model.Donations;
+import com.klef.sdp.backendproject.repository.DonationsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+// Running totals behind the admin analytics report. Every donation change is applied as
+// "retract the old snapshot, add the new one", so reading the report costs
+// O(cities + top-K) instead of a scan over the donations table.
+// Drift (e.g. a donor moving city after a delivery) is repaired by rebuild().
+@Component
+public class DonationAnalyticsStore {
+    @Autowired
+    private DonationsRepository donationsRepository;
+
+    private static final Comparator<DonorTally> BY_COUNT_DESC = Comparator
+            .comparingLong((DonorTally t) -> t.count).reversed()
+            .thenComparing(t -> t.userId);
+
+    private final Map<Donations.Status, Long> countByStatus = new EnumMap<>(Donations.Status.class);
+    private final Map<String, DonorTally> donors = new HashMap<>();
+    private final TreeSet<DonorTally> donorRanking = new TreeSet<>(BY_COUNT_DESC);
+    private final Map<String, CityTally> cities = new HashMap<>();
+    // Keeps the startup load and the nightly repair from overlapping
+    private final Object rebuildLock = new Object();
+    private long totalDonations;
+    private double deliveredKg;
+    private volatile boolean loaded;
+    // Changes seen while a rebuild's query runs; non-null only then, guarded by this
+    private List<DonationChangedEvent> changedDuringRebuild;
+
+    private static class DonorTally {
+        private final String userId;
+        private String username;
+        private long count;
+
+        private DonorTally(String userId) {
+            this.userId = userId;
+        }
+    }
+
+    private static class CityTally {
+        private long deliveredCount;
+        private double deliveredKg;
+    }
+
+    @EventListener
+    public void onDonationChanged(DonationChangedEvent event) {
+        synchronized (this) {
+            apply(event);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(event);
+            }
+        }
+    }
+
+    private void apply(DonationChangedEvent event) {
+        if (event.getBefore() != null) {
+            apply(event.getBefore(), -1);
+        }
+        if (event.getAfter() != null) {
+            apply(event.getAfter(), 1);
+        }
+    }
+
+    private void apply(DonationSnapshot donation, int sign) {
+        applyCounts(donation.getDonorId(), donation.getDonorUsername(), donation.getDonorCity(),
+                donation.getStatus(), sign, sign * donation.getQuantityKg());
+    }
+
+    private void applyCounts(String donorId, String username, String city, Donations.Status status,
+                             long count, double quantityKg) {
+        totalDonations += count;
+        countByStatus.merge(status, count, Long::sum);
+
+        DonorTally donor = donors.get(donorId);
+        if (donor == null) {
+            donor = new DonorTally(donorId);
+            donors.put(donorId, donor);
+        } else {
+            donorRanking.remove(donor);
+        }
+        donor.count += count;
+        if (username != null) {
+            donor.username = username;
+        }
+        if (donor.count > 0) {
+            donorRanking.add(donor);
+        } else {
+            donors.remove(donorId);
+        }
+
+        if (status == Donations.Status.delivered) {
+            deliveredKg += quantityKg;
+            if (city != null) {
+                CityTally tally = cities.computeIfAbsent(city, c -> new CityTally());
+                tally.deliveredCount += count;
+                tally.deliveredKg += quantityKg;
+                if (tally.deliveredCount <= 0) {
+                    cities.remove(city);
+                }
+            }
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        rebuild();
+    }
+
+    // Nightly repair so that any drift from missed or out-of-order events does not accumulate
+    @Scheduled(cron = "${foodshare.analytics.rebuild-cron:0 30 3 * * *}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    // Recomputes every counter from a single GROUP BY over donations, then replays the changes that
+    // arrived while the query ran on top of it. Buffering starts right before the query, so only a
+    // change committed just before the query but published just after it can still be counted twice.
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                changedDuringRebuild = new ArrayList<>();
+            }
+            List<Object[]> rows;
+            try {
+                rows = donationsRepository.aggregateByDonorCityAndStatus();
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    changedDuringRebuild = null;
+                }
+                throw e;
+            }
+            swapIn(rows);
+        }
+    }
+
+    private synchronized void swapIn(List<Object[]> rows) {
+        countByStatus.clear();
+        donors.clear();
+        donorRanking.clear();
+        cities.clear();
+        totalDonations = 0;
+        deliveredKg = 0;
+        for (Object[] row : rows) {
+            double quantityKg = row[5] != null ? ((Number) row[5]).doubleValue() : 0.0;
+            applyCounts((String) row[0], (String) row[1], (String) row[2],
+                    (Donations.Status) row[3], ((Number) row[4]).longValue(), quantityKg);
+        }
+        for (DonationChangedEvent event : changedDuringRebuild) {
+            apply(event);
+        }
+        changedDuringRebuild = null;
+        loaded = true;
+    }
+
+    public synchronized AnalyticsReportResponseDTO buildReport(int topDonorLimit) {
+        AnalyticsReportResponseDTO report = new AnalyticsReportResponseDTO();
+        report.setTotalDonations(totalDonations);
+        report.setTotalFoodSavedKg(deliveredKg);
+        // Assume 1 kg = 2 meals
+        report.setTotalMealsServed((long) (deliveredKg * 2));
+
+        List<AnalyticsReportResponseDTO.TopDonorDTO> topDonors = new ArrayList<>();
+        Iterator<DonorTally> ranking = donorRanking.iterator();
+        while (ranking.hasNext() && topDonors.size() < topDonorLimit) {
+            DonorTally tally = ranking.next();
+            AnalyticsReportResponseDTO.TopDonorDTO dto = new AnalyticsReportResponseDTO.TopDonorDTO();
+            dto.setUserId(tally.userId);
+            dto.setUsername(tally.username != null ? tally.username : "Unknown");
+            dto.setTotalDonations(tally.count);
+            topDonors.add(dto);
+        }
+        report.setTopDonors(topDonors);
+
+        List<AnalyticsReportResponseDTO.GeographicImpactDTO> geographicImpact = new ArrayList<>();
+        for (Map.Entry<String, CityTally> entry : cities.entrySet()) {
+            AnalyticsReportResponseDTO.GeographicImpactDTO dto = new AnalyticsReportResponseDTO.GeographicImpactDTO();
+            dto.setCity(entry.getKey());
+            dto.setFoodSavedKg(entry.getValue().deliveredKg);
+            geographicImpact.add(dto);
+        }
+        report.setGeographicImpact(geographicImpact);
+        return report;
+    }
+
+    public synchronized long getTotalDonations() {
+        return totalDonations;
+    }
+
+    public synchronized double getDeliveredKg() {
+        return deliveredKg;
+    }
+
+    public synchronized long countByStatus(Donations.Status status) {
+        return countByStatus.getOrDefault(status, 0L);
+    }
+}
@@ -0,0 +1,220 @@
+package com.klef.sdp.backendproject.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.klef.sdp.backendproject.dto.BulkDonationResponseDTO;
+import com.klef.sdp.backendproject.dto.DonationRequestDTO;
+import com.klef.sdp.backendproject.event.DonationChangedEvent;
+import com.klef.sdp.backendproject.event.DonationSnapshot;
+import com.klef.sdp.backendproject.id.IdGenerator;
+import com.klef.sdp.backendproject.model.Donations;
+import com.klef.sdp.backendproject.model.Users;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Streams donation rows from a JSON array or NDJSON body, validating each one as it is read and
+// inserting valid rows in JDBC batches. Only one batch is held in memory at a time, and a bad row
+// is reported in the results instead of failing the whole upload. Each batch commits on its own: if
+// one fails, its rows are reported as rejected with the cause and the upload carries on.
+@Component
+public class DonationBulkIngester {
+    private static final String INSERT_SQL = "INSERT INTO donations (donation_id, user_id, food_description, " +
+            "food_category, quantity_kg, expiry_date, pickup_window_start, pickup_window_end, latitude, longitude, " +
+            "status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private IdGenerator idGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${foodshare.bulk.batch-size:500}")
+    private int batchSize;
+
+    @Value("${foodshare.bulk.max-rows:10000}")
+    private int maxRows;
+
+    private static class PendingRow {
+        private final int index;
+        private final String donationId;
+        private final DonationRequestDTO row;
+        private final Donations.FoodCategory category;
+
+        private PendingRow(int index, String donationId, DonationRequestDTO row, Donations.FoodCategory category) {
+            this.index = index;
+            this.donationId = donationId;
+            this.row = row;
+            this.category = category;
+        }
+    }
+
+    public BulkDonationResponseDTO ingest(Users donor, InputStream body) throws IOException {
+        BulkDonationResponseDTO response = new BulkDonationResponseDTO();
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+        int index = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            JsonToken token = parser.nextToken();
+            // A top-level array is read element by element; otherwise the body is a sequence of objects (NDJSON)
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                if (index >= maxRows) {
+                    response.setError("Row limit of " + maxRows + " exceeded; remaining rows were not read");
+                    break;
+                }
+                JsonNode node = parser.readValueAsTree();
+                String error = null;
+                PendingRow pending = null;
+                try {
+                    DonationRequestDTO row = objectMapper.treeToValue(node, DonationRequestDTO.class);
+                    pending = new PendingRow(index, idGenerator.nextId(), row, validate(row, donor));
+                } catch (IllegalArgumentException e) {
+                    error = e.getMessage();
+                } catch (JsonProcessingException e) {
+                    error = "Malformed row: " + e.getOriginalMessage();
+                }
+                if (pending != null) {
+                    batch.add(pending);
+                    if (batch.size() >= batchSize) {
+                        flush(donor, batch, response);
+                    }
+                } else {
+                    response.getResults().add(BulkDonationResponseDTO.RowResultDTO.rejected(index, error));
+                    response.setRejected(response.getRejected() + 1);
+                }
+                index++;
+                token = parser.nextToken();
+            }
+        } catch (JsonProcessingException e) {
+            // Syntax errors leave the stream unreadable, so stop here and keep what was already inserted
+            response.setError("Malformed input after row " + index + ": " + e.getOriginalMessage());
+        }
+        flush(donor, batch, response);
+        response.setReceived(index);
+        return response;
+    }
+
+    private Donations.FoodCategory validate(DonationRequestDTO row, Users donor) {
+        if (row.getUserId() != null && !row.getUserId().isEmpty() && !row.getUserId().equals(donor.getUser_id())) {
+            throw new IllegalArgumentException("userId does not match the donor of this upload");
+        }
+        if (row.getFood_description() == null || row.getFood_description().isEmpty()) {
+            throw new IllegalArgumentException("food_description is required");
+        }
+        if (row.getFood_category() == null) {
+            throw new IllegalArgumentException("food_category is required");
+        }
+        Donations.FoodCategory category;
+        try {
+            category = Donations.FoodCategory.valueOf(row.getFood_category());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid food_category: " + row.getFood_category());
+        }
+        if (row.getQuantity_kg() == null || row.getQuantity_kg() <= 0) {
+            throw new IllegalArgumentException("quantity_kg must be positive");
+        }
+        if (row.getExpiry_date() == null || row.getPickup_window_start() == null || row.getPickup_window_end() == null) {
+            throw new IllegalArgumentException("expiry_date, pickup_window_start and pickup_window_end are required");
+        }
+        if (row.getPickup_window_end().isBefore(row.getPickup_window_start())) {
+            throw new IllegalArgumentException("pickup_window_end is before pickup_window_start");
+        }
+        if ((row.getLatitude() == null) != (row.getLongitude() == null)
+                || (row.getLatitude() != null && (Math.abs(row.getLatitude()) > 90 || Math.abs(row.getLongitude()) > 180))) {
+            throw new IllegalArgumentException("Invalid latitude/longitude");
+        }
+        return category;
+    }
+
+    private void flush(Users donor, List<PendingRow> batch, BulkDonationResponseDTO response) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        List<Donations> donations = new ArrayList<>(batch.size());
+        List<Object[]> args = new ArrayList<>(batch.size());
+        for (PendingRow pending : batch) {
+            Donations donation = toDonation(donor, pending, now);
+            donations.add(donation);
+            args.add(new Object[]{
+                    donation.getDonation_id(), donor.getUser_id(), donation.getFood_description(),
+                    donation.getFood_category().name(), donation.getQuantity_kg(),
+                    Timestamp.valueOf(donation.getExpiry_date()), Timestamp.valueOf(donation.getPickup_window_start()),
+                    Timestamp.valueOf(donation.getPickup_window_end()), donation.getLatitude(), donation.getLongitude(),
+                    donation.getStatus().name(), timestamp, timestamp});
+        }
+        int[] types = {Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.DOUBLE, Types.TIMESTAMP,
+                Types.TIMESTAMP, Types.TIMESTAMP, Types.DOUBLE, Types.DOUBLE, Types.VARCHAR, Types.TIMESTAMP,
+                Types.TIMESTAMP};
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, args, types));
+        } catch (RuntimeException e) {
+            // The batch was rolled back as a whole, so none of its rows were inserted
+            String cause = "Batch insert failed: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            for (PendingRow pending : batch) {
+                response.getResults().add(BulkDonationResponseDTO.RowResultDTO.rejected(pending.index, cause));
+            }
+            response.setRejected(response.getRejected() + batch.size());
+            batch.clear();
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            response.getResults().add(BulkDonationResponseDTO.RowResultDTO.created(batch.get(i).index,
+                    batch.get(i).donationId));
+            eventPublisher.publishEvent(new DonationChangedEvent(null, DonationSnapshot.of(donations.get(i))));
+        }
+        response.setCreated(response.getCreated() + batch.size());
+        batch.clear();
+    }
+
+    // Transient entity holding what the insert writes; it is never attached to a persistence context
+    private static Donations toDonation(Users donor, PendingRow pending, LocalDateTime now) {
+        DonationRequestDTO row = pending.row;
+        Donations donation = new Donations();
+        donation.setDonation_id(pending.donationId);
+        donation.setUser(donor);
+        donation.setFood_description(row.getFood_description());
+        donation.setFood_category(pending.category);
+        donation.setQuantity_kg(row.getQuantity_kg());
+        donation.setExpiry_date(row.getExpiry_date());
+        donation.setPickup_window_start(row.getPickup_window_start());
+        donation.setPickup_window_end(row.getPickup_window_end());
+        donation.setLatitude(row.getLatitude());
+        donation.setLongitude(row.getLongitude());
+        donation.setStatus(Donations.Status.available);
+        donation.setCreated_at(now);
+        donation.setUpdated_at(now);
+        return donation;
+    }
+}
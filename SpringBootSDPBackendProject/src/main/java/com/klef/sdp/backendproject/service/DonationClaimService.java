@@ -0,0 +1,208 @@
+package com.klef.sdp.backendproject.service;
+
+import com.klef.sdp.backendproject.event.DonationChangedEvent;
+import com.klef.sdp.backendproject.event.DonationRequestsRejectedEvent;
+import com.klef.sdp.backendproject.event.DonationSnapshot;
+import com.klef.sdp.backendproject.event.PickupWindowEvent;
+import com.klef.sdp.backendproject.model.DonationRequest;
+import com.klef.sdp.backendproject.model.Donations;
+import com.klef.sdp.backendproject.repository.DonationRequestRepository;
+import com.klef.sdp.backendproject.repository.DonationsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+// Approves a donation request as one transaction: the donation moves from available to requested
+// with a conditional update, the request is approved under its version check, and every other
+// pending request for the same donation is rejected. Concurrent approvals serialize on the
+// donation row, so exactly one of them wins and the rest see "already claimed".
+// release() is the reverse, used when a pickup window closes without the donation being picked up.
+// update() is how donor edits and admin status changes reach a donation, so they can never write
+// over a claim they did not see.
+@Service
+public class DonationClaimService {
+    private static final Logger log = LoggerFactory.getLogger(DonationClaimService.class);
+
+    @Autowired
+    private DonationRequestRepository donationRequestRepository;
+
+    @Autowired
+    private DonationsRepository donationsRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${foodshare.claim.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${foodshare.claim.backoff-ms:20}")
+    private long backoffMs;
+
+    private static class ClaimResult {
+        private final DonationRequest request;
+        private final DonationSnapshot before;
+        private final DonationSnapshot after;
+        private final List<String> rejectedBeneficiaryIds;
+
+        private ClaimResult(DonationRequest request, DonationSnapshot before, DonationSnapshot after,
+                            List<String> rejectedBeneficiaryIds) {
+            this.request = request;
+            this.before = before;
+            this.after = after;
+            this.rejectedBeneficiaryIds = rejectedBeneficiaryIds;
+        }
+    }
+
+    private static class UpdateResult {
+        private final Donations donation;
+        private final DonationSnapshot before;
+        private final DonationSnapshot after;
+
+        private UpdateResult(Donations donation, DonationSnapshot before, DonationSnapshot after) {
+            this.donation = donation;
+            this.before = before;
+            this.after = after;
+        }
+    }
+
+    public DonationRequest approve(String requestId, String donorUserId) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                ClaimResult result = transaction.execute(status -> claim(requestId, donorUserId));
+                // Published after commit so listeners never see a claim that is later rolled back
+                eventPublisher.publishEvent(new DonationChangedEvent(result.before, result.after));
+                eventPublisher.publishEvent(pickupWindowEvent(PickupWindowEvent.Type.APPROVED, result.request));
+                if (!result.rejectedBeneficiaryIds.isEmpty()) {
+                    eventPublisher.publishEvent(new DonationRequestsRejectedEvent(
+                            result.request.getDonation().getDonation_id(), result.rejectedBeneficiaryIds));
+                }
+                return result.request;
+            } catch (ConcurrencyFailureException e) {
+                // Optimistic version conflicts, lock timeouts and deadlock victims all land here
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.debug("Claim of request {} conflicted (attempt {}), retrying", requestId, attempt);
+                backoff(attempt);
+            }
+        }
+    }
+
+    private ClaimResult claim(String requestId, String donorUserId) {
+        DonationRequest request = donationRequestRepository.findById(requestId)
+                .orElseThrow(() -> new IllegalArgumentException("Request ID not found"));
+        // Verify the user is the donor of the donation
+        if (!request.getDonation().getUser().getUser_id().equals(donorUserId)) {
+            throw new IllegalArgumentException("Unauthorized: Only the donor can approve this request");
+        }
+        if (!DonationRequest.Status.pending.equals(request.getStatus())) {
+            throw new IllegalArgumentException("Cannot approve a request that is not pending");
+        }
+        String donationId = request.getDonation().getDonation_id();
+        DonationSnapshot before = DonationSnapshot.of(request.getDonation());
+
+        // Taking the donation row first keeps the lock order the same for every claimer
+        if (donationsRepository.claimIfAvailable(donationId, LocalDateTime.now()) == 0) {
+            throw new IllegalArgumentException("Donation has already been claimed");
+        }
+
+        // The conditional update cleared the persistence context, so this reloads the current row
+        request = donationRequestRepository.findById(requestId)
+                .orElseThrow(() -> new IllegalArgumentException("Request ID not found"));
+        if (!DonationRequest.Status.pending.equals(request.getStatus())) {
+            throw new IllegalArgumentException("Cannot approve a request that is not pending");
+        }
+        request.setStatus(DonationRequest.Status.approved);
+        request = donationRequestRepository.saveAndFlush(request);
+        // The approved request is no longer pending, so this lists exactly the requests about to be rejected
+        List<String> rejected = new ArrayList<>();
+        for (Object[] row : donationRequestRepository.findPendingBeneficiaries(List.of(donationId))) {
+            rejected.add((String) row[1]);
+        }
+        donationRequestRepository.rejectOtherPending(donationId, requestId);
+
+        return new ClaimResult(request, before, DonationSnapshot.of(request.getDonation()), rejected);
+    }
+
+    private static PickupWindowEvent pickupWindowEvent(PickupWindowEvent.Type type, DonationRequest request) {
+        Donations donation = request.getDonation();
+        return new PickupWindowEvent(type, request.getRequest_id(), donation.getDonation_id(),
+                donation.getUser().getUser_id(), request.getBeneficiary().getUser_id(),
+                donation.getPickup_window_start(), donation.getPickup_window_end());
+    }
+
+    // Returns the donation to available and cancels the approved request, unless the donation has
+    // already moved on (delivered, overridden, ...). Returns false when there was nothing to release.
+    public boolean release(String requestId) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ClaimResult result = transaction.execute(status -> {
+            DonationRequest request = donationRequestRepository.findById(requestId).orElse(null);
+            if (request == null || !DonationRequest.Status.approved.equals(request.getStatus())) {
+                return null;
+            }
+            String donationId = request.getDonation().getDonation_id();
+            DonationSnapshot before = DonationSnapshot.of(request.getDonation());
+            if (donationsRepository.releaseIfRequested(donationId, LocalDateTime.now()) == 0) {
+                return null;
+            }
+            donationRequestRepository.cancelApproved(requestId);
+            request = donationRequestRepository.findById(requestId).orElseThrow();
+            return new ClaimResult(request, before, DonationSnapshot.of(request.getDonation()), List.of());
+        });
+        if (result == null) {
+            return false;
+        }
+        eventPublisher.publishEvent(new DonationChangedEvent(result.before, result.after));
+        eventPublisher.publishEvent(pickupWindowEvent(PickupWindowEvent.Type.RELEASED, result.request));
+        return true;
+    }
+
+    // Applies a change to the donation's current row, locked for the transaction, as long as its
+    // status is still the one the caller acted on. A claim or status change that committed in the
+    // meantime makes this throw rather than be overwritten, and the change event's before snapshot
+    // is the row as this change found it.
+    public Donations update(String donationId, Donations.Status expectedStatus, Consumer<Donations> change) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        UpdateResult result = transaction.execute(status -> {
+            Donations donation = donationsRepository.findByIdForUpdate(donationId)
+                    .orElseThrow(() -> new IllegalArgumentException("Donation not found with ID: " + donationId));
+            if (donation.getStatus() != expectedStatus) {
+                throw new IllegalArgumentException("Donation status changed to " + donation.getStatus()
+                        + " in the meantime; reload it and try again");
+            }
+            DonationSnapshot before = DonationSnapshot.of(donation);
+            change.accept(donation);
+            donation.setUpdated_at(LocalDateTime.now());
+            donation = donationsRepository.saveAndFlush(donation);
+            return new UpdateResult(donation, before, DonationSnapshot.of(donation));
+        });
+        eventPublisher.publishEvent(new DonationChangedEvent(result.before, result.after));
+        return result.donation;
+    }
+
+    private void backoff(int attempt) {
+        long ceiling = backoffMs << Math.min(attempt - 1, 6);
+        try {
+            Thread.sleep(ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying donation claim", e);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.klef.sdp.backendproject.service;
+
+import com.klef.sdp.backendproject.event.DonationChangedEvent;
+import com.klef.sdp.backendproject.event.DonationExpiredEvent;
+import com.klef.sdp.backendproject.event.DonationSnapshot;
+import com.klef.sdp.backendproject.model.Donations;
+import com.klef.sdp.backendproject.repository.DonationRequestRepository;
+import com.klef.sdp.backendproject.repository.DonationsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Moves available donations past their expiry_date to expired, one bounded batch per transaction,
+// and cancels the pending requests on them. Each batch is a conditional bulk update, so a donation
+// claimed while the sweep runs keeps its claim.
+@Component
+public class DonationExpirySweeper {
+    private static final Logger log = LoggerFactory.getLogger(DonationExpirySweeper.class);
+
+    @Autowired
+    private DonationsRepository donationsRepository;
+
+    @Autowired
+    private DonationRequestRepository donationRequestRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${foodshare.expiry.batch-size:500}")
+    private int batchSize;
+
+    // Caps a single run so a large backlog is spread over several runs instead of one long one
+    @Value("${foodshare.expiry.max-batches:50}")
+    private int maxBatches;
+
+    private final ReentrantLock running = new ReentrantLock();
+    private volatile Map<String, Object> lastRun;
+    private long totalRuns;
+    private long totalExpired;
+    private long totalCancelled;
+
+    private static class BatchResult {
+        private final int selected;
+        private final List<DonationChangedEvent> changes = new ArrayList<>();
+        private final List<DonationExpiredEvent> expired = new ArrayList<>();
+        private int cancelled;
+
+        private BatchResult(int selected) {
+            this.selected = selected;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${foodshare.expiry.sweep-ms:60000}",
+            initialDelayString = "${foodshare.expiry.initial-delay-ms:60000}")
+    public void scheduledSweep() {
+        sweep();
+    }
+
+    // If a sweep is already running, returns the current stats without starting another
+    public Map<String, Object> sweep() {
+        if (!running.tryLock()) {
+            return getStats();
+        }
+        try {
+            long started = System.nanoTime();
+            LocalDateTime startedAt = LocalDateTime.now();
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            int batches = 0;
+            int expired = 0;
+            int cancelled = 0;
+            while (batches < maxBatches) {
+                BatchResult batch = transaction.execute(status -> expireBatch(startedAt));
+                batches++;
+                expired += batch.expired.size();
+                cancelled += batch.cancelled;
+                // Published after each commit so listeners only see expirations that stuck
+                batch.changes.forEach(eventPublisher::publishEvent);
+                batch.expired.forEach(eventPublisher::publishEvent);
+                if (batch.selected < batchSize) {
+                    break;
+                }
+            }
+            long durationMs = (System.nanoTime() - started) / 1_000_000;
+            if (expired > 0) {
+                log.info("Expiry sweep expired {} donations and cancelled {} requests in {} ms ({} batches)",
+                        expired, cancelled, durationMs, batches);
+            }
+            recordRun(startedAt, durationMs, batches, expired, cancelled);
+            return getStats();
+        } finally {
+            running.unlock();
+        }
+    }
+
+    private BatchResult expireBatch(LocalDateTime cutoff) {
+        List<String> ids = donationsRepository.findIdsByStatusExpiringBefore(
+                Donations.Status.available, cutoff, PageRequest.of(0, batchSize));
+        BatchResult result = new BatchResult(ids.size());
+        if (ids.isEmpty()) {
+            return result;
+        }
+        Map<String, Donations> donations = new HashMap<>();
+        for (Donations donation : donationsRepository.findAllWithUserByIds(ids)) {
+            donations.put(donation.getDonation_id(), donation);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        donationsRepository.expireAvailable(ids, now);
+        // Rows claimed between the select and the update are skipped by the update's status guard
+        List<String> expiredIds = donationsRepository.findIdsByIdsAndStatus(ids, Donations.Status.expired);
+        if (expiredIds.isEmpty()) {
+            return result;
+        }
+
+        Map<String, List<String>> beneficiaries = new HashMap<>();
+        for (Object[] row : donationRequestRepository.findPendingBeneficiaries(expiredIds)) {
+            beneficiaries.computeIfAbsent((String) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        result.cancelled = donationRequestRepository.cancelPending(expiredIds);
+
+        for (String donationId : expiredIds) {
+            DonationSnapshot before = DonationSnapshot.of(donations.get(donationId));
+            DonationSnapshot after = before.withStatus(Donations.Status.expired, now);
+            result.changes.add(new DonationChangedEvent(before, after));
+            result.expired.add(new DonationExpiredEvent(after,
+                    beneficiaries.getOrDefault(donationId, List.of())));
+        }
+        return result;
+    }
+
+    private synchronized void recordRun(LocalDateTime startedAt, long durationMs, int batches, int expired, int cancelled) {
+        totalRuns++;
+        totalExpired += expired;
+        totalCancelled += cancelled;
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("startedAt", startedAt.toString());
+        run.put("durationMs", durationMs);
+        run.put("batches", batches);
+        run.put("donationsExpired", expired);
+        run.put("requestsCancelled", cancelled);
+        lastRun = run;
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("running", running.isLocked());
+        stats.put("totalRuns", totalRuns);
+        stats.put("totalDonationsExpired", totalExpired);
+        stats.put("totalRequestsCancelled", totalCancelled);
+        stats.put("lastRun", lastRun);
+        return stats;
+    }
+}
@@ -0,0 +1,544 @@
+package com.klef.sdp.backendproject.service;
+
+import com.klef.sdp.backendproject.dto.DonationResponseDTO;
+import com.klef.sdp.backendproject.dto.DonationSearchResponseDTO;
+import com.klef.sdp.backendproject.event.DonationChangedEvent;
+import com.klef.sdp.backendproject.event.DonationSnapshot;
+import com.klef.sdp.backendproject.model.Donations;
+import com.klef.sdp.backendproject.repository.DonationsRepository;
+import com.klef.sdp.backendproject.util.GeoUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// In-memory inverted index over available donations. Words from the description, category and donor
+// city map to the donations containing them, next to lookups by category, city, (lat, lon) cell and
+// expiry. A query starts from its smallest posting list and only checks the others, the distance
+// and the expiry on those candidates, so its cost follows the number of matches, not the table size.
+// Kept current from DonationChangedEvent; a donor moving city is picked up by the nightly rebuild.
+@Component
+public class DonationSearchIndex {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    // A shorter trailing word is matched exactly; as a prefix it would pull in most of the index
+    private static final int MIN_PREFIX_LENGTH = 3;
+    private static final int REBUILD_CLEAR_ROWS = 500;
+    private static final String MAX_ID = String.valueOf(Character.MAX_VALUE);
+
+    private static final Comparator<Doc> BY_EXPIRY = Comparator
+            .comparing((Doc d) -> d.expiryDate)
+            .thenComparing(d -> d.donationId);
+
+    @Autowired
+    private DonationsRepository donationsRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${foodshare.search.cell-size-deg:0.25}")
+    private double cellSizeDeg;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment();
+    // Latest state of each donation changed while a rebuild is reading the table; non-null only then
+    private Map<String, Doc> changedDuringRebuild;
+    private volatile boolean loaded;
+
+    public enum Sort {
+        expiry, distance
+    }
+
+    private static final class Doc {
+        private final String donationId;
+        private final String donorId;
+        private final String foodDescription;
+        private final Donations.FoodCategory foodCategory;
+        private final String cityKey;
+        private final double quantityKg;
+        private final LocalDateTime expiryDate;
+        private final LocalDateTime pickupWindowStart;
+        private final LocalDateTime pickupWindowEnd;
+        private final Double latitude;
+        private final Double longitude;
+        private final Long cell;
+        private final LocalDateTime createdAt;
+        private final Set<String> terms;
+
+        private Doc(DonationSnapshot donation, Long cell) {
+            this.donationId = donation.getDonationId();
+            this.donorId = donation.getDonorId();
+            this.foodDescription = donation.getFoodDescription();
+            this.foodCategory = donation.getFoodCategory();
+            this.cityKey = cityKey(donation.getDonorCity());
+            this.quantityKg = donation.getQuantityKg();
+            this.expiryDate = donation.getExpiryDate() != null ? donation.getExpiryDate() : LocalDateTime.MAX;
+            this.pickupWindowStart = donation.getPickupWindowStart();
+            this.pickupWindowEnd = donation.getPickupWindowEnd();
+            this.latitude = donation.getLatitude();
+            this.longitude = donation.getLongitude();
+            this.cell = cell;
+            this.createdAt = donation.getCreatedAt();
+            Set<String> words = new HashSet<>(tokenize(donation.getFoodDescription()));
+            if (foodCategory != null) {
+                words.addAll(tokenize(foodCategory.name()));
+            }
+            words.addAll(tokenize(donation.getDonorCity()));
+            this.terms = words;
+        }
+
+        // Sorts after every donation expiring at or before the given time
+        private Doc(LocalDateTime expiryDate) {
+            this.donationId = MAX_ID;
+            this.donorId = null;
+            this.foodDescription = null;
+            this.foodCategory = null;
+            this.cityKey = null;
+            this.quantityKg = 0;
+            this.expiryDate = expiryDate;
+            this.pickupWindowStart = null;
+            this.pickupWindowEnd = null;
+            this.latitude = null;
+            this.longitude = null;
+            this.cell = null;
+            this.createdAt = null;
+            this.terms = Set.of();
+        }
+    }
+
+    private static final class Hit {
+        private final Doc doc;
+        private final Double distanceKm;
+
+        private Hit(Doc doc, Double distanceKm) {
+            this.doc = doc;
+            this.distanceKm = distanceKm;
+        }
+    }
+
+    // One generation of the index. Searches and events use the live one under the lock; a rebuild
+    // fills a fresh one on its own and swaps it in.
+    private static final class Segment {
+        private final Map<String, Doc> docs = new HashMap<>();
+        private final TreeMap<String, Set<Doc>> terms = new TreeMap<>();
+        private final Map<Donations.FoodCategory, Set<Doc>> categories = new EnumMap<>(Donations.FoodCategory.class);
+        private final Map<String, Set<Doc>> cities = new HashMap<>();
+        private final Map<Long, Set<Doc>> cells = new HashMap<>();
+        private final TreeSet<Doc> byExpiry = new TreeSet<>(BY_EXPIRY);
+
+        private void put(String donationId, Doc doc) {
+            Doc previous = docs.remove(donationId);
+            if (previous != null) {
+                for (String term : previous.terms) {
+                    unpost(terms, term, previous);
+                }
+                unpost(categories, previous.foodCategory, previous);
+                unpost(cities, previous.cityKey, previous);
+                unpost(cells, previous.cell, previous);
+                byExpiry.remove(previous);
+            }
+            if (doc == null) {
+                return;
+            }
+            docs.put(donationId, doc);
+            for (String term : doc.terms) {
+                post(terms, term, doc);
+            }
+            post(categories, doc.foodCategory, doc);
+            post(cities, doc.cityKey, doc);
+            post(cells, doc.cell, doc);
+            byExpiry.add(doc);
+        }
+
+        private static <K> void post(Map<K, Set<Doc>> postings, K key, Doc doc) {
+            if (key != null) {
+                postings.computeIfAbsent(key, k -> new HashSet<>()).add(doc);
+            }
+        }
+
+        private static <K> void unpost(Map<K, Set<Doc>> postings, K key, Doc doc) {
+            if (key == null) {
+                return;
+            }
+            Set<Doc> set = postings.get(key);
+            if (set != null) {
+                set.remove(doc);
+                if (set.isEmpty()) {
+                    postings.remove(key);
+                }
+            }
+        }
+
+        // Donations with any word starting with prefix
+        private Set<Doc> withPrefix(String prefix) {
+            SortedMap<String, Set<Doc>> matching = terms.subMap(prefix, prefix + Character.MAX_VALUE);
+            if (matching.size() <= 1) {
+                return matching.isEmpty() ? Set.of() : matching.values().iterator().next();
+            }
+            Set<Doc> union = new HashSet<>();
+            for (Set<Doc> set : matching.values()) {
+                union.addAll(set);
+            }
+            return union;
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() >= 2) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static String cityKey(String city) {
+        return city != null && !city.isBlank() ? city.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    private int latIndex(double latitude) {
+        return (int) Math.floor((latitude + 90) / cellSizeDeg);
+    }
+
+    private int lonIndex(double longitude) {
+        int columns = (int) Math.ceil(360 / cellSizeDeg);
+        int index = (int) Math.floor((longitude + 180) / cellSizeDeg);
+        return Math.floorMod(index, columns);
+    }
+
+    private static long cellKey(int latIndex, int lonIndex) {
+        return ((long) latIndex << 32) | (lonIndex & 0xffffffffL);
+    }
+
+    // Only available donations are searchable; anything else removes the donation from the index
+    private Doc toDoc(DonationSnapshot donation) {
+        if (donation == null || donation.getStatus() != Donations.Status.available) {
+            return null;
+        }
+        Long cell = donation.getLatitude() != null && donation.getLongitude() != null
+                ? cellKey(latIndex(donation.getLatitude()), lonIndex(donation.getLongitude()))
+                : null;
+        return new Doc(donation, cell);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    @EventListener
+    public void onDonationChanged(DonationChangedEvent event) {
+        Doc doc = toDoc(event.getAfter());
+        lock.writeLock().lock();
+        try {
+            segment.put(event.getDonationId(), doc);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(event.getDonationId(), doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(cron = "${foodshare.search.rebuild-cron:0 45 3 * * *}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    // Streams the available donations into a fresh segment while the current one keeps serving,
+    // then replays whatever changed in the meantime and swaps it in.
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Segment fresh = new Segment();
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            transaction.executeWithoutResult(status -> {
+                int read = 0;
+                try (Stream<Donations> donations = donationsRepository.streamByFilters(Donations.Status.available, null)) {
+                    Iterator<Donations> iterator = donations.iterator();
+                    while (iterator.hasNext()) {
+                        DonationSnapshot donation = DonationSnapshot.of(iterator.next());
+                        fresh.put(donation.getDonationId(), toDoc(donation));
+                        if (++read % REBUILD_CLEAR_ROWS == 0) {
+                            entityManager.clear();
+                        }
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild.forEach(fresh::put);
+            changedDuringRebuild = null;
+            segment = fresh;
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // All filters are optional. The geo filter applies when latitude, longitude and radiusKm are all
+    // given; sorting by distance needs it. Donations expiring at or before now are never returned.
+    public DonationSearchResponseDTO search(String keyword, Donations.FoodCategory category, String city,
+                                            Double latitude, Double longitude, Double radiusKm,
+                                            Sort sort, int limit, LocalDateTime now) {
+        boolean geo = latitude != null && longitude != null && radiusKm != null;
+        Comparator<Hit> order = sort == Sort.distance && geo
+                ? Comparator.comparingDouble((Hit h) -> h.distanceKm).thenComparing(h -> h.doc.donationId)
+                : Comparator.comparing((Hit h) -> h.doc, BY_EXPIRY);
+        long[] facetCounts = new long[Donations.FoodCategory.values().length];
+        List<Hit> hits = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            Segment current = segment;
+            List<Set<Doc>> filters = new ArrayList<>();
+            boolean empty = false;
+            List<String> tokens = tokenize(keyword);
+            for (int i = 0; i < tokens.size() && !empty; i++) {
+                String token = tokens.get(i);
+                // The last word may still be being typed, so it also matches as a prefix
+                Set<Doc> postings = i == tokens.size() - 1 && token.length() >= MIN_PREFIX_LENGTH
+                        ? current.withPrefix(token)
+                        : current.terms.getOrDefault(token, Set.of());
+                filters.add(postings);
+                empty = postings.isEmpty();
+            }
+            if (cityKey(city) != null) {
+                Set<Doc> inCity = current.cities.getOrDefault(cityKey(city), Set.of());
+                filters.add(inCity);
+                empty = empty || inCity.isEmpty();
+            }
+
+            // A word or city nobody has leaves every count at zero
+            if (!empty && filters.isEmpty() && !geo) {
+                // Unfiltered: the facets are the category list sizes less the unexpired check topHits applies
+                countUnexpired(current, now, facetCounts);
+                if (category == null) {
+                    Iterator<Doc> soonest = current.byExpiry.tailSet(new Doc(now), false).iterator();
+                    while (soonest.hasNext() && hits.size() < limit) {
+                        hits.add(new Hit(soonest.next(), null));
+                    }
+                } else {
+                    hits = topHits(current.categories.getOrDefault(category, Set.of()), List.of(),
+                            null, null, null, null, now, order, limit, null);
+                }
+            } else if (!empty) {
+                Collection<Doc> source;
+                if (!filters.isEmpty()) {
+                    filters.sort(Comparator.comparingInt(Set::size));
+                    source = filters.remove(0);
+                } else {
+                    source = withinRadius(current, latitude, longitude, radiusKm);
+                }
+                hits = topHits(source, filters, category, latitude, longitude, geo ? radiusKm : null,
+                        now, order, limit, facetCounts);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<String, Long> facets = new LinkedHashMap<>();
+        long total = 0;
+        for (Donations.FoodCategory value : Donations.FoodCategory.values()) {
+            facets.put(value.name(), facetCounts[value.ordinal()]);
+            if (category == null || category == value) {
+                total += facetCounts[value.ordinal()];
+            }
+        }
+        List<DonationResponseDTO> content = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            content.add(mapToResponseDTO(hit));
+        }
+        DonationSearchResponseDTO response = new DonationSearchResponseDTO();
+        response.setContent(content);
+        response.setTotal(total);
+        response.setFacets(facets);
+        return response;
+    }
+
+    // Donations per category, leaving out those past expiry that the sweeper has not reached yet.
+    // Those sit at the head of byExpiry and are normally few, so only they are walked.
+    private static void countUnexpired(Segment current, LocalDateTime now, long[] counts) {
+        for (Map.Entry<Donations.FoodCategory, Set<Doc>> entry : current.categories.entrySet()) {
+            counts[entry.getKey().ordinal()] = entry.getValue().size();
+        }
+        for (Doc expired : current.byExpiry.headSet(new Doc(now), false)) {
+            if (expired.foodCategory != null) {
+                counts[expired.foodCategory.ordinal()]--;
+            }
+        }
+    }
+
+    // Candidates in the cells overlapping the search radius; the exact distance is checked later
+    private List<Doc> withinRadius(Segment current, double latitude, double longitude, double radiusKm) {
+        double latDelta = GeoUtils.latDeltaDeg(radiusKm);
+        double lonDelta = GeoUtils.lonDeltaDeg(latitude, radiusKm);
+        int minLat = latIndex(Math.max(latitude - latDelta, -90));
+        int maxLat = latIndex(Math.min(latitude + latDelta, 90));
+        int lonSteps = (int) Math.ceil(2 * lonDelta / cellSizeDeg) + 1;
+        int columns = (int) Math.ceil(360 / cellSizeDeg);
+        int firstLon = lonIndex(longitude - lonDelta);
+
+        List<Doc> candidates = new ArrayList<>();
+        for (int lat = minLat; lat <= maxLat; lat++) {
+            for (int step = 0; step < Math.min(lonSteps, columns); step++) {
+                Set<Doc> cell = current.cells.get(cellKey(lat, (firstLon + step) % columns));
+                if (cell != null) {
+                    candidates.addAll(cell);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    // Keeps the best limit matches in a heap whose head is the worst of them. When facetCounts is
+    // given, every match regardless of category is counted into it.
+    private static List<Hit> topHits(Collection<Doc> source, List<Set<Doc>> filters, Donations.FoodCategory category,
+                                     Double latitude, Double longitude, Double radiusKm, LocalDateTime now,
+                                     Comparator<Hit> order, int limit, long[] facetCounts) {
+        PriorityQueue<Hit> best = new PriorityQueue<>(order.reversed());
+        for (Doc doc : source) {
+            if (!doc.expiryDate.isAfter(now) || !containsAll(filters, doc)) {
+                continue;
+            }
+            Double distanceKm = null;
+            if (radiusKm != null) {
+                if (doc.latitude == null || doc.longitude == null) {
+                    continue;
+                }
+                distanceKm = GeoUtils.distanceKm(latitude, longitude, doc.latitude, doc.longitude);
+                if (distanceKm > radiusKm) {
+                    continue;
+                }
+            }
+            if (facetCounts != null && doc.foodCategory != null) {
+                facetCounts[doc.foodCategory.ordinal()]++;
+            }
+            if (category != null && doc.foodCategory != category) {
+                continue;
+            }
+            best.offer(new Hit(doc, distanceKm));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<Hit> hits = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            hits.add(best.poll());
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+
+    private static boolean containsAll(List<Set<Doc>> filters, Doc doc) {
+        for (Set<Doc> filter : filters) {
+            if (!filter.contains(doc)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static DonationResponseDTO mapToResponseDTO(Hit hit) {
+        Doc doc = hit.doc;
+        DonationResponseDTO dto = new DonationResponseDTO();
+        dto.setDonationId(doc.donationId);
+        dto.setUserId(doc.donorId);
+        dto.setFoodDescription(doc.foodDescription);
+        dto.setFoodCategory(doc.foodCategory != null ? doc.foodCategory.name() : null);
+        dto.setQuantityKg(doc.quantityKg);
+        dto.setExpiryDate(doc.expiryDate != LocalDateTime.MAX ? doc.expiryDate : null);
+        dto.setPickupWindowStart(doc.pickupWindowStart);
+        dto.setPickupWindowEnd(doc.pickupWindowEnd);
+        dto.setStatus(Donations.Status.available.name());
+        dto.setLatitude(doc.latitude);
+        dto.setLongitude(doc.longitude);
+        dto.setCreatedAt(doc.createdAt);
+        dto.setDistanceKm(hit.distanceKm);
+        return dto;
+    }
+
+    // Available, unexpired donations per food category, for the category picker
+    public Map<Donations.FoodCategory, Long> countByCategory(LocalDateTime now) {
+        long[] unexpired = new long[Donations.FoodCategory.values().length];
+        lock.readLock().lock();
+        try {
+            countUnexpired(segment, now, unexpired);
+        } finally {
+            lock.readLock().unlock();
+        }
+        Map<Donations.FoodCategory, Long> counts = new EnumMap<>(Donations.FoodCategory.class);
+        for (Donations.FoodCategory value : Donations.FoodCategory.values()) {
+            counts.put(value, unexpired[value.ordinal()]);
+        }
+        return counts;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            stats.put("loaded", loaded);
+            stats.put("donations", segment.docs.size());
+            stats.put("terms", segment.terms.size());
+            stats.put("cities", segment.cities.size());
+            stats.put("cells", segment.cells.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+        return stats;
+    }
+}
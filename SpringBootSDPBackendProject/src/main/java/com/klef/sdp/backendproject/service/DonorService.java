@@ -0,0 +1,31 @@
+package com.klef.sdp.backendproject.service;
+
+import com.klef.sdp.backendproject.dto.BulkDonationResponseDTO;
+import com.klef.sdp.backendproject.dto.DonationRequestDTO;
+import com.klef.sdp.backendproject.dto.DonationRequestResponseDTO;
+import com.klef.sdp.backendproject.dto.DonationResponseDTO;
+import com.klef.sdp.backendproject.dto.DonationSearchResponseDTO;
+import com.klef.sdp.backendproject.dto.MatchedBeneficiaryDTO;
+import com.klef.sdp.backendproject.dto.PageResponseDTO;
+import com.klef.sdp.backendproject.model.Donations;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+public interface DonorService {
+    DonationResponseDTO createDonation(DonationRequestDTO request);
+    BulkDonationResponseDTO createDonationsBulk(String userId, InputStream body) throws IOException;
+    DonationResponseDTO updateDonation(Donations donation);
+    String deleteDonation(String donationId, String userId);
+    List<DonationResponseDTO> listDonations(String userId, String status);
+    DonationResponseDTO getDonationDetails(String donationId, String userId);
+    List<MatchedBeneficiaryDTO> matchDonation(String donationId, String userId, Double radiusKm, Integer limit);
+    DonationResponseDTO updateDonationStatus(String donationId, String userId, String status);
+    List<DonationResponseDTO> listNearbyDonations(String userId, Double latitude, Double longitude, Double radiusKm, Integer limit);
+    PageResponseDTO<DonationRequestResponseDTO> listIncomingRequests(String userId, String status, String cursor, int page, int size);
+    DonationSearchResponseDTO searchDonations(String keyword, String foodCategory, String location, Double latitude,
+                                              Double longitude, Double radiusKm, String sort, Integer limit);
+    List<Map<String, Object>> listFoodCategories();
+}
@@ -1,30 +1,90 @@
 package com.klef.sdp.backendproject.service;
 
+import com.klef.sdp.backendproject.cache.EntityReadCache;
+import com.klef.sdp.backendproject.dto.BulkDonationResponseDTO;
 import com.klef.sdp.backendproject.dto.DonationRequestDTO;
+import com.klef.sdp.backendproject.dto.DonationRequestResponseDTO;
 import com.klef.sdp.backendproject.dto.DonationResponseDTO;
+import com.klef.sdp.backendproject.dto.DonationSearchResponseDTO;
+import com.klef.sdp.backendproject.event.DonationChangedEvent;
+import com.klef.sdp.backendproject.event.DonationSnapshot;
+import com.klef.sdp.backendproject.id.IdGenerator;
 import com.klef.sdp.backendproject.model.Donations;
 import com.klef.sdp.backendproject.dto.MatchedBeneficiaryDTO;
+import com.klef.sdp.backendproject.dto.PageResponseDTO;
+import com.klef.sdp.backendproject.model.DonationRequest;
 import com.klef.sdp.backendproject.model.Users;
+import com.klef.sdp.backendproject.repository.DonationRequestRepository;
 import com.klef.sdp.backendproject.repository.DonationsRepository;
 import com.klef.sdp.backendproject.repository.UsersRepository;
+import com.klef.sdp.backendproject.util.BoundingBox;
+import com.klef.sdp.backendproject.util.GeoUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 public class DonorServiceImpl implements DonorService {
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private DonationsRepository donationsRepository;
 
+    @Autowired
+    private IdGenerator idGenerator;
+
     @Autowired
     private UsersRepository usersRepository;
 
+    @Autowired
+    private DonationRequestRepository donationRequestRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private BeneficiaryLocationIndex beneficiaryLocationIndex;
+
+    @Autowired
+    private EntityReadCache entityReadCache;
+
+    @Autowired
+    private DonationBulkIngester donationBulkIngester;
+
+    @Autowired
+    private DonationSearchIndex donationSearchIndex;
+
+    @Autowired
+    private DonationClaimService donationClaimService;
+
+    @Value("${foodshare.match.radius-km:50}")
+    private double defaultMatchRadiusKm;
+
+    @Value("${foodshare.match.max-radius-km:500}")
+    private double maxMatchRadiusKm;
+
+    @Value("${foodshare.match.limit:20}")
+    private int defaultMatchLimit;
+
+    @Value("${foodshare.match.index.enabled:true}")
+    private boolean matchIndexEnabled;
+
+    @Value("${foodshare.search.limit:20}")
+    private int defaultSearchLimit;
+
     private DonationResponseDTO mapToResponseDTO(Donations donation) {
         DonationResponseDTO dto = new DonationResponseDTO();
         dto.setDonationId(donation.getDonation_id());
@@ -43,14 +103,7 @@ public class DonorServiceImpl implements DonorService {
     }
 
     private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        final int R = 6371; // Earth's radius in km
-        double latDistance = Math.toRadians(lat2 - lat1);
-        double lonDistance = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return R * c;
+        return GeoUtils.distanceKm(lat1, lon1, lat2, lon2);
     }
 
     @Override
@@ -67,7 +120,7 @@ public class DonorServiceImpl implements DonorService {
         // Map DTO to Donations entity
         Donations donation = new Donations();
         donation.setUser(userOptional.get());
-        donation.setDonation_id(UUID.randomUUID().toString());
+        donation.setDonation_id(idGenerator.nextId());
         donation.setFood_description(request.getFood_description());
         donation.setFood_category(Donations.FoodCategory.valueOf(request.getFood_category()));
         donation.setQuantity_kg(request.getQuantity_kg());
@@ -81,26 +134,42 @@ public class DonorServiceImpl implements DonorService {
         donation.setUpdated_at(LocalDateTime.now());
 
         Donations savedDonation = donationsRepository.save(donation);
+        eventPublisher.publishEvent(new DonationChangedEvent(null, DonationSnapshot.of(savedDonation)));
         return mapToResponseDTO(savedDonation);
     }
+
+    @Override
+    public BulkDonationResponseDTO createDonationsBulk(String userId, InputStream body) throws IOException {
+        // The donor is resolved once for the whole upload rather than per row
+        if (userId == null || userId.isEmpty()) {
+            throw new IllegalArgumentException("userId is required");
+        }
+        Optional<Users> userOptional = usersRepository.findById(userId);
+        if (!userOptional.isPresent()) {
+            throw new IllegalArgumentException("User not found with ID: " + userId);
+        }
+        return donationBulkIngester.ingest(userOptional.get(), body);
+    }
+
     @Override
     public DonationResponseDTO updateDonation(Donations donation) {
         Optional<Donations> existingDonation = donationsRepository.findById(donation.getDonation_id());
         if (existingDonation.isPresent()) {
-            Donations updatedDonation = existingDonation.get();
-            if (!updatedDonation.getUser().getUser_id().equals(donation.getUser().getUser_id())) {
+            Donations current = existingDonation.get();
+            if (!current.getUser().getUser_id().equals(donation.getUser().getUser_id())) {
                 return null; // Unauthorized
             }
-            updatedDonation.setFood_description(donation.getFood_description());
-            updatedDonation.setFood_category(donation.getFood_category());
-            updatedDonation.setQuantity_kg(donation.getQuantity_kg());
-            updatedDonation.setExpiry_date(donation.getExpiry_date());
-            updatedDonation.setPickup_window_start(donation.getPickup_window_start());
-            updatedDonation.setPickup_window_end(donation.getPickup_window_end());
-            updatedDonation.setLatitude(donation.getLatitude());
-            updatedDonation.setLongitude(donation.getLongitude());
-            updatedDonation.setUpdated_at(LocalDateTime.now());
-            Donations savedDonation = donationsRepository.save(updatedDonation);
+            // Saving the loaded entity would write back the status it was read with, over a concurrent claim
+            Donations savedDonation = donationClaimService.update(current.getDonation_id(), current.getStatus(), updated -> {
+                updated.setFood_description(donation.getFood_description());
+                updated.setFood_category(donation.getFood_category());
+                updated.setQuantity_kg(donation.getQuantity_kg());
+                updated.setExpiry_date(donation.getExpiry_date());
+                updated.setPickup_window_start(donation.getPickup_window_start());
+                updated.setPickup_window_end(donation.getPickup_window_end());
+                updated.setLatitude(donation.getLatitude());
+                updated.setLongitude(donation.getLongitude());
+            });
             return mapToResponseDTO(savedDonation);
         }
         return null;
@@ -110,7 +179,9 @@ public class DonorServiceImpl implements DonorService {
     public String deleteDonation(String donationId, String userId) {
         Optional<Donations> donation = donationsRepository.findById(donationId);
         if (donation.isPresent() && donation.get().getUser().getUser_id().equals(userId)) {
+            DonationSnapshot before = DonationSnapshot.of(donation.get());
             donationsRepository.deleteById(donationId);
+            eventPublisher.publishEvent(new DonationChangedEvent(before, null));
             return "Donation deleted successfully";
         }
         return "Donation ID Not Found or Unauthorized";
@@ -134,52 +205,235 @@ public class DonorServiceImpl implements DonorService {
 
     @Override
     public DonationResponseDTO getDonationDetails(String donationId, String userId) {
-        Optional<Donations> donation = donationsRepository.findById(donationId);
+        Optional<Donations> donation = entityReadCache.findDonation(donationId);
         if (donation.isPresent() && donation.get().getUser().getUser_id().equals(userId)) {
             return mapToResponseDTO(donation.get());
         }
         return null;
     }
     @Override
-    public List<MatchedBeneficiaryDTO> matchDonation(String donationId, String userId) {
-        Optional<Donations> donation = donationsRepository.findById(donationId);
+    public List<MatchedBeneficiaryDTO> matchDonation(String donationId, String userId, Double radiusKm, Integer limit) {
+        double radius = radiusKm != null ? radiusKm : defaultMatchRadiusKm;
+        int maxResults = limit != null ? limit : defaultMatchLimit;
+        if (radius <= 0 || radius > maxMatchRadiusKm) {
+            throw new IllegalArgumentException("radiusKm must be between 0 and " + maxMatchRadiusKm);
+        }
+        if (maxResults <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        Optional<Donations> donation = entityReadCache.findDonation(donationId);
         if (donation.isPresent() && donation.get().getUser().getUser_id().equals(userId)) {
             Double donationLat = donation.get().getLatitude();
             Double donationLon = donation.get().getLongitude();
-            List<Users> beneficiaries = donationsRepository.findActiveBeneficiaries();
-            List<MatchedBeneficiaryDTO> matches = new ArrayList<>();
-            for (Users beneficiary : beneficiaries) {
-                if (beneficiary.getLatitude() != null && beneficiary.getLongitude() != null) {
-                    double distance = calculateDistance(donationLat, donationLon, beneficiary.getLatitude(), beneficiary.getLongitude());
-                    if (distance <= 50) { // Arbitrary threshold of 50km
-                        MatchedBeneficiaryDTO dto = new MatchedBeneficiaryDTO();
-                        dto.setUserId(beneficiary.getUser_id());
-                        dto.setUsername(beneficiary.getUsername());
-                        dto.setDistanceKm(distance);
-                        matches.add(dto);
-                    }
-                }
+            if (donationLat == null || donationLon == null) {
+                return new ArrayList<>();
+            }
+            if (matchIndexEnabled && beneficiaryLocationIndex.isLoaded()) {
+                return beneficiaryLocationIndex.findNearest(donationLat, donationLon, radius, maxResults);
             }
-            return matches;
+            BoundingBox box = BoundingBox.around(donationLat, donationLon, radius);
+            List<Users> beneficiaries = usersRepository.findActiveBeneficiariesInBox(
+                    box.getMinLat(), box.getMaxLat(), box.getMinLon(), box.getMaxLon());
+            return scanNearest(donationLat, donationLon, beneficiaries, radius, maxResults);
         }
         return new ArrayList<>();
     }
 
+    // Exact distance check over the candidates, used while the location index is loading or disabled
+    private List<MatchedBeneficiaryDTO> scanNearest(double latitude, double longitude, List<Users> beneficiaries,
+                                                    double radius, int maxResults) {
+        List<MatchedBeneficiaryDTO> matches = new ArrayList<>();
+        for (Users beneficiary : beneficiaries) {
+            if (beneficiary.getLatitude() != null && beneficiary.getLongitude() != null) {
+                double distance = calculateDistance(latitude, longitude, beneficiary.getLatitude(), beneficiary.getLongitude());
+                if (distance <= radius) {
+                    MatchedBeneficiaryDTO dto = new MatchedBeneficiaryDTO();
+                    dto.setUserId(beneficiary.getUser_id());
+                    dto.setUsername(beneficiary.getUsername());
+                    dto.setDistanceKm(distance);
+                    matches.add(dto);
+                }
+            }
+        }
+        matches.sort(Comparator.comparing(MatchedBeneficiaryDTO::getDistanceKm));
+        return matches.size() > maxResults ? new ArrayList<>(matches.subList(0, maxResults)) : matches;
+    }
+
     @Override
     public DonationResponseDTO updateDonationStatus(String donationId, String userId, String status) {
         Optional<Donations> existingDonation = donationsRepository.findById(donationId);
         if (existingDonation.isPresent() && existingDonation.get().getUser().getUser_id().equals(userId)) {
             Donations donation = existingDonation.get();
+            Donations.Status newStatus;
             try {
-                Donations.Status newStatus = Donations.Status.valueOf(status);
-                donation.setStatus(newStatus);
-                donation.setUpdated_at(LocalDateTime.now());
-                Donations savedDonation = donationsRepository.save(donation);
-                return mapToResponseDTO(savedDonation);
+                newStatus = Donations.Status.valueOf(status);
             } catch (IllegalArgumentException e) {
                 return null;
             }
+            Donations savedDonation = donationClaimService.update(donationId, donation.getStatus(),
+                    updated -> updated.setStatus(newStatus));
+            return mapToResponseDTO(savedDonation);
         }
         return null;
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<DonationResponseDTO> listNearbyDonations(String userId, Double latitude, Double longitude,
+                                                         Double radiusKm, Integer limit) {
+        if ((latitude == null || longitude == null) && userId != null && !userId.isEmpty()) {
+            Optional<Users> userOptional = entityReadCache.findUser(userId);
+            if (!userOptional.isPresent()) {
+                throw new IllegalArgumentException("User not found with ID: " + userId);
+            }
+            latitude = userOptional.get().getLatitude();
+            longitude = userOptional.get().getLongitude();
+        }
+        if (latitude == null || longitude == null) {
+            throw new IllegalArgumentException("latitude and longitude are required");
+        }
+        double radius = radiusKm != null ? radiusKm : defaultMatchRadiusKm;
+        int maxResults = limit != null ? limit : defaultMatchLimit;
+        if (radius <= 0 || radius > maxMatchRadiusKm) {
+            throw new IllegalArgumentException("radiusKm must be between 0 and " + maxMatchRadiusKm);
+        }
+        if (maxResults <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+
+        BoundingBox box = BoundingBox.around(latitude, longitude, radius);
+        List<Donations> candidates = donationsRepository.findByStatusInBox(Donations.Status.available,
+                box.getMinLat(), box.getMaxLat(), box.getMinLon(), box.getMaxLon());
+        List<DonationResponseDTO> nearby = new ArrayList<>();
+        for (Donations donation : candidates) {
+            double distance = calculateDistance(latitude, longitude, donation.getLatitude(), donation.getLongitude());
+            if (distance <= radius) {
+                DonationResponseDTO dto = mapToResponseDTO(donation);
+                dto.setDistanceKm(distance);
+                nearby.add(dto);
+            }
+        }
+        nearby.sort(Comparator.comparing(DonationResponseDTO::getDistanceKm));
+        return nearby.size() > maxResults ? new ArrayList<>(nearby.subList(0, maxResults)) : nearby;
+    }
+
+    @Override
+    public PageResponseDTO<DonationRequestResponseDTO> listIncomingRequests(String userId, String status, String cursor,
+                                                                            int page, int size) {
+        if (userId == null || userId.isEmpty()) {
+            throw new IllegalArgumentException("userId is required");
+        }
+        if (size <= 0 || page < 0) {
+            throw new IllegalArgumentException("page must be non-negative and size positive");
+        }
+        // An empty status lists requests in every status
+        DonationRequest.Status requestStatus = null;
+        if (status != null && !status.isEmpty()) {
+            try {
+                requestStatus = DonationRequest.Status.valueOf(status);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid status: " + status);
+            }
+        }
+        int pageSize = Math.min(size, MAX_PAGE_SIZE);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        // A cursor continues from the previous page; without one, fall back to the page offset
+        List<DonationRequestResponseDTO> requests = after != null
+                ? donationRequestRepository.findInboxPage(userId, requestStatus, after.getCreatedAt(), after.getId(),
+                        PageRequest.of(0, pageSize))
+                : donationRequestRepository.findInboxPage(userId, requestStatus, null, null, PageRequest.of(page, pageSize));
+
+        // One grouped count gives both the page total and the per-status badges
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (DonationRequest.Status value : DonationRequest.Status.values()) {
+            counts.put(value.name(), 0L);
+        }
+        long all = 0;
+        for (Object[] row : donationRequestRepository.countInboxByStatus(userId)) {
+            long count = ((Number) row[1]).longValue();
+            counts.put(((DonationRequest.Status) row[0]).name(), count);
+            all += count;
+        }
+        long total = requestStatus != null ? counts.get(requestStatus.name()) : all;
+
+        PageResponseDTO<DonationRequestResponseDTO> response = new PageResponseDTO<>();
+        response.setContent(requests);
+        response.setPage(page);
+        response.setSize(pageSize);
+        response.setTotalElements(total);
+        response.setTotalPages((int) ((total + pageSize - 1) / pageSize));
+        response.setStatusCounts(counts);
+        if (requests.size() == pageSize) {
+            DonationRequestResponseDTO last = requests.get(requests.size() - 1);
+            response.setNextCursor(new KeysetCursor(last.getRequestedAt(), last.getRequestId()).encode());
+        }
+        return response;
+    }
+
+    @Override
+    public DonationSearchResponseDTO searchDonations(String keyword, String foodCategory, String location, Double latitude,
+                                                     Double longitude, Double radiusKm, String sort, Integer limit) {
+        Donations.FoodCategory category = null;
+        if (foodCategory != null && !foodCategory.isEmpty()) {
+            try {
+                category = Donations.FoodCategory.valueOf(foodCategory);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid food_category: " + foodCategory);
+            }
+        }
+        if ((latitude == null) != (longitude == null)) {
+            throw new IllegalArgumentException("latitude and longitude must be given together");
+        }
+        Double radius = null;
+        if (latitude != null) {
+            radius = radiusKm != null ? radiusKm : defaultMatchRadiusKm;
+            if (radius <= 0 || radius > maxMatchRadiusKm) {
+                throw new IllegalArgumentException("radiusKm must be between 0 and " + maxMatchRadiusKm);
+            }
+        }
+        DonationSearchIndex.Sort order = DonationSearchIndex.Sort.expiry;
+        if (sort != null && !sort.isEmpty()) {
+            try {
+                order = DonationSearchIndex.Sort.valueOf(sort);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid sort: " + sort);
+            }
+        }
+        if (order == DonationSearchIndex.Sort.distance && latitude == null) {
+            throw new IllegalArgumentException("sort=distance requires latitude and longitude");
+        }
+        int maxResults = limit != null ? limit : defaultSearchLimit;
+        if (maxResults <= 0 || maxResults > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return donationSearchIndex.search(keyword, category, location, latitude, longitude, radius,
+                order, maxResults, LocalDateTime.now());
+    }
+
+    @Override
+    public List<Map<String, Object>> listFoodCategories() {
+        List<Map<String, Object>> categories = new ArrayList<>();
+        for (Map.Entry<Donations.FoodCategory, Long> entry : donationSearchIndex.countByCategory(LocalDateTime.now()).entrySet()) {
+            Map<String, Object> category = new LinkedHashMap<>();
+            category.put("value", entry.getKey().name());
+            category.put("label", categoryLabel(entry.getKey().name()));
+            category.put("available", entry.getValue());
+            categories.add(category);
+        }
+        return categories;
+    }
+
+    // "non_perishable" -> "Non Perishable"
+    private static String categoryLabel(String name) {
+        StringBuilder label = new StringBuilder();
+        for (String word : name.split("[_\\-]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (label.length() > 0) {
+                label.append(' ');
+            }
+            label.append(Character.toUpperCase(word.charAt(0))).append(word.substring(1));
+        }
+        return label.toString();
+    }
+}
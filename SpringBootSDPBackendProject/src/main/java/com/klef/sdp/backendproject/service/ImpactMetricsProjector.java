@@ -0,0 +1,190 @@
+package com.klef.sdp.backendproject.service;
+
+import com.klef.sdp.backendproject.event.DonationChangedEvent;
+import com.klef.sdp.backendproject.event.DonationSnapshot;
+import com.klef.sdp.backendproject.model.Donations;
+import com.klef.sdp.backendproject.model.ImpactMetrics;
+import com.klef.sdp.backendproject.repository.DonationsRepository;
+import com.klef.sdp.backendproject.repository.ImpactMetricsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Keeps one impact_metrics row per donor in step with their delivered donations, so the
+// impact endpoint reads a single row instead of summing every donation the user has made.
+@Component
+public class ImpactMetricsProjector {
+    private static final Logger log = LoggerFactory.getLogger(ImpactMetricsProjector.class);
+
+    // Assume 1 kg = 2 meals and 0.5 kg CO2 offset per kg of food saved
+    public static final double MEALS_PER_KG = 2;
+    public static final double CARBON_OFFSET_PER_KG = 0.5;
+
+    @Autowired
+    private ImpactMetricsRepository impactMetricsRepository;
+
+    @Autowired
+    private DonationsRepository donationsRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${foodshare.impact.backfill.chunk-size:500}")
+    private int backfillChunkSize;
+
+    @Value("${foodshare.impact.backfill.threads:4}")
+    private int backfillThreads;
+
+    // Donors whose row could not be updated from an event; recomputed from the donations table
+    private final Set<String> needsReconcile = ConcurrentHashMap.newKeySet();
+
+    private static double deliveredKg(DonationSnapshot donation) {
+        return donation != null && donation.getStatus() == Donations.Status.delivered ? donation.getQuantityKg() : 0.0;
+    }
+
+    private static void setTotals(ImpactMetrics metrics, double foodSavedKg) {
+        metrics.setFood_saved_kg(foodSavedKg);
+        metrics.setMeals_served((long) (foodSavedKg * MEALS_PER_KG));
+        metrics.setCarbon_offset_kg(foodSavedKg * CARBON_OFFSET_PER_KG);
+        metrics.setUpdated_at(LocalDateTime.now());
+    }
+
+    private static ImpactMetrics newMetrics(String userId) {
+        ImpactMetrics metrics = new ImpactMetrics();
+        metrics.setUser_id(userId);
+        return metrics;
+    }
+
+    @EventListener
+    public void onDonationChanged(DonationChangedEvent event) {
+        double delta = deliveredKg(event.getAfter()) - deliveredKg(event.getBefore());
+        if (delta == 0) {
+            return;
+        }
+        String userId = event.getAfter() != null ? event.getAfter().getDonorId() : event.getBefore().getDonorId();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            try {
+                transaction.executeWithoutResult(status -> addFoodSaved(userId, delta));
+            } catch (DataIntegrityViolationException e) {
+                // Another thread inserted the first row for this user; the row now exists, so lock and add to it
+                transaction.executeWithoutResult(status -> addFoodSaved(userId, delta));
+            }
+        } catch (RuntimeException e) {
+            // The donation change has already been saved; never fail the caller, recompute this user later
+            log.warn("Failed to update impact metrics for user {}: {}", userId, e.getMessage());
+            needsReconcile.add(userId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${foodshare.impact.reconcile-ms:60000}",
+            initialDelayString = "${foodshare.impact.reconcile-ms:60000}")
+    public void reconcilePending() {
+        if (needsReconcile.isEmpty()) {
+            return;
+        }
+        List<String> userIds = new ArrayList<>(needsReconcile);
+        needsReconcile.removeAll(userIds);
+        for (int from = 0; from < userIds.size(); from += backfillChunkSize) {
+            List<String> chunk = userIds.subList(from, Math.min(from + backfillChunkSize, userIds.size()));
+            try {
+                backfillChunk(chunk);
+            } catch (RuntimeException e) {
+                log.warn("Failed to reconcile impact metrics for {} users: {}", chunk.size(), e.getMessage());
+                needsReconcile.addAll(chunk);
+            }
+        }
+    }
+
+    private void addFoodSaved(String userId, double delta) {
+        Optional<ImpactMetrics> existing = impactMetricsRepository.findByUserIdForUpdate(userId);
+        ImpactMetrics metrics = existing.orElseGet(() -> newMetrics(userId));
+        setTotals(metrics, Math.max(0.0, metrics.getFood_saved_kg() + delta));
+        impactMetricsRepository.saveAndFlush(metrics);
+    }
+
+    // Recomputes every donor's metrics from the donations table. Donor ids are split into chunks
+    // that are summed and written in parallel, each chunk in its own transaction.
+    public int backfill() {
+        Set<String> userIds = new LinkedHashSet<>(donationsRepository.findDonorIds());
+        userIds.addAll(impactMetricsRepository.findAllUserIds());
+        List<String> ids = new ArrayList<>(userIds);
+
+        ExecutorService executor = Executors.newFixedThreadPool(backfillThreads);
+        try {
+            List<Future<Integer>> chunks = new ArrayList<>();
+            for (int from = 0; from < ids.size(); from += backfillChunkSize) {
+                List<String> chunk = ids.subList(from, Math.min(from + backfillChunkSize, ids.size()));
+                chunks.add(executor.submit(() -> backfillChunk(chunk)));
+            }
+            int updated = 0;
+            for (Future<Integer> chunk : chunks) {
+                updated += chunk.get();
+            }
+            return updated;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Impact metrics backfill interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Impact metrics backfill failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // Each chunk runs in its own transaction. A first row that an event inserted for one of the users
+    // while the chunk ran fails the chunk's insert; the row exists by then, so the retry locks it.
+    private int backfillChunk(List<String> userIds) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            return transaction.execute(status -> writeTotals(userIds));
+        } catch (DataIntegrityViolationException e) {
+            return transaction.execute(status -> writeTotals(userIds));
+        }
+    }
+
+    // The existing rows are locked before the donations are summed, so an event's delta either
+    // committed first and is in the sum, or waits for the lock and is added on top of it. A delta
+    // whose donation committed before the sum but whose listener had not yet locked the row is
+    // counted twice, like any change that lands in the gap between a donation and its event.
+    private int writeTotals(List<String> userIds) {
+        Map<String, ImpactMetrics> existing = new HashMap<>();
+        for (ImpactMetrics metrics : impactMetricsRepository.findByUserIdInForUpdate(userIds)) {
+            existing.put(metrics.getUser_id(), metrics);
+        }
+        Map<String, Double> delivered = new HashMap<>();
+        for (Object[] row : donationsRepository.sumQuantityByDonors(Donations.Status.delivered, userIds)) {
+            delivered.put((String) row[0], row[1] != null ? ((Number) row[1]).doubleValue() : 0.0);
+        }
+        List<ImpactMetrics> rows = new ArrayList<>(userIds.size());
+        for (String userId : userIds) {
+            ImpactMetrics metrics = existing.getOrDefault(userId, newMetrics(userId));
+            setTotals(metrics, delivered.getOrDefault(userId, 0.0));
+            rows.add(metrics);
+        }
+        // Flushed here so a clashing insert fails inside the chunk and is retried
+        impactMetricsRepository.saveAllAndFlush(rows);
+        return rows.size();
+    }
+}
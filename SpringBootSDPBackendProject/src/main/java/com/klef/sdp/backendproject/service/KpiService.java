@@ -0,0 +1,11 @@
+package com.klef.sdp.backendproject.service;
+
+import com.klef.sdp.backendproject.dto.PlatformKpiResponseDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface KpiService {
+    PlatformKpiResponseDTO getLatestKpis();
+    List<PlatformKpiResponseDTO> getKpiHistory(LocalDateTime from, LocalDateTime to);
+}
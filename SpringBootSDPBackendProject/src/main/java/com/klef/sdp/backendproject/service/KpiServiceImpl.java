@@ -0,0 +1,158 @@
+package com.klef.sdp.backendproject.service;
+
+import com.klef.sdp.backendproject.dto.PlatformKpiResponseDTO;
+import com.klef.sdp.backendproject.event.DonationChangedEvent;
+import com.klef.sdp.backendproject.model.Donations;
+import com.klef.sdp.backendproject.model.PlatformKPIs;
+import com.klef.sdp.backendproject.repository.PlatformKPIsRepository;
+import com.klef.sdp.backendproject.repository.UsersRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+// Writes a platform_kpis row per time bucket from the in-memory analytics counters and serves the
+// most recent one from memory, so the home page never queries the donations table.
+@Service
+public class KpiServiceImpl implements KpiService {
+    private static final int MAX_LATENCY_SAMPLES = 10000;
+    private static final int MAX_HISTORY_ROWS = 5000;
+
+    @Autowired
+    private PlatformKPIsRepository platformKPIsRepository;
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Autowired
+    private DonationAnalyticsStore analyticsStore;
+
+    @Value("${foodshare.kpi.bucket-minutes:15}")
+    private int bucketMinutes;
+
+    private final AtomicReference<PlatformKpiResponseDTO> latest = new AtomicReference<>();
+
+    // Creation-to-delivery minutes seen in the current bucket, reservoir-sampled once full
+    private final List<Double> pickupLatencies = new ArrayList<>();
+    private long pickupLatencyCount;
+
+    private PlatformKpiResponseDTO mapToResponseDTO(PlatformKPIs kpis) {
+        PlatformKpiResponseDTO dto = new PlatformKpiResponseDTO();
+        dto.setBucketStart(kpis.getBucket_start());
+        dto.setTotalDonations(kpis.getTotal_donations());
+        dto.setTotalFoodSavedKg(kpis.getTotal_food_saved_kg());
+        dto.setTotalMealsServed(kpis.getTotal_meals_served());
+        dto.setTotalCarbonOffsetKg(kpis.getTotal_carbon_offset_kg());
+        dto.setActiveDonors(kpis.getActive_donors());
+        dto.setActiveBeneficiaries(kpis.getActive_beneficiaries());
+        dto.setMedianPickupMinutes(kpis.getMedian_pickup_minutes());
+        dto.setUpdatedAt(kpis.getUpdated_at());
+        return dto;
+    }
+
+    @EventListener
+    public void onDonationChanged(DonationChangedEvent event) {
+        if (!event.isStatusChange() || event.getAfter().getStatus() != Donations.Status.delivered
+                || event.getAfter().getCreatedAt() == null || event.getAfter().getUpdatedAt() == null) {
+            return;
+        }
+        double minutes = Duration.between(event.getAfter().getCreatedAt(), event.getAfter().getUpdatedAt()).toSeconds() / 60.0;
+        synchronized (pickupLatencies) {
+            pickupLatencyCount++;
+            if (pickupLatencies.size() < MAX_LATENCY_SAMPLES) {
+                pickupLatencies.add(minutes);
+            } else {
+                long slot = ThreadLocalRandom.current().nextLong(pickupLatencyCount);
+                if (slot < MAX_LATENCY_SAMPLES) {
+                    pickupLatencies.set((int) slot, minutes);
+                }
+            }
+        }
+    }
+
+    private Double drainMedianPickupMinutes() {
+        List<Double> samples;
+        synchronized (pickupLatencies) {
+            samples = new ArrayList<>(pickupLatencies);
+            pickupLatencies.clear();
+            pickupLatencyCount = 0;
+        }
+        if (samples.isEmpty()) {
+            return null;
+        }
+        Collections.sort(samples);
+        int middle = samples.size() / 2;
+        return samples.size() % 2 == 1 ? samples.get(middle) : (samples.get(middle - 1) + samples.get(middle)) / 2;
+    }
+
+    private LocalDateTime currentBucket() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        return now.withMinute(now.getMinute() - now.getMinute() % bucketMinutes);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadLatest() {
+        List<PlatformKPIs> rows = platformKPIsRepository.findLatest(PageRequest.of(0, 1));
+        if (rows.isEmpty()) {
+            snapshot();
+        } else {
+            latest.set(mapToResponseDTO(rows.get(0)));
+        }
+    }
+
+    @Scheduled(cron = "${foodshare.kpi.snapshot-cron:0 */15 * * * *}")
+    public void snapshot() {
+        if (!analyticsStore.isLoaded()) {
+            analyticsStore.rebuild();
+        }
+        LocalDateTime bucket = currentBucket();
+        List<PlatformKPIs> existing = platformKPIsRepository.findByBucketRange(bucket, bucket.plusMinutes(1), PageRequest.of(0, 1));
+        PlatformKPIs kpis = existing.isEmpty() ? new PlatformKPIs() : existing.get(0);
+        double foodSavedKg = analyticsStore.getDeliveredKg();
+        kpis.setBucket_start(bucket);
+        kpis.setTotal_donations(analyticsStore.getTotalDonations());
+        kpis.setTotal_food_saved_kg(foodSavedKg);
+        kpis.setTotal_meals_served((long) (foodSavedKg * ImpactMetricsProjector.MEALS_PER_KG));
+        kpis.setTotal_carbon_offset_kg(foodSavedKg * ImpactMetricsProjector.CARBON_OFFSET_PER_KG);
+        kpis.setActive_donors(usersRepository.countByRoleAndActive("donor", true));
+        kpis.setActive_beneficiaries(usersRepository.countByRoleAndActive("beneficiary", true));
+        Double median = drainMedianPickupMinutes();
+        if (median != null || kpis.getKpi_id() == null) {
+            kpis.setMedian_pickup_minutes(median);
+        }
+        kpis.setUpdated_at(LocalDateTime.now());
+        latest.set(mapToResponseDTO(platformKPIsRepository.save(kpis)));
+    }
+
+    @Override
+    public PlatformKpiResponseDTO getLatestKpis() {
+        PlatformKpiResponseDTO kpis = latest.get();
+        if (kpis == null) {
+            throw new IllegalStateException("KPI snapshot not available yet");
+        }
+        return kpis;
+    }
+
+    @Override
+    public List<PlatformKpiResponseDTO> getKpiHistory(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        return platformKPIsRepository.findByBucketRange(from, to, PageRequest.of(0, MAX_HISTORY_ROWS)).stream()
+                .map(this::mapToResponseDTO)
+                .collect(Collectors.toList());
+    }
+}
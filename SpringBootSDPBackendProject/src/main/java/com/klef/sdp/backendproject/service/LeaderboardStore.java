@@ -0,0 +1,166 @@
+package com.klef.sdp.backendproject.service;
+
+import com.klef.sdp.backendproject.dto.LeaderboardResponseDTO;
+import com.klef.sdp.backendproject.repository.RewardRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+// Per-user point totals kept in a set ordered by (points desc, user id), so the leaderboard is
+// served without a GROUP BY over the rewards table. Totals are updated by assignRewardPoints and
+// periodically reconciled against the table.
+@Component
+public class LeaderboardStore {
+    @Autowired
+    private RewardRepository rewardRepository;
+
+    private static final Comparator<Standing> BY_POINTS_DESC = Comparator
+            .comparingLong((Standing s) -> s.points).reversed()
+            .thenComparing(s -> s.userId);
+
+    private final Object reconcileLock = new Object();
+    private final Map<String, Standing> byUserId = new HashMap<>();
+    private final TreeSet<Standing> ranking = new TreeSet<>(BY_POINTS_DESC);
+    // Points added while a reconcile is reading the table; non-null only then
+    private List<PointsAdded> addedDuringReconcile;
+    private volatile boolean loaded;
+
+    private static class Standing {
+        private final String userId;
+        private String username;
+        private long points;
+
+        private Standing(String userId) {
+            this.userId = userId;
+        }
+    }
+
+    private static class PointsAdded {
+        private final String userId;
+        private final String username;
+        private final long points;
+
+        private PointsAdded(String userId, String username, long points) {
+            this.userId = userId;
+            this.username = username;
+            this.points = points;
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public synchronized void addPoints(String userId, String username, long points) {
+        apply(userId, username, points);
+        if (addedDuringReconcile != null) {
+            addedDuringReconcile.add(new PointsAdded(userId, username, points));
+        }
+    }
+
+    private void apply(String userId, String username, long points) {
+        Standing standing = byUserId.get(userId);
+        if (standing == null) {
+            standing = new Standing(userId);
+            byUserId.put(userId, standing);
+        } else {
+            ranking.remove(standing);
+        }
+        standing.points += points;
+        if (username != null) {
+            standing.username = username;
+        }
+        ranking.add(standing);
+    }
+
+    // Entries offset..offset+limit of the ranking; cost is O(offset + limit)
+    public synchronized List<LeaderboardResponseDTO> page(int offset, int limit) {
+        List<LeaderboardResponseDTO> page = new ArrayList<>(Math.min(limit, ranking.size()));
+        Iterator<Standing> iterator = ranking.iterator();
+        int rank = 0;
+        while (iterator.hasNext() && page.size() < limit) {
+            Standing standing = iterator.next();
+            if (++rank > offset) {
+                page.add(toDTO(standing, rank));
+            }
+        }
+        return page;
+    }
+
+    // Returns null if the user has never been awarded points; cost is O(rank)
+    public synchronized LeaderboardResponseDTO rankOf(String userId) {
+        Standing standing = byUserId.get(userId);
+        if (standing == null) {
+            return null;
+        }
+        return toDTO(standing, ranking.headSet(standing).size() + 1);
+    }
+
+    public synchronized int size() {
+        return ranking.size();
+    }
+
+    private LeaderboardResponseDTO toDTO(Standing standing, int rank) {
+        LeaderboardResponseDTO dto = new LeaderboardResponseDTO();
+        dto.setUserId(standing.userId);
+        dto.setUsername(standing.username);
+        dto.setTotalPoints(standing.points);
+        dto.setRank(rank);
+        return dto;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reconcile();
+    }
+
+    // Replaces every total with the SUM(points) from the rewards table, then replays the points added
+    // while the query ran on top of it. Buffering starts right before the query, so only a reward saved
+    // just before the query but added here just after it can still be counted twice until the next pass.
+    @Scheduled(fixedDelayString = "${foodshare.leaderboard.reconcile-ms:900000}",
+               initialDelayString = "${foodshare.leaderboard.reconcile-ms:900000}")
+    public void reconcile() {
+        synchronized (reconcileLock) {
+            synchronized (this) {
+                addedDuringReconcile = new ArrayList<>();
+            }
+            List<Object[]> totals;
+            try {
+                totals = rewardRepository.findTopUsersByPoints();
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    addedDuringReconcile = null;
+                }
+                throw e;
+            }
+            swapIn(totals);
+        }
+    }
+
+    private synchronized void swapIn(List<Object[]> totals) {
+        byUserId.clear();
+        ranking.clear();
+        for (Object[] row : totals) {
+            Standing standing = new Standing((String) row[0]);
+            standing.username = (String) row[1];
+            standing.points = ((Number) row[2]).longValue();
+            byUserId.put(standing.userId, standing);
+            ranking.add(standing);
+        }
+        for (PointsAdded added : addedDuringReconcile) {
+            apply(added.userId, added.username, added.points);
+        }
+        addedDuringReconcile = null;
+        loaded = true;
+    }
+}
@@ -0,0 +1,247 @@
+package com.klef.sdp.backendproject.service;
+
+import com.klef.sdp.backendproject.event.DonationChangedEvent;
+import com.klef.sdp.backendproject.event.DonationExpiredEvent;
+import com.klef.sdp.backendproject.event.DonationRequestsRejectedEvent;
+import com.klef.sdp.backendproject.event.DonationSnapshot;
+import com.klef.sdp.backendproject.event.PickupWindowEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-memory pub/sub behind the SSE stream. Publishing only offers the event to each of the user's
+// subscriber queues; a small dispatcher pool writes them out, one drain task per subscriber at a time.
+// A subscriber whose queue fills up is too slow to keep up and is disconnected instead of
+// holding events (and memory) for it; the client reconnects and reloads its lists.
+@Component
+public class LiveUpdateBroker {
+    private static final Logger log = LoggerFactory.getLogger(LiveUpdateBroker.class);
+    // Events written per drain task before yielding the dispatcher thread to other subscribers
+    private static final int DRAIN_BATCH = 32;
+
+    @Value("${foodshare.sse.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Value("${foodshare.sse.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${foodshare.sse.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${foodshare.sse.dispatch-threads:4}")
+    private int dispatchThreads;
+
+    private final Map<String, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private ExecutorService dispatcher;
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong evictedSlow = new AtomicLong();
+
+    private class Subscriber {
+        private final String userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(String userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "sse-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        subscribers.values().forEach(list -> list.forEach(subscriber -> close(subscriber, false)));
+        dispatcher.shutdownNow();
+    }
+
+    public SseEmitter subscribe(String userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> close(subscriber, false));
+        emitter.onError(error -> remove(subscriber));
+
+        List<Subscriber> list = subscribers.compute(userId, (id, existing) -> {
+            List<Subscriber> updated = existing != null ? existing : new CopyOnWriteArrayList<>();
+            updated.add(subscriber);
+            return updated;
+        });
+        // Oldest connections go first when a user opens too many tabs
+        while (list.size() > maxConnectionsPerUser) {
+            Subscriber oldest = list.get(0);
+            close(oldest, false);
+            remove(oldest);
+        }
+        enqueue(subscriber, SseEmitter.event().name("connected").data(Map.of("user_id", userId)));
+        return emitter;
+    }
+
+    public void publish(String userId, String eventName, Object payload) {
+        if (userId == null) {
+            return;
+        }
+        List<Subscriber> list = subscribers.get(userId);
+        if (list == null || list.isEmpty()) {
+            return;
+        }
+        published.incrementAndGet();
+        for (Subscriber subscriber : list) {
+            enqueue(subscriber, SseEmitter.event().name(eventName).data(payload));
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.closed) {
+            return;
+        }
+        if (!subscriber.queue.offer(event)) {
+            evictedSlow.incrementAndGet();
+            log.debug("Disconnecting slow SSE subscriber for user {}", subscriber.userId);
+            close(subscriber, true);
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        int sent = 0;
+        while (!subscriber.closed) {
+            SseEmitter.SseEventBuilder event = subscriber.queue.poll();
+            if (event == null) {
+                subscriber.draining.set(false);
+                // An event may have arrived between the empty poll and clearing the flag
+                if (subscriber.queue.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                subscriber.emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                close(subscriber, false);
+                return;
+            }
+            if (++sent >= DRAIN_BATCH && !subscriber.queue.isEmpty()) {
+                dispatcher.execute(() -> drain(subscriber));
+                return;
+            }
+        }
+    }
+
+    private void close(Subscriber subscriber, boolean slow) {
+        if (subscriber.closed) {
+            return;
+        }
+        subscriber.closed = true;
+        remove(subscriber);
+        subscriber.queue.clear();
+        try {
+            if (slow) {
+                subscriber.emitter.completeWithError(new IllegalStateException("Subscriber too slow"));
+            } else {
+                subscriber.emitter.complete();
+            }
+        } catch (RuntimeException e) {
+            // Already completed by the container
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.computeIfPresent(subscriber.userId, (id, list) -> {
+            list.remove(subscriber);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    // Keeps idle connections open through proxies and finds the ones whose client went away
+    @Scheduled(fixedRateString = "${foodshare.sse.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (List<Subscriber> list : subscribers.values()) {
+            for (Subscriber subscriber : list) {
+                enqueue(subscriber, SseEmitter.event().comment("ping"));
+            }
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("users", subscribers.size());
+        stats.put("connections", subscribers.values().stream().mapToInt(List::size).sum());
+        stats.put("published", published.get());
+        stats.put("evictedSlowConsumers", evictedSlow.get());
+        return stats;
+    }
+
+    private static Map<String, Object> payload(String donationId, String status) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("donation_id", donationId);
+        payload.put("status", status);
+        return payload;
+    }
+
+    @EventListener
+    public void onDonationChanged(DonationChangedEvent event) {
+        DonationSnapshot current = event.getAfter() != null ? event.getAfter() : event.getBefore();
+        Map<String, Object> payload = payload(event.getDonationId(),
+                event.getAfter() != null ? event.getAfter().getStatus().name() : "deleted");
+        payload.put("previous_status", event.getBefore() != null ? event.getBefore().getStatus().name() : null);
+        publish(current.getDonorId(), "donation", payload);
+    }
+
+    @EventListener
+    public void onPickupWindow(PickupWindowEvent event) {
+        if (event.getType() == PickupWindowEvent.Type.STARTING) {
+            return;
+        }
+        Map<String, Object> payload = payload(event.getDonationId(),
+                event.getType() == PickupWindowEvent.Type.APPROVED ? "approved" : "cancelled");
+        payload.put("request_id", event.getRequestId());
+        publish(event.getBeneficiaryId(), "request", payload);
+    }
+
+    @EventListener
+    public void onRequestsRejected(DonationRequestsRejectedEvent event) {
+        for (String beneficiaryId : event.getBeneficiaryIds()) {
+            publish(beneficiaryId, "request", payload(event.getDonationId(), "rejected"));
+        }
+    }
+
+    @EventListener
+    public void onDonationExpired(DonationExpiredEvent event) {
+        for (String beneficiaryId : event.getCancelledBeneficiaryIds()) {
+            publish(beneficiaryId, "request", payload(event.getDonation().getDonationId(), "cancelled"));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.klef.sdp.backendproject.service;
+
+import com.klef.sdp.backendproject.dto.NotificationResponseDTO;
+import com.klef.sdp.backendproject.dto.PageResponseDTO;
+import com.klef.sdp.backendproject.model.Notifications;
+
+import java.util.Map;
+
+public interface NotificationService {
+    void notify(String userId, Notifications.Type type, String message, String referenceId);
+    PageResponseDTO<NotificationResponseDTO> listNotifications(String userId, String cursor, int page, int size);
+    long getUnreadCount(String userId);
+    boolean markAsRead(String notificationId);
+    int markAllAsRead(String userId);
+    Map<String, Object> getStats();
+}
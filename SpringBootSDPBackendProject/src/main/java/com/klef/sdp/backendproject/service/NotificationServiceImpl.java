@@ -0,0 +1,462 @@
+package com.klef.sdp.backendproject.service;
+
+import com.klef.sdp.backendproject.cache.BoundedTtlCache;
+import com.klef.sdp.backendproject.dto.NotificationResponseDTO;
+import com.klef.sdp.backendproject.dto.PageResponseDTO;
+import com.klef.sdp.backendproject.event.DonationExpiredEvent;
+import com.klef.sdp.backendproject.event.DonationRequestsRejectedEvent;
+import com.klef.sdp.backendproject.event.PickupWindowEvent;
+import com.klef.sdp.backendproject.id.IdGenerator;
+import com.klef.sdp.backendproject.model.Notifications;
+import com.klef.sdp.backendproject.repository.KeysetPageQuery;
+import com.klef.sdp.backendproject.repository.NotificationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+// Notifications are queued in memory and written by a single background thread in JDBC batches,
+// so the request that triggers one never waits on the insert. When the queue is full the
+// notification is dropped and counted rather than blocking the caller. It is pushed to the user's
+// live stream once its row is committed, so any id a client sees can already be marked read.
+// Unread counts live in a bounded set of per-user counters, seeded from the table on first read and
+// then kept in step by notify/markAsRead/markAllAsRead; an evicted or expired counter is seeded again.
+// Transactions run outside countLock, which only covers the in-memory bookkeeping around them.
+@Service
+public class NotificationServiceImpl implements NotificationService {
+    private static final Logger log = LoggerFactory.getLogger(NotificationServiceImpl.class);
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int SEED_ATTEMPTS = 5;
+    private static final DateTimeFormatter WINDOW_FORMAT = DateTimeFormatter.ofPattern("MMM d, HH:mm");
+    private static final String INSERT_SQL = "INSERT INTO notifications (notification_id, user_id, type, message, " +
+            "reference_id, is_read, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] INSERT_TYPES = {Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR, Types.BOOLEAN, Types.TIMESTAMP};
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private KeysetPageQuery keysetPageQuery;
+
+    @Autowired
+    private IdGenerator idGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private LiveUpdateBroker liveUpdateBroker;
+
+    @Value("${foodshare.notifications.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${foodshare.notifications.batch-size:200}")
+    private int batchSize;
+
+    @Value("${foodshare.notifications.flush-ms:200}")
+    private long flushMs;
+
+    @Value("${foodshare.notifications.write-attempts:3}")
+    private int writeAttempts;
+
+    @Value("${foodshare.notifications.unread-counters.max-size:100000}")
+    private int unreadCountersMaxSize;
+
+    @Value("${foodshare.notifications.unread-counters.ttl-seconds:3600}")
+    private long unreadCountersTtlSeconds;
+
+    private BlockingQueue<Notifications> queue;
+    private Thread writer;
+    private volatile boolean running;
+
+    private BoundedTtlCache<String, AtomicLong> unreadCounts;
+    // Guards the maps below and every change to a counter; never held across a query or transaction
+    private final Object countLock = new Object();
+    // Notifications accepted but not yet committed, per user; part of the unread count
+    private final Map<String, Integer> pendingUnread = new HashMap<>();
+    // Users with a transaction in flight that changes their unread rows. Its rows may or may not be
+    // visible to a table count, so their counters are not seeded until it ends.
+    private final Map<String, Integer> changesInFlight = new HashMap<>();
+    // Version token of the seed in progress per user, dropped when a change for that user starts;
+    // a seed whose token is gone read the table across a change and is discarded and retried
+    private final Map<String, Object> seeding = new HashMap<>();
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        unreadCounts = new BoundedTtlCache<>(unreadCountersMaxSize, unreadCountersTtlSeconds * 1000);
+        running = true;
+        writer = new Thread(this::runWriter, "notification-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    @Override
+    public void notify(String userId, Notifications.Type type, String message, String referenceId) {
+        if (userId == null) {
+            return;
+        }
+        Notifications notification = new Notifications();
+        notification.setNotification_id(idGenerator.nextId());
+        notification.setUser_id(userId);
+        notification.setType(type);
+        notification.setMessage(message);
+        notification.setReference_id(referenceId);
+        notification.setIs_read(false);
+        notification.setCreated_at(LocalDateTime.now());
+
+        synchronized (countLock) {
+            pendingUnread.merge(userId, 1, Integer::sum);
+            adjustCount(userId, 1);
+        }
+        if (queue.offer(notification)) {
+            accepted.incrementAndGet();
+        } else {
+            uncount(List.of(notification));
+            if (dropped.incrementAndGet() % 1000 == 1) {
+                log.warn("Notification queue full, dropped {} notifications so far", dropped.get());
+            }
+        }
+    }
+
+    private void uncount(List<Notifications> notifications) {
+        synchronized (countLock) {
+            for (Notifications notification : notifications) {
+                pendingUnread.computeIfPresent(notification.getUser_id(), (k, pending) -> pending > 1 ? pending - 1 : null);
+                adjustCount(notification.getUser_id(), -1);
+            }
+        }
+    }
+
+    // Called under countLock; a user without a counter is seeded later and needs no adjustment
+    private void adjustCount(String userId, long delta) {
+        AtomicLong count = unreadCounts.getIfPresent(userId);
+        if (count != null) {
+            count.addAndGet(delta);
+        }
+    }
+
+    // Runs a transaction that changes the given users' unread rows. Their counters cannot be seeded
+    // while it is in flight, and afterCommit adjusts the counters under countLock before that ends.
+    private <T> T changeUnread(Collection<String> userIds, TransactionCallback<T> work, Consumer<T> afterCommit) {
+        synchronized (countLock) {
+            for (String userId : userIds) {
+                changesInFlight.merge(userId, 1, Integer::sum);
+                seeding.remove(userId);
+            }
+        }
+        boolean committed = false;
+        T result = null;
+        try {
+            result = new TransactionTemplate(transactionManager).execute(work);
+            committed = true;
+            return result;
+        } finally {
+            synchronized (countLock) {
+                if (committed) {
+                    afterCommit.accept(result);
+                }
+                for (String userId : userIds) {
+                    changesInFlight.computeIfPresent(userId, (k, n) -> n > 1 ? n - 1 : null);
+                }
+            }
+        }
+    }
+
+    private static Set<String> userIds(List<Notifications> notifications) {
+        return notifications.stream().map(Notifications::getUser_id).collect(Collectors.toSet());
+    }
+
+    private void runWriter() {
+        List<Notifications> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Notifications first = queue.poll(flushMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private static Object[] insertArgs(Notifications n) {
+        return new Object[]{n.getNotification_id(), n.getUser_id(), n.getType().name(), n.getMessage(),
+                n.getReference_id(), n.isIs_read(), Timestamp.valueOf(n.getCreated_at())};
+    }
+
+    private void write(List<Notifications> batch) throws InterruptedException {
+        List<Object[]> args = new ArrayList<>(batch.size());
+        for (Notifications n : batch) {
+            args.add(insertArgs(n));
+        }
+        Set<String> userIds = userIds(batch);
+        for (int attempt = 1; attempt <= writeAttempts; attempt++) {
+            try {
+                changeUnread(userIds, status -> jdbcTemplate.batchUpdate(INSERT_SQL, args, INSERT_TYPES),
+                        result -> committed(batch));
+                written.addAndGet(batch.size());
+                publish(batch);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                // A bad row fails every retry of the batch, so go straight to writing rows one by one
+                log.warn("Failed to write {} notifications, writing them one by one", batch.size(), e);
+                break;
+            } catch (RuntimeException e) {
+                log.warn("Failed to write {} notifications (attempt {})", batch.size(), attempt, e);
+                Thread.sleep(flushMs * attempt);
+            }
+        }
+        writeEach(batch);
+    }
+
+    // Fallback when the batch keeps failing: each row in its own transaction, dropping only the rows that fail
+    private void writeEach(List<Notifications> batch) {
+        List<Notifications> saved = new ArrayList<>(batch.size());
+        for (Notifications n : batch) {
+            try {
+                changeUnread(Set.of(n.getUser_id()), status -> jdbcTemplate.update(INSERT_SQL, insertArgs(n), INSERT_TYPES),
+                        result -> committed(List.of(n)));
+                saved.add(n);
+            } catch (RuntimeException e) {
+                log.error("Dropping notification {} for user {}: {}", n.getNotification_id(), n.getUser_id(), e.getMessage());
+                dropped.incrementAndGet();
+                uncount(List.of(n));
+            }
+        }
+        written.addAndGet(saved.size());
+        publish(saved);
+    }
+
+    // Called under countLock right after the rows commit: they now count through the table, not as
+    // pending, so the counters themselves stay as they are
+    private void committed(List<Notifications> notifications) {
+        for (Notifications n : notifications) {
+            pendingUnread.computeIfPresent(n.getUser_id(), (k, pending) -> pending > 1 ? pending - 1 : null);
+        }
+    }
+
+    private void publish(List<Notifications> notifications) {
+        for (Notifications n : notifications) {
+            liveUpdateBroker.publish(n.getUser_id(), "notification", mapToResponseDTO(n));
+        }
+    }
+
+    private NotificationResponseDTO mapToResponseDTO(Notifications notification) {
+        NotificationResponseDTO dto = new NotificationResponseDTO();
+        dto.setNotificationId(notification.getNotification_id());
+        dto.setUserId(notification.getUser_id());
+        dto.setType(notification.getType().name());
+        dto.setMessage(notification.getMessage());
+        dto.setReferenceId(notification.getReference_id());
+        dto.setRead(notification.isIs_read());
+        dto.setCreatedAt(notification.getCreated_at());
+        return dto;
+    }
+
+    @Override
+    public PageResponseDTO<NotificationResponseDTO> listNotifications(String userId, String cursor, int page, int size) {
+        if (userId == null || userId.isEmpty()) {
+            throw new IllegalArgumentException("user_id is required");
+        }
+        if (size <= 0 || page < 0) {
+            throw new IllegalArgumentException("page must be non-negative and size positive");
+        }
+        int pageSize = Math.min(size, MAX_PAGE_SIZE);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        // A cursor continues from the previous page; without one, fall back to the page offset
+        List<Notifications> notifications = keysetPageQuery.findPage(Notifications.class, "notification_id",
+                NotificationRepository.forUser(userId), after != null ? after.getCreatedAt() : null,
+                after != null ? after.getId() : null,
+                after != null ? PageRequest.of(0, pageSize) : PageRequest.of(page, pageSize));
+        // Only the first page counts; later pages report -1 and the client keeps the first total
+        long total = after == null && page == 0 ? notificationRepository.countByUserId(userId) : -1;
+
+        PageResponseDTO<NotificationResponseDTO> response = new PageResponseDTO<>();
+        response.setContent(notifications.stream().map(this::mapToResponseDTO).collect(Collectors.toList()));
+        response.setPage(page);
+        response.setSize(pageSize);
+        response.setTotalElements(total);
+        response.setTotalPages(total < 0 ? -1 : (int) ((total + pageSize - 1) / pageSize));
+        if (notifications.size() == pageSize) {
+            Notifications last = notifications.get(notifications.size() - 1);
+            response.setNextCursor(new KeysetCursor(last.getCreated_at(), last.getNotification_id()).encode());
+        }
+        return response;
+    }
+
+    @Override
+    public long getUnreadCount(String userId) {
+        if (userId == null || userId.isEmpty()) {
+            throw new IllegalArgumentException("user_id is required");
+        }
+        AtomicLong count = unreadCounts.getIfPresent(userId);
+        for (int attempt = 1; count == null; attempt++) {
+            Object token = new Object();
+            synchronized (countLock) {
+                if (!changesInFlight.containsKey(userId)) {
+                    seeding.put(userId, token);
+                }
+            }
+            // The table is counted outside the lock so a slow count does not hold up writes and reads
+            long unread;
+            try {
+                unread = notificationRepository.countUnreadByUserId(userId);
+            } catch (RuntimeException e) {
+                synchronized (countLock) {
+                    seeding.remove(userId, token);
+                }
+                throw e;
+            }
+            synchronized (countLock) {
+                boolean current = seeding.remove(userId, token);
+                count = unreadCounts.getIfPresent(userId);
+                if (count == null && current) {
+                    count = new AtomicLong(unread + pendingUnread.getOrDefault(userId, 0));
+                    unreadCounts.put(userId, count);
+                } else if (count == null && attempt == SEED_ATTEMPTS) {
+                    // The user's rows keep changing; answer from this count without keeping it
+                    return unread + pendingUnread.getOrDefault(userId, 0);
+                }
+            }
+        }
+        return count.get();
+    }
+
+    @Override
+    public boolean markAsRead(String notificationId) {
+        String userId = notificationRepository.findUserIdById(notificationId);
+        if (userId == null) {
+            throw new IllegalArgumentException("Notification not found with ID: " + notificationId);
+        }
+        Integer updated = changeUnread(Set.of(userId), status -> notificationRepository.markRead(notificationId),
+                result -> {
+                    if (result != null && result > 0) {
+                        adjustCount(userId, -1);
+                    }
+                });
+        return updated != null && updated > 0;
+    }
+
+    @Override
+    public int markAllAsRead(String userId) {
+        if (userId == null || userId.isEmpty()) {
+            throw new IllegalArgumentException("user_id is required");
+        }
+        Integer updated = changeUnread(Set.of(userId), status -> notificationRepository.markAllRead(userId),
+                result -> {
+                    // Anything still queued was not covered by the update and stays unread
+                    AtomicLong count = unreadCounts.getIfPresent(userId);
+                    if (count != null) {
+                        count.set(pendingUnread.getOrDefault(userId, 0));
+                    }
+                });
+        return updated != null ? updated : 0;
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queued", queue.size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("accepted", accepted.get());
+        stats.put("written", written.get());
+        stats.put("dropped", dropped.get());
+        stats.put("trackedUnreadCounters", unreadCounts.size());
+        return stats;
+    }
+
+    @EventListener
+    public void onPickupWindow(PickupWindowEvent event) {
+        String window = event.getPickupWindowStart() != null && event.getPickupWindowEnd() != null
+                ? event.getPickupWindowStart().format(WINDOW_FORMAT) + " - " + event.getPickupWindowEnd().format(WINDOW_FORMAT)
+                : "the agreed pickup window";
+        switch (event.getType()) {
+            case APPROVED:
+                notify(event.getBeneficiaryId(), Notifications.Type.request_update,
+                        "Your donation request was approved. Pick it up during " + window + ".", event.getDonationId());
+                break;
+            case STARTING:
+                notify(event.getBeneficiaryId(), Notifications.Type.donation_status,
+                        "The pickup window for your approved donation is open now (" + window + ").", event.getDonationId());
+                break;
+            case RELEASED:
+                notify(event.getBeneficiaryId(), Notifications.Type.request_update,
+                        "The pickup window closed without a pickup, so your approved request was cancelled.", event.getDonationId());
+                notify(event.getDonorId(), Notifications.Type.donation_status,
+                        "Your donation was not picked up during " + window + " and is available again.", event.getDonationId());
+                break;
+            default:
+                break;
+        }
+    }
+
+    @EventListener
+    public void onRequestsRejected(DonationRequestsRejectedEvent event) {
+        for (String beneficiaryId : event.getBeneficiaryIds()) {
+            notify(beneficiaryId, Notifications.Type.request_update,
+                    "Another request was approved for a donation you requested, so your request was declined.",
+                    event.getDonationId());
+        }
+    }
+
+    @EventListener
+    public void onDonationExpired(DonationExpiredEvent event) {
+        String donationId = event.getDonation().getDonationId();
+        notify(event.getDonation().getDonorId(), Notifications.Type.expiry_alert,
+                "Your donation has passed its expiry date and is no longer listed.", donationId);
+        for (String beneficiaryId : event.getCancelledBeneficiaryIds()) {
+            notify(beneficiaryId, Notifications.Type.expiry_alert,
+                    "A donation you requested has expired, so your request was cancelled.", donationId);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.klef.sdp.backendproject.service;
+
+import com.klef.sdp.backendproject.event.DonationChangedEvent;
+import com.klef.sdp.backendproject.event.DonationSnapshot;
+import com.klef.sdp.backendproject.event.PickupWindowEvent;
+import com.klef.sdp.backendproject.model.Donations;
+import com.klef.sdp.backendproject.repository.DonationRequestRepository;
+import com.klef.sdp.backendproject.util.HierarchicalTimingWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+// Holds a reminder (window start) and a release (window end) timer for every approved request in a
+// timing wheel, so nothing has to poll the donations table for pickup deadlines. Timers are
+// cancelled when the donation leaves requested (delivered, overridden, ...), moved when its pickup
+// window is edited while it stays requested, and rebuilt from the database on startup.
+@Component
+public class PickupWindowScheduler {
+    private static final Logger log = LoggerFactory.getLogger(PickupWindowScheduler.class);
+
+    @Autowired
+    private DonationRequestRepository donationRequestRepository;
+
+    @Autowired
+    private DonationClaimService donationClaimService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${foodshare.pickup.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${foodshare.pickup.wheel-size:512}")
+    private int wheelSize;
+
+    private HierarchicalTimingWheel<PickupWindowEvent> wheel;
+    // Timers per donation: at most one approved request holds a donation at a time
+    private final Map<String, PendingTimers> byDonation = new HashMap<>();
+
+    private static class PendingTimers {
+        private PickupWindowEvent approved;
+        private HierarchicalTimingWheel.Timeout<PickupWindowEvent> starting;
+        private HierarchicalTimingWheel.Timeout<PickupWindowEvent> release;
+    }
+
+    @PostConstruct
+    void init() {
+        wheel = new HierarchicalTimingWheel<>(tickMs, wheelSize, System.currentTimeMillis());
+    }
+
+    private static long toEpochMs(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        Integer loaded = transaction.execute(status -> {
+            int count = 0;
+            try (Stream<Object[]> rows = donationRequestRepository.streamAwaitingPickup()) {
+                for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                    // Windows that closed while the application was down are released on the first tick
+                    schedule(new PickupWindowEvent(PickupWindowEvent.Type.APPROVED, (String) row[0], (String) row[1],
+                            (String) row[2], (String) row[3], (LocalDateTime) row[4], (LocalDateTime) row[5]), false);
+                    count++;
+                }
+            }
+            return count;
+        });
+        log.info("Pickup window scheduler loaded {} approved requests", loaded);
+    }
+
+    @EventListener
+    public void onPickupWindow(PickupWindowEvent event) {
+        if (event.getType() == PickupWindowEvent.Type.APPROVED) {
+            schedule(event, true);
+        }
+    }
+
+    @EventListener
+    public void onDonationChanged(DonationChangedEvent event) {
+        boolean wasRequested = event.getBefore() != null && event.getBefore().getStatus() == Donations.Status.requested;
+        boolean isRequested = event.getAfter() != null && event.getAfter().getStatus() == Donations.Status.requested;
+        if (wasRequested && !isRequested) {
+            cancel(event.getDonationId());
+        } else if (wasRequested && isRequested) {
+            DonationSnapshot before = event.getBefore();
+            DonationSnapshot after = event.getAfter();
+            if (!Objects.equals(before.getPickupWindowStart(), after.getPickupWindowStart())
+                    || !Objects.equals(before.getPickupWindowEnd(), after.getPickupWindowEnd())) {
+                reschedule(after);
+            }
+        }
+    }
+
+    private synchronized void reschedule(DonationSnapshot donation) {
+        PendingTimers timers = byDonation.get(donation.getDonationId());
+        if (timers == null) {
+            return;
+        }
+        PickupWindowEvent approved = timers.approved;
+        // A new start is reminded again even if it has already passed; a moved end alone is not
+        boolean startMoved = !Objects.equals(approved.getPickupWindowStart(), donation.getPickupWindowStart());
+        schedule(new PickupWindowEvent(PickupWindowEvent.Type.APPROVED, approved.getRequestId(), approved.getDonationId(),
+                approved.getDonorId(), approved.getBeneficiaryId(), donation.getPickupWindowStart(),
+                donation.getPickupWindowEnd()), startMoved);
+    }
+
+    private synchronized void schedule(PickupWindowEvent approved, boolean remindIfStarted) {
+        cancel(approved.getDonationId());
+        PendingTimers timers = new PendingTimers();
+        timers.approved = approved;
+        long now = System.currentTimeMillis();
+        boolean closed = approved.getPickupWindowEnd() != null && toEpochMs(approved.getPickupWindowEnd()) <= now;
+        if (approved.getPickupWindowStart() != null) {
+            long startMs = toEpochMs(approved.getPickupWindowStart());
+            // Approving inside an open window reminds straight away; a rebuild does not repeat old reminders,
+            // and a window that has already closed gets no reminder, only the release
+            if (startMs > now || (remindIfStarted && !closed)) {
+                timers.starting = wheel.schedule(startMs, approved.withType(PickupWindowEvent.Type.STARTING));
+            }
+        }
+        if (approved.getPickupWindowEnd() != null) {
+            timers.release = wheel.schedule(toEpochMs(approved.getPickupWindowEnd()),
+                    approved.withType(PickupWindowEvent.Type.RELEASED));
+        }
+        byDonation.put(approved.getDonationId(), timers);
+    }
+
+    private synchronized void cancel(String donationId) {
+        PendingTimers timers = byDonation.remove(donationId);
+        if (timers != null) {
+            wheel.cancel(timers.starting);
+            wheel.cancel(timers.release);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${foodshare.pickup.tick-ms:1000}")
+    public void tick() {
+        List<PickupWindowEvent> due;
+        synchronized (this) {
+            due = wheel.advance(System.currentTimeMillis());
+            for (PickupWindowEvent event : due) {
+                if (event.getType() == PickupWindowEvent.Type.RELEASED) {
+                    byDonation.remove(event.getDonationId());
+                }
+            }
+        }
+        // Handlers run outside the lock since releasing touches the database and publishes events
+        for (PickupWindowEvent event : due) {
+            try {
+                if (event.getType() == PickupWindowEvent.Type.STARTING) {
+                    eventPublisher.publishEvent(event);
+                } else if (donationClaimService.release(event.getRequestId())) {
+                    log.info("Released donation {} after its pickup window closed", event.getDonationId());
+                }
+            } catch (Exception e) {
+                log.warn("Failed to handle {} for request {}", event.getType(), event.getRequestId(), e);
+            }
+        }
+    }
+
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pendingTimers", wheel.size());
+        stats.put("trackedDonations", byDonation.size());
+        return stats;
+    }
+}
@@ -9,5 +9,6 @@ public interface RewardService {
     RewardResponseDTO assignRewardPoints(AssignRewardRequestDTO request);
     List<RewardResponseDTO> getUserRewards(String userId);
     ImpactMetricsResponseDTO getImpactMetrics(String userId);
-    List<LeaderboardResponseDTO> getLeaderboard();
+    List<LeaderboardResponseDTO> getLeaderboard(int page, int size);
+    LeaderboardResponseDTO getUserRank(String userId);
 }
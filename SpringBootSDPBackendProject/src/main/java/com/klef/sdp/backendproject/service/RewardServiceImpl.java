@@ -1,19 +1,21 @@
 package com.klef.sdp.backendproject.service;
 
 import com.klef.sdp.backendproject.dto.*;
-import com.klef.sdp.backendproject.model.Donations;
+import com.klef.sdp.backendproject.id.IdGenerator;
+import com.klef.sdp.backendproject.model.ImpactMetrics;
 import com.klef.sdp.backendproject.model.Reward;
 import com.klef.sdp.backendproject.model.Users;
-import com.klef.sdp.backendproject.repository.DonationsRepository;
+import com.klef.sdp.backendproject.repository.ImpactMetricsRepository;
 import com.klef.sdp.backendproject.repository.RewardRepository;
 import com.klef.sdp.backendproject.repository.UsersRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,11 +23,17 @@ public class RewardServiceImpl implements RewardService {
     @Autowired
     private RewardRepository rewardRepository;
 
+    @Autowired
+    private IdGenerator idGenerator;
+
     @Autowired
     private UsersRepository usersRepository;
 
     @Autowired
-    private DonationsRepository donationsRepository;
+    private ImpactMetricsRepository impactMetricsRepository;
+
+    @Autowired
+    private LeaderboardStore leaderboardStore;
 
     private RewardResponseDTO mapToRewardResponseDTO(Reward reward) {
         RewardResponseDTO dto = new RewardResponseDTO();
@@ -56,13 +64,14 @@ public class RewardServiceImpl implements RewardService {
         Users user = userOptional.get();
 
         Reward reward = new Reward();
-        reward.setReward_id(UUID.randomUUID().toString());
+        reward.setReward_id(idGenerator.nextId());
         reward.setUser(user);
         reward.setPoints(request.getPoints());
         reward.setReason(request.getReason());
         reward.setAwarded_at(LocalDateTime.now());
 
         Reward savedReward = rewardRepository.save(reward);
+        leaderboardStore.addPoints(user.getUser_id(), user.getUsername(), savedReward.getPoints());
         return mapToRewardResponseDTO(savedReward);
     }
 
@@ -80,40 +89,86 @@ public class RewardServiceImpl implements RewardService {
         if (userId == null || userId.isEmpty()) {
             throw new IllegalArgumentException("userId is required");
         }
-        Optional<Users> userOptional = usersRepository.findById(userId);
-        if (!userOptional.isPresent()) {
+        ImpactMetricsResponseDTO dto = new ImpactMetricsResponseDTO();
+        dto.setUserId(userId);
+        Optional<ImpactMetrics> metrics = impactMetricsRepository.findByUserId(userId);
+        if (metrics.isPresent()) {
+            dto.setFoodSavedKg(metrics.get().getFood_saved_kg());
+            dto.setMealsServed(metrics.get().getMeals_served());
+            dto.setCarbonOffsetKg(metrics.get().getCarbon_offset_kg());
+            return dto;
+        }
+        // No delivered donations recorded yet
+        if (!usersRepository.existsById(userId)) {
             throw new IllegalArgumentException("User not found with ID: " + userId);
         }
+        return dto;
+    }
 
-        List<Donations> donations = donationsRepository.findByUserUserId(userId);
-        double foodSavedKg = donations.stream()
-                .filter(d -> d.getStatus() == Donations.Status.delivered)
-                .mapToDouble(Donations::getQuantity_kg)
-                .sum();
+    @Override
+    public List<LeaderboardResponseDTO> getLeaderboard(int page, int size) {
+        if (page < 0 || size <= 0 || size > 100) {
+            throw new IllegalArgumentException("page must be >= 0 and size between 1 and 100");
+        }
+        long offset = (long) page * size;
+        if (offset > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("page is too large");
+        }
+        if (leaderboardStore.isLoaded()) {
+            return leaderboardStore.page((int) offset, size);
+        }
+        // The store is still loading on startup
+        List<Object[]> totals = rewardRepository.findTopUsersByPoints(PageRequest.of(page, size));
+        List<LeaderboardResponseDTO> leaderboard = new ArrayList<>(totals.size());
+        for (Object[] row : totals) {
+            leaderboard.add(toLeaderboardDTO(row, (int) offset + leaderboard.size() + 1));
+        }
+        return leaderboard;
+    }
 
-        long mealsServed = (long) (foodSavedKg * 2);
-        double carbonOffsetKg = foodSavedKg * 0.5;
+    @Override
+    public LeaderboardResponseDTO getUserRank(String userId) {
+        if (userId == null || userId.isEmpty()) {
+            throw new IllegalArgumentException("userId is required");
+        }
+        LeaderboardResponseDTO standing = leaderboardStore.isLoaded()
+                ? leaderboardStore.rankOf(userId) : findRankInTable(userId);
+        if (standing == null) {
+            throw new IllegalArgumentException("No reward points found for user: " + userId);
+        }
+        return standing;
+    }
 
-        ImpactMetricsResponseDTO dto = new ImpactMetricsResponseDTO();
-        dto.setUserId(userId);
-        dto.setFoodSavedKg(foodSavedKg);
-        dto.setMealsServed(mealsServed);
-        dto.setCarbonOffsetKg(carbonOffsetKg);
+    private LeaderboardResponseDTO toLeaderboardDTO(Object[] row, int rank) {
+        LeaderboardResponseDTO dto = new LeaderboardResponseDTO();
+        dto.setUserId((String) row[0]);
+        dto.setUsername((String) row[1]);
+        dto.setTotalPoints(((Number) row[2]).longValue());
+        dto.setRank(rank);
         return dto;
     }
 
-@Override
-    public List<LeaderboardResponseDTO> getLeaderboard() {
-        List<Object[]> topUsers = rewardRepository.findTopUsersByPoints();
-        return topUsers.stream()
-                .limit(10)
-                .map(result -> {
-                    LeaderboardResponseDTO dto = new LeaderboardResponseDTO();
-                    dto.setUserId((String) result[0]);
-                    dto.setUsername((String) result[1]);
-                    dto.setTotalPoints(((Number) result[2]).longValue());
-                    return dto;
-                })
-                .collect(Collectors.toList());
+    // Rank from the rewards table while the store is still loading, ordered as LeaderboardStore orders it
+    private LeaderboardResponseDTO findRankInTable(String userId) {
+        List<Object[]> totals = rewardRepository.findTopUsersByPoints();
+        Object[] own = null;
+        for (Object[] row : totals) {
+            if (userId.equals(row[0])) {
+                own = row;
+                break;
+            }
+        }
+        if (own == null) {
+            return null;
+        }
+        long points = ((Number) own[2]).longValue();
+        int ahead = 0;
+        for (Object[] row : totals) {
+            long other = ((Number) row[2]).longValue();
+            if (other > points || (other == points && ((String) row[0]).compareTo(userId) < 0)) {
+                ahead++;
+            }
+        }
+        return toLeaderboardDTO(own, ahead + 1);
     }
-}
\ No newline at end of file
+}
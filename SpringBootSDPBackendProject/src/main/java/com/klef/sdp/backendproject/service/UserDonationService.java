@@ -9,6 +9,6 @@ import java.util.List;
 public interface UserDonationService {
     DonationRequestResponseDTO createDonationRequest(DonationRequestRequestDTO request);
     String cancelDonationRequest(String requestId, String userId);
-    List<DonationRequestResponseDTO> listDonationRequests(String userId, String status);
+    List<DonationRequestResponseDTO> listDonationRequests(String userId, String status, boolean includeDonation);
     DonationRequestResponseDTO approveDonationRequest(String requestId, String userId);
 }
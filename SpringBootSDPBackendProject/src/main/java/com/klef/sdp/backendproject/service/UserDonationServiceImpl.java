@@ -1,10 +1,14 @@
 
 package com.klef.sdp.backendproject.service;
 
+import com.klef.sdp.backendproject.cache.EntityReadCache;
+import com.klef.sdp.backendproject.cache.PrincipalCache;
 import com.klef.sdp.backendproject.dto.DonationRequestRequestDTO;
 import com.klef.sdp.backendproject.dto.DonationRequestResponseDTO;
+import com.klef.sdp.backendproject.id.IdGenerator;
 import com.klef.sdp.backendproject.model.DonationRequest;
 import com.klef.sdp.backendproject.model.Donations;
+import com.klef.sdp.backendproject.model.Notifications;
 import com.klef.sdp.backendproject.model.Users;
 import com.klef.sdp.backendproject.repository.DonationRequestRepository;
 import com.klef.sdp.backendproject.repository.DonationsRepository;
@@ -15,20 +19,33 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 public class UserDonationServiceImpl implements UserDonationService {
     @Autowired
     private DonationRequestRepository donationRequestRepository;
 
+    @Autowired
+    private IdGenerator idGenerator;
+
     @Autowired
     private DonationsRepository donationsRepository;
 
     @Autowired
     private UsersRepository usersRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private EntityReadCache entityReadCache;
+
+    @Autowired
+    private DonationClaimService donationClaimService;
+
+    @Autowired
+    private NotificationService notificationService;
+
     private DonationRequestResponseDTO mapToResponseDTO(DonationRequest request) {
         DonationRequestResponseDTO dto = new DonationRequestResponseDTO();
         dto.setRequestId(request.getRequest_id());
@@ -49,34 +66,37 @@ public class UserDonationServiceImpl implements UserDonationService {
             throw new IllegalArgumentException("donationId is required");
         }
 
-        // Fetch user and donation
-        Optional<Users> userOptional = usersRepository.findById(request.getUserId());
-        if (!userOptional.isPresent()) {
+        // Check the role from the principal cache and fetch the donation
+        PrincipalCache.Principal principal = principalCache.get(request.getUserId());
+        if (principal == null) {
             throw new IllegalArgumentException("User not found with ID: " + request.getUserId());
         }
-        Users user = userOptional.get();
-        if (!"beneficiary".equals(user.getRole())) {
+        if (!principal.hasRole("beneficiary")) {
             throw new IllegalArgumentException("Only beneficiaries can request donations");
         }
+        Users user = usersRepository.getReferenceById(request.getUserId());
 
-        Optional<Donations> donationOptional = donationsRepository.findById(request.getDonationId());
+        Optional<Donations> donationOptional = entityReadCache.findDonation(request.getDonationId());
         if (!donationOptional.isPresent()) {
             throw new IllegalArgumentException("Donation not found with ID: " + request.getDonationId());
         }
-        Donations donation = donationOptional.get();
-        if (!Donations.Status.available.equals(donation.getStatus())) {
+        if (!Donations.Status.available.equals(donationOptional.get().getStatus())) {
             throw new IllegalArgumentException("Donation is not available for request");
         }
+        Donations donation = donationsRepository.getReferenceById(request.getDonationId());
 
         // Create donation request
         DonationRequest donationRequest = new DonationRequest();
-        donationRequest.setRequest_id(UUID.randomUUID().toString());
+        donationRequest.setRequest_id(idGenerator.nextId());
         donationRequest.setDonation(donation);
         donationRequest.setBeneficiary(user);
         donationRequest.setStatus(DonationRequest.Status.pending);
         donationRequest.setRequested_at(LocalDateTime.now());
 
         DonationRequest savedRequest = donationRequestRepository.save(donationRequest);
+        notificationService.notify(donationOptional.get().getUser().getUser_id(), Notifications.Type.request_update,
+                "You have a new request for your donation: " + donationOptional.get().getFood_description(),
+                request.getDonationId());
         return mapToResponseDTO(savedRequest);
     }
 
@@ -99,41 +119,24 @@ public class UserDonationServiceImpl implements UserDonationService {
     }
 
     @Override
-    public List<DonationRequestResponseDTO> listDonationRequests(String userId, String status) {
-        List<DonationRequest> requests;
+    public List<DonationRequestResponseDTO> listDonationRequests(String userId, String status, boolean includeDonation) {
+        DonationRequest.Status requestStatus = null;
         if (status != null && !status.isEmpty()) {
             try {
-                DonationRequest.Status requestStatus = DonationRequest.Status.valueOf(status);
-                requests = donationRequestRepository.findByBeneficiaryUserIdAndStatus(userId, requestStatus);
+                requestStatus = DonationRequest.Status.valueOf(status);
             } catch (IllegalArgumentException e) {
-                requests = donationRequestRepository.findByBeneficiaryUserId(userId);
+                // Unknown status lists every request, as before
             }
-        } else {
-            requests = donationRequestRepository.findByBeneficiaryUserId(userId);
         }
-        return requests.stream().map(this::mapToResponseDTO).collect(Collectors.toList());
+        // Projections: one statement regardless of how many requests the beneficiary has
+        if (includeDonation) {
+            return donationRequestRepository.findResponsesWithDonationByBeneficiary(userId, requestStatus);
+        }
+        return donationRequestRepository.findResponsesByBeneficiary(userId, requestStatus);
     }
 
     @Override
     public DonationRequestResponseDTO approveDonationRequest(String requestId, String userId) {
-        Optional<DonationRequest> requestOptional = donationRequestRepository.findById(requestId);
-        if (requestOptional.isPresent()) {
-            DonationRequest request = requestOptional.get();
-            // Verify the user is the donor of the donation
-            if (!request.getDonation().getUser().getUser_id().equals(userId)) {
-                throw new IllegalArgumentException("Unauthorized: Only the donor can approve this request");
-            }
-            if (!DonationRequest.Status.pending.equals(request.getStatus())) {
-                throw new IllegalArgumentException("Cannot approve a request that is not pending");
-            }
-            request.setStatus(DonationRequest.Status.approved);
-            donationRequestRepository.save(request);
-            // Update donation status to requested
-            Donations donation = request.getDonation();
-            donation.setStatus(Donations.Status.requested);
-            donationsRepository.save(donation);
-            return mapToResponseDTO(request);
-        }
-        throw new IllegalArgumentException("Request ID not found");
+        return mapToResponseDTO(donationClaimService.approve(requestId, userId));
     }
 }
@@ -1,14 +1,17 @@
 package com.klef.sdp.backendproject.service;
 
+import com.klef.sdp.backendproject.cache.EntityReadCache;
 import com.klef.sdp.backendproject.dto.UserResponseDTO;
+import com.klef.sdp.backendproject.event.UserChangedEvent;
+import com.klef.sdp.backendproject.id.IdGenerator;
 import com.klef.sdp.backendproject.model.Users;
 import com.klef.sdp.backendproject.repository.UsersRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
-import java.util.UUID;
 
 @Service
 public class UsersServiceImpl implements UserService {
@@ -16,6 +19,15 @@ public class UsersServiceImpl implements UserService {
     @Autowired
     private UsersRepository usersRepository;
 
+    @Autowired
+    private IdGenerator idGenerator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private EntityReadCache entityReadCache;
+
     private UserResponseDTO mapToResponseDTO(Users user) {
         UserResponseDTO dto = new UserResponseDTO();
         dto.setUserId(user.getUser_id());
@@ -39,11 +51,12 @@ public class UsersServiceImpl implements UserService {
         if (user.getPassword_hash() == null || user.getPassword_hash().isEmpty()) {
             throw new IllegalArgumentException("Password must not be null or empty");
         }
-        user.setUser_id(UUID.randomUUID().toString());
+        user.setUser_id(idGenerator.nextId());
         user.setCreated_at(LocalDateTime.now());
         user.setUpdated_at(LocalDateTime.now());
         user.setIs_active(true);
         Users savedUser = usersRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser));
         return mapToResponseDTO(savedUser);
     }
 
@@ -58,7 +71,7 @@ public class UsersServiceImpl implements UserService {
 
     @Override
     public UserResponseDTO getUserProfile(String userId) {
-        Optional<Users> user = usersRepository.findById(userId);
+        Optional<Users> user = entityReadCache.findUser(userId);
         return user.map(this::mapToResponseDTO).orElse(null);
     }
 
@@ -79,6 +92,7 @@ public class UsersServiceImpl implements UserService {
             updatedUser.setLongitude(user.getLongitude());
             updatedUser.setUpdated_at(LocalDateTime.now());
             Users savedUser = usersRepository.save(updatedUser);
+            eventPublisher.publishEvent(new UserChangedEvent(savedUser));
             return mapToResponseDTO(savedUser);
         }
         return null;
@@ -0,0 +1,45 @@
+package com.klef.sdp.backendproject.util;
+
+// Latitude/longitude rectangle enclosing a circle, used to prefilter proximity queries in SQL
+// before the exact haversine check. A box that would cross the antimeridian spans all longitudes.
+public final class BoundingBox {
+    private final double minLat;
+    private final double maxLat;
+    private final double minLon;
+    private final double maxLon;
+
+    private BoundingBox(double minLat, double maxLat, double minLon, double maxLon) {
+        this.minLat = minLat;
+        this.maxLat = maxLat;
+        this.minLon = minLon;
+        this.maxLon = maxLon;
+    }
+
+    public static BoundingBox around(double latitude, double longitude, double radiusKm) {
+        double latDelta = GeoUtils.latDeltaDeg(radiusKm);
+        double lonDelta = GeoUtils.lonDeltaDeg(latitude, radiusKm);
+        double minLon = longitude - lonDelta;
+        double maxLon = longitude + lonDelta;
+        if (minLon < -180 || maxLon > 180) {
+            minLon = -180;
+            maxLon = 180;
+        }
+        return new BoundingBox(Math.max(latitude - latDelta, -90), Math.min(latitude + latDelta, 90), minLon, maxLon);
+    }
+
+    public double getMinLat() {
+        return minLat;
+    }
+
+    public double getMaxLat() {
+        return maxLat;
+    }
+
+    public double getMinLon() {
+        return minLon;
+    }
+
+    public double getMaxLon() {
+        return maxLon;
+    }
+}
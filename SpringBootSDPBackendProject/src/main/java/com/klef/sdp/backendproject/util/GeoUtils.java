@@ -0,0 +1,30 @@
+package com.klef.sdp.backendproject.util;
+
+public final class GeoUtils {
+    public static final double EARTH_RADIUS_KM = 6371;
+    public static final double KM_PER_DEGREE_LAT = 111.32;
+
+    private GeoUtils() {
+    }
+
+    // Haversine great-circle distance
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double latDistance = Math.toRadians(lat2 - lat1);
+        double lonDistance = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        return EARTH_RADIUS_KM * c;
+    }
+
+    // Half-width in degrees of longitude of a box that contains every point within radiusKm of latitude
+    public static double lonDeltaDeg(double latitude, double radiusKm) {
+        double cos = Math.cos(Math.toRadians(Math.min(Math.abs(latitude) + radiusKm / KM_PER_DEGREE_LAT, 89.9)));
+        return Math.min(radiusKm / (KM_PER_DEGREE_LAT * cos), 180);
+    }
+
+    public static double latDeltaDeg(double radiusKm) {
+        return radiusKm / KM_PER_DEGREE_LAT;
+    }
+}
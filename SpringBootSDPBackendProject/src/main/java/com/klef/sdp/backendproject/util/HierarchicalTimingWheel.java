@@ -0,0 +1,184 @@
+package com.klef.sdp.backendproject.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Hierarchical timing wheel: level 0 has wheelSize buckets of tickMs each, and every level above
+// covers wheelSize buckets of the level below's full span. Inserting and cancelling are O(1) list
+// operations; advancing moves the due bucket of each level down a level (or out, on level 0).
+// Timers fire on the tick that covers their deadline, so up to tickMs early.
+// Not thread-safe on its own; callers synchronize around it.
+public class HierarchicalTimingWheel<T> {
+    private static final int MAX_LEVELS = 8;
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<Bucket<T>[]> levels = new ArrayList<>();
+    private final Bucket<T> due = new Bucket<>();
+    private long currentTime;
+    private int size;
+
+    public static final class Timeout<T> {
+        private final long deadlineMs;
+        private final T payload;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(long deadlineMs, T payload) {
+            this.deadlineMs = deadlineMs;
+            this.payload = payload;
+        }
+
+        public long getDeadlineMs() {
+            return deadlineMs;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+
+        public boolean isPending() {
+            return bucket != null;
+        }
+    }
+
+    // Doubly linked list with a sentinel head so unlinking a timeout needs no search
+    private static final class Bucket<T> {
+        private final Timeout<T> head = new Timeout<>(0, null);
+
+        private Bucket() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        private void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.prev = head.prev;
+            timeout.next = head;
+            head.prev.next = timeout;
+            head.prev = timeout;
+        }
+
+        private static <T> void unlink(Timeout<T> timeout) {
+            timeout.prev.next = timeout.next;
+            timeout.next.prev = timeout.prev;
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        private List<Timeout<T>> drain() {
+            List<Timeout<T>> drained = new ArrayList<>();
+            Timeout<T> timeout = head.next;
+            while (timeout != head) {
+                Timeout<T> next = timeout.next;
+                unlink(timeout);
+                drained.add(timeout);
+                timeout = next;
+            }
+            return drained;
+        }
+    }
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMs must be positive and wheelSize at least 2");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMs - Math.floorMod(startMs, tickMs);
+    }
+
+    private long levelTick(int level) {
+        long tick = tickMs;
+        for (int i = 0; i < level; i++) {
+            tick *= wheelSize;
+        }
+        return tick;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Bucket<T>[] level(int level) {
+        while (levels.size() <= level) {
+            Bucket<T>[] buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket<>();
+            }
+            levels.add(buckets);
+        }
+        return levels.get(level);
+    }
+
+    public Timeout<T> schedule(long deadlineMs, T payload) {
+        Timeout<T> timeout = new Timeout<>(deadlineMs, payload);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout == null || timeout.bucket == null) {
+            return false;
+        }
+        Bucket.unlink(timeout);
+        size--;
+        return true;
+    }
+
+    private void place(Timeout<T> timeout) {
+        if (timeout.deadlineMs < currentTime + tickMs) {
+            due.add(timeout);
+            return;
+        }
+        for (int level = 0; level < MAX_LEVELS; level++) {
+            long tick = levelTick(level);
+            long levelTime = currentTime - Math.floorMod(currentTime, tick);
+            if (timeout.deadlineMs < levelTime + tick * wheelSize || level == MAX_LEVELS - 1) {
+                int index = (int) Math.floorMod(Math.floorDiv(timeout.deadlineMs, tick), (long) wheelSize);
+                level(level)[index].add(timeout);
+                return;
+            }
+        }
+    }
+
+    // Moves the wheel forward to nowMs and returns the payloads that fell due, earliest tick first
+    public List<T> advance(long nowMs) {
+        List<T> expired = new ArrayList<>();
+        collect(due.drain(), expired);
+        while (currentTime + tickMs <= nowMs) {
+            currentTime += tickMs;
+            // Cascade from the top so a timer can fall through several levels within one tick
+            for (int level = levels.size() - 1; level > 0; level--) {
+                long tick = levelTick(level);
+                if (Math.floorMod(currentTime, tick) == 0) {
+                    int index = (int) Math.floorMod(Math.floorDiv(currentTime, tick), (long) wheelSize);
+                    for (Timeout<T> timeout : levels.get(level)[index].drain()) {
+                        place(timeout);
+                    }
+                }
+            }
+            if (!levels.isEmpty()) {
+                int index = (int) Math.floorMod(Math.floorDiv(currentTime, tickMs), (long) wheelSize);
+                collect(levels.get(0)[index].drain(), expired);
+            }
+            collect(due.drain(), expired);
+        }
+        return expired;
+    }
+
+    private void collect(List<Timeout<T>> timeouts, List<T> expired) {
+        for (Timeout<T> timeout : timeouts) {
+            expired.add(timeout.payload);
+            size--;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getCurrentTime() {
+        return currentTime;
+    }
+}
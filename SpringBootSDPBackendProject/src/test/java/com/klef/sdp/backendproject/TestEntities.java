@@ -0,0 +1,58 @@
+package com.klef.sdp.backendproject;
+
+import com.klef.sdp.backendproject.model.DonationRequest;
+import com.klef.sdp.backendproject.model.Donations;
+import com.klef.sdp.backendproject.model.Users;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Valid, unsaved entities for repository and service tests; callers persist them their own way
+public final class TestEntities {
+
+	private TestEntities() {
+	}
+
+	public static Users user(String role) {
+		String username = role + "-" + UUID.randomUUID();
+		Users user = new Users();
+		user.setUser_id(UUID.randomUUID().toString());
+		user.setUsername(username);
+		user.setEmail(username + "@example.com");
+		user.setPassword_hash("secret");
+		user.setRole(role);
+		user.setIs_active(true);
+		user.setCreated_at(LocalDateTime.now());
+		user.setUpdated_at(LocalDateTime.now());
+		return user;
+	}
+
+	// Available, 5 kg of cooked rice, collectable for the next four hours
+	public static Donations donation(Users donor) {
+		Donations donation = new Donations();
+		donation.setDonation_id(UUID.randomUUID().toString());
+		donation.setUser(donor);
+		donation.setFood_description("Cooked rice");
+		donation.setFood_category(Donations.FoodCategory.values()[0]);
+		donation.setQuantity_kg(5.0);
+		donation.setExpiry_date(LocalDateTime.now().plusDays(1));
+		donation.setPickup_window_start(LocalDateTime.now());
+		donation.setPickup_window_end(LocalDateTime.now().plusHours(4));
+		donation.setLatitude(16.5);
+		donation.setLongitude(80.6);
+		donation.setStatus(Donations.Status.available);
+		donation.setCreated_at(LocalDateTime.now());
+		donation.setUpdated_at(LocalDateTime.now());
+		return donation;
+	}
+
+	public static DonationRequest request(Donations donation, Users beneficiary) {
+		DonationRequest request = new DonationRequest();
+		request.setRequest_id(UUID.randomUUID().toString());
+		request.setDonation(donation);
+		request.setBeneficiary(beneficiary);
+		request.setStatus(DonationRequest.Status.pending);
+		request.setRequested_at(LocalDateTime.now());
+		return request;
+	}
+}
@@ -0,0 +1,83 @@
+package com.klef.sdp.backendproject.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedTtlCacheTests {
+
+	@Test
+	void cachesLoadedValueUntilInvalidated() {
+		BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(10, 60_000);
+		AtomicInteger loads = new AtomicInteger();
+		assertEquals("v1", cache.get("k", k -> "v" + loads.incrementAndGet()));
+		assertEquals("v1", cache.get("k", k -> "v" + loads.incrementAndGet()));
+		cache.invalidate("k");
+		assertEquals("v2", cache.get("k", k -> "v" + loads.incrementAndGet()));
+	}
+
+	@Test
+	void dropsLoadOvertakenByInvalidate() throws Exception {
+		BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(10, 60_000);
+		CountDownLatch loaderStarted = new CountDownLatch(1);
+		CountDownLatch invalidated = new CountDownLatch(1);
+		// The loader reads the old row, then the row changes and is invalidated before the load returns
+		CompletableFuture<String> load = CompletableFuture.supplyAsync(() -> cache.get("k", k -> {
+			loaderStarted.countDown();
+			await(invalidated);
+			return "stale";
+		}));
+		assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+		cache.invalidate("k");
+		invalidated.countDown();
+
+		assertEquals("stale", load.get(5, TimeUnit.SECONDS));
+		assertEquals(0, cache.size());
+		assertEquals("fresh", cache.get("k", k -> "fresh"));
+		assertEquals(1L, cache.stats().get("staleLoads"));
+	}
+
+	@Test
+	void keepsOnlyTheLoadThatStartedLast() throws Exception {
+		BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(10, 60_000);
+		CountDownLatch firstStarted = new CountDownLatch(1);
+		CountDownLatch secondDone = new CountDownLatch(1);
+		CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> cache.get("k", k -> {
+			firstStarted.countDown();
+			await(secondDone);
+			return "older";
+		}));
+		assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+		assertEquals("newer", cache.get("k", k -> "newer"));
+		secondDone.countDown();
+
+		assertEquals("older", first.get(5, TimeUnit.SECONDS));
+		assertEquals("newer", cache.get("k", k -> "reloaded"));
+	}
+
+	@Test
+	void evictsLeastRecentlyUsed() {
+		BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(2, 60_000);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		cache.get("a", k -> "reloaded");
+		cache.put("c", "3");
+		assertEquals("1", cache.get("a", k -> "reloaded"));
+		assertEquals("reloaded", cache.get("b", k -> "reloaded"));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertTrue(latch.await(5, TimeUnit.SECONDS));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package com.klef.sdp.backendproject.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdGeneratorTests {
+
+	private static final int THREADS = 8;
+	private static final int IDS_PER_THREAD = 20_000;
+
+	@Test
+	void uuidV7IdsAreStrictlyIncreasingAsStrings() {
+		UuidV7IdGenerator generator = new UuidV7IdGenerator();
+		String previous = generator.nextId();
+		// More than 4096 ids per millisecond forces the counter to borrow from the next millisecond
+		for (int i = 0; i < 50_000; i++) {
+			String id = generator.nextId();
+			assertTrue(id.compareTo(previous) > 0, previous + " then " + id);
+			previous = id;
+		}
+		assertEquals(7, UUID.fromString(previous).version());
+		assertEquals(2, UUID.fromString(previous).variant());
+	}
+
+	@Test
+	void snowflakeIdsAreStrictlyIncreasingAsStringsAndNumbers() {
+		SnowflakeIdGenerator generator = new SnowflakeIdGenerator(5);
+		String previous = generator.nextId();
+		for (int i = 0; i < 50_000; i++) {
+			String id = generator.nextId();
+			assertTrue(id.compareTo(previous) > 0, previous + " then " + id);
+			assertTrue(SnowflakeIdGenerator.decode(id) > SnowflakeIdGenerator.decode(previous));
+			previous = id;
+		}
+	}
+
+	@Test
+	void idsAreUniqueAcrossThreads() throws InterruptedException {
+		assertUniqueAcrossThreads(new UuidV7IdGenerator());
+		assertUniqueAcrossThreads(new SnowflakeIdGenerator(1));
+	}
+
+	@Test
+	void compactFormsRoundTrip() {
+		String v7 = new UuidV7IdGenerator().nextId();
+		assertEquals(v7, UuidV7IdGenerator.fromBytes(UuidV7IdGenerator.toBytes(v7)));
+		String legacy = UUID.randomUUID().toString();
+		assertEquals(legacy, UuidV7IdGenerator.fromBytes(UuidV7IdGenerator.toBytes(legacy)));
+
+		long before = System.currentTimeMillis();
+		SnowflakeIdGenerator snowflake = new SnowflakeIdGenerator(0);
+		long value = snowflake.nextLong();
+		assertEquals(value, SnowflakeIdGenerator.decode(SnowflakeIdGenerator.encode(value)));
+		assertTrue(SnowflakeIdGenerator.timestampOf(SnowflakeIdGenerator.encode(value)) >= before);
+		assertTrue(UuidV7IdGenerator.timestampOf(v7) <= System.currentTimeMillis());
+	}
+
+	private static void assertUniqueAcrossThreads(IdGenerator generator) throws InterruptedException {
+		Set<String> ids = ConcurrentHashMap.newKeySet();
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			Thread thread = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for (int i = 0; i < IDS_PER_THREAD; i++) {
+					ids.add(generator.nextId());
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(THREADS * IDS_PER_THREAD, ids.size());
+	}
+}
@@ -0,0 +1,100 @@
+package com.klef.sdp.backendproject.id;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Insert throughput and primary key size for each id scheme on the embedded test database.
+// Skipped by default; run with -Dfoodshare.benchmark=true (rows via -Dfoodshare.benchmark.rows,
+// measured rounds via -Dfoodshare.benchmark.rounds). Prints the median rate over the rounds.
+// Results are printed, not asserted, since they depend on the machine.
+@JdbcTest
+@EnabledIfSystemProperty(named = "foodshare.benchmark", matches = "true")
+class IdInsertBenchmarkTests {
+
+	private static final int ROWS = Integer.getInteger("foodshare.benchmark.rows", 200_000);
+	private static final int ROUNDS = Integer.getInteger("foodshare.benchmark.rounds", 3);
+	private static final int BATCH = 1_000;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void compareIdSchemes() {
+		UuidV7IdGenerator uuidV7 = new UuidV7IdGenerator();
+		SnowflakeIdGenerator snowflake = new SnowflakeIdGenerator(0);
+		RandomUuidIdGenerator random = new RandomUuidIdGenerator();
+		List<Scheme> schemes = List.of(
+				new Scheme("random_varchar36", "VARCHAR(36)", random::nextId),
+				new Scheme("uuidv7_varchar36", "VARCHAR(36)", uuidV7::nextId),
+				new Scheme("uuidv7_binary16", "BINARY(16)", () -> UuidV7IdGenerator.toBytes(uuidV7.nextId())),
+				new Scheme("random_binary16", "BINARY(16)", () -> UuidV7IdGenerator.toBytes(random.nextId())),
+				new Scheme("snowflake_char13", "VARCHAR(36)", snowflake::nextId),
+				new Scheme("snowflake_bigint", "BIGINT", snowflake::nextLong));
+
+		// Discarded: lets the JIT and the database warm up before anything is timed
+		for (Scheme scheme : schemes) {
+			run(scheme, ROWS);
+		}
+		// Each round starts one scheme later, so no scheme always runs first or last
+		Map<Scheme, List<Double>> rates = new LinkedHashMap<>();
+		Map<Scheme, Long> diskBytes = new LinkedHashMap<>();
+		for (int round = 0; round < ROUNDS; round++) {
+			for (int i = 0; i < schemes.size(); i++) {
+				Scheme scheme = schemes.get((round + i) % schemes.size());
+				long started = System.nanoTime();
+				long bytes = run(scheme, ROWS);
+				double seconds = (System.nanoTime() - started) / 1e9;
+				rates.computeIfAbsent(scheme, s -> new ArrayList<>()).add(ROWS / seconds);
+				diskBytes.put(scheme, bytes);
+			}
+		}
+
+		System.out.printf("%-22s %12s %14s%n", "scheme", "rows/s", "disk bytes");
+		for (Scheme scheme : schemes) {
+			List<Double> schemeRates = rates.get(scheme);
+			Collections.sort(schemeRates);
+			System.out.printf("%-22s %12.0f %14d%n", scheme.name, schemeRates.get(schemeRates.size() / 2),
+					diskBytes.get(scheme));
+		}
+	}
+
+	private static final class Scheme {
+		private final String name;
+		private final String idType;
+		private final Supplier<Object> ids;
+
+		private Scheme(String name, String idType, Supplier<Object> ids) {
+			this.name = name;
+			this.idType = idType;
+			this.ids = ids;
+		}
+	}
+
+	// Inserts rows into a fresh table and returns the disk space it used
+	private long run(Scheme scheme, int rows) {
+		String table = "bench_" + scheme.name;
+		jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+		jdbcTemplate.execute("CREATE TABLE " + table + " (id " + scheme.idType + " PRIMARY KEY, payload VARCHAR(64))");
+		List<Object[]> batch = new ArrayList<>(BATCH);
+		for (int i = 0; i < rows; i++) {
+			batch.add(new Object[]{scheme.ids.get(), "row-" + i});
+			if (batch.size() == BATCH || i == rows - 1) {
+				jdbcTemplate.batchUpdate("INSERT INTO " + table + " (id, payload) VALUES (?, ?)", batch);
+				batch.clear();
+			}
+		}
+		Long diskBytes = jdbcTemplate.queryForObject("CALL DISK_SPACE_USED(?)", Long.class, table.toUpperCase());
+		jdbcTemplate.execute("DROP TABLE " + table);
+		return diskBytes != null ? diskBytes : 0;
+	}
+}
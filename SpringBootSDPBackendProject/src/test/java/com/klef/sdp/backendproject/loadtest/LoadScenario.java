@@ -0,0 +1,30 @@
+package com.klef.sdp.backendproject.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+// One endpoint in the workload mix: its offered arrival rate and how to build each request
+class LoadScenario {
+	private final String name;
+	private final double ratePerSecond;
+	private final BiFunction<Random, SeededData, HttpRequest> requestFactory;
+
+	LoadScenario(String name, double ratePerSecond, BiFunction<Random, SeededData, HttpRequest> requestFactory) {
+		this.name = name;
+		this.ratePerSecond = ratePerSecond;
+		this.requestFactory = requestFactory;
+	}
+
+	String getName() {
+		return name;
+	}
+
+	double getRatePerSecond() {
+		return ratePerSecond;
+	}
+
+	HttpRequest newRequest(Random random, SeededData data) {
+		return requestFactory.apply(random, data);
+	}
+}
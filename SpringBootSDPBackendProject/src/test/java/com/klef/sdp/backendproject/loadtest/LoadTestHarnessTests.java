@@ -0,0 +1,181 @@
+package com.klef.sdp.backendproject.loadtest;
+
+import com.klef.sdp.backendproject.service.BeneficiaryLocationIndex;
+import com.klef.sdp.backendproject.service.DonationAnalyticsStore;
+import com.klef.sdp.backendproject.service.LeaderboardStore;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Boots the whole application on a random port against an embedded H2 database (or any JDBC URL
+// given in foodshare.loadtest.jdbc-url, e.g. a local Postgres), seeds a synthetic population and
+// drives the REST endpoints with open-model arrivals. Skipped by default; run with
+//   -Dfoodshare.loadtest=true
+// and tune with these system properties (defaults in brackets):
+//   foodshare.loadtest.donors [2000], .beneficiaries [10000], .donations-per-donor [20], .rewards-per-donor [5]
+//   foodshare.loadtest.mix [see DEFAULT_MIX]: scenario=requests per second, comma separated
+//   foodshare.loadtest.rate-multiplier [1.0], .warmup-seconds [15], .duration-seconds [60], .max-in-flight [2000]
+//   foodshare.loadtest.results-dir [build/loadtest]
+// The histograms are printed and written as JSON; nothing is asserted beyond the run completing.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EnabledIfSystemProperty(named = "foodshare.loadtest", matches = "true")
+class LoadTestHarnessTests {
+
+	private static final String DEFAULT_MIX = "donations.list=20,donations.nearby=30,receiver.request=5,"
+			+ "receiver.list=10,donation-requests.list=10,rewards.leaderboard=25,admin.analytics=2";
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private DonationAnalyticsStore analyticsStore;
+
+	@Autowired
+	private BeneficiaryLocationIndex beneficiaryLocationIndex;
+
+	@Autowired
+	private LeaderboardStore leaderboardStore;
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) {
+		String url = System.getProperty("foodshare.loadtest.jdbc-url",
+				"jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+		registry.add("spring.datasource.url", () -> url);
+		registry.add("spring.datasource.username", () -> System.getProperty("foodshare.loadtest.jdbc-user", "sa"));
+		registry.add("spring.datasource.password", () -> System.getProperty("foodshare.loadtest.jdbc-password", ""));
+		registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+		registry.add("spring.jpa.show-sql", () -> "false");
+		registry.add("spring.jpa.properties.hibernate.jdbc.batch_size", () -> "500");
+	}
+
+	@Test
+	void runWorkload() throws Exception {
+		long seed = Long.getLong("foodshare.loadtest.seed", 42L);
+		SeededData data = new LoadTestSeeder(entityManagerFactory, seed).seed(
+				Integer.getInteger("foodshare.loadtest.donors", 2_000),
+				Integer.getInteger("foodshare.loadtest.beneficiaries", 10_000),
+				Integer.getInteger("foodshare.loadtest.donations-per-donor", 20),
+				Integer.getInteger("foodshare.loadtest.rewards-per-donor", 5));
+		// These loaded on startup, before the seed data existed
+		analyticsStore.rebuild();
+		beneficiaryLocationIndex.load();
+		leaderboardStore.reconcile();
+
+		double multiplier = Double.parseDouble(System.getProperty("foodshare.loadtest.rate-multiplier", "1.0"));
+		Map<String, Double> mix = parseMix(System.getProperty("foodshare.loadtest.mix", DEFAULT_MIX));
+		List<LoadScenario> scenarios = new ArrayList<>();
+		mix.forEach((name, rate) -> scenarios.add(scenario(name, rate * multiplier)));
+
+		Duration warmup = Duration.ofSeconds(Long.getLong("foodshare.loadtest.warmup-seconds", 15L));
+		Duration duration = Duration.ofSeconds(Long.getLong("foodshare.loadtest.duration-seconds", 60L));
+		int maxInFlight = Integer.getInteger("foodshare.loadtest.max-in-flight", 2_000);
+		HttpClient client = HttpClient.newBuilder()
+				.executor(Executors.newFixedThreadPool(8))
+				.connectTimeout(Duration.ofSeconds(5))
+				.build();
+		Map<String, OpenModelLoadGenerator.EndpointStats> stats =
+				new OpenModelLoadGenerator(client, data, seed, maxInFlight).run(scenarios, warmup, duration);
+
+		Map<String, Object> settings = new LinkedHashMap<>();
+		settings.put("seed", seed);
+		settings.put("donors", data.donorIds.size());
+		settings.put("beneficiaries", data.beneficiaryIds.size());
+		settings.put("available_donations", data.availableDonationIds.size());
+		settings.put("mix", mix);
+		settings.put("rate_multiplier", multiplier);
+		settings.put("warmup_seconds", warmup.toSeconds());
+		settings.put("max_in_flight", maxInFlight);
+		LoadTestReport report = new LoadTestReport(stats, duration, settings);
+		report.print();
+		File file = report.write(new File(System.getProperty("foodshare.loadtest.results-dir", "build/loadtest")));
+		System.out.println("Load test results written to " + file.getAbsolutePath());
+		assertTrue(stats.values().stream().anyMatch(endpoint -> endpoint.latency.count() > 0));
+	}
+
+	private static Map<String, Double> parseMix(String mix) {
+		Map<String, Double> rates = new LinkedHashMap<>();
+		for (String entry : mix.split(",")) {
+			String[] parts = entry.trim().split("=");
+			if (parts.length != 2) {
+				throw new IllegalArgumentException("Invalid mix entry: " + entry);
+			}
+			rates.put(parts[0].trim(), Double.parseDouble(parts[1].trim()));
+		}
+		return rates;
+	}
+
+	private LoadScenario scenario(String name, double rate) {
+		switch (name) {
+			case "donations.list":
+				return new LoadScenario(name, rate, (random, data) ->
+						get("/api/v1/donations?userId=" + SeededData.pick(data.donorIds, random), null));
+			case "donations.nearby":
+				return new LoadScenario(name, rate, (random, data) -> {
+					int beneficiary = random.nextInt(data.beneficiaryIds.size());
+					double[] location = data.beneficiaryLocations.get(beneficiary);
+					return get("/api/v1/donations/nearby?latitude=" + location[0] + "&longitude=" + location[1]
+							+ "&radiusKm=10&limit=20", data.beneficiaryIds.get(beneficiary));
+				});
+			case "receiver.request":
+				return new LoadScenario(name, rate, (random, data) -> post("/api/v1/receiver",
+						SeededData.pick(data.beneficiaryIds, random),
+						SeededData.pick(data.availableDonationIds, random)));
+			case "receiver.list":
+				return new LoadScenario(name, rate, (random, data) ->
+						get("/api/v1/receiver?userId=" + SeededData.pick(data.beneficiaryIds, random), null));
+			case "donation-requests.list":
+				return new LoadScenario(name, rate, (random, data) ->
+						get("/api/v1/donation-requests?userId=" + SeededData.pick(data.beneficiaryIds, random), null));
+			case "rewards.leaderboard":
+				return new LoadScenario(name, rate, (random, data) ->
+						get("/api/v1/rewards/leaderboard?page=" + random.nextInt(5) + "&size=10", null));
+			case "admin.analytics":
+				return new LoadScenario(name, rate, (random, data) ->
+						get("/api/v1/admin/analytics?userId=" + data.adminId, data.adminId));
+			default:
+				throw new IllegalArgumentException("Unknown scenario: " + name);
+		}
+	}
+
+	private HttpRequest get(String path, String userId) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.timeout(Duration.ofSeconds(30))
+				.GET();
+		if (userId != null) {
+			builder.header("X-User-Id", userId);
+		}
+		return builder.build();
+	}
+
+	private HttpRequest post(String path, String userId, String donationId) {
+		String body = "{\"userId\":\"" + userId + "\",\"donationId\":\"" + donationId + "\"}";
+		return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.timeout(Duration.ofSeconds(30))
+				.header("Content-Type", "application/json")
+				.header("X-User-Id", userId)
+				.POST(HttpRequest.BodyPublishers.ofString(body))
+				.build();
+	}
+}
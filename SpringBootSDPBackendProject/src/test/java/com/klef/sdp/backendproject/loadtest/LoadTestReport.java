@@ -0,0 +1,85 @@
+package com.klef.sdp.backendproject.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.klef.sdp.backendproject.metrics.LatencyHistogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Prints a per-endpoint summary and writes the full result, including each endpoint's percentile
+// distribution, as JSON so runs can be compared offline
+class LoadTestReport {
+	private static final double[] PERCENTILES = {50, 75, 90, 95, 99, 99.9, 99.99, 100};
+
+	private final Map<String, OpenModelLoadGenerator.EndpointStats> stats;
+	private final Duration duration;
+	private final Map<String, Object> settings;
+
+	LoadTestReport(Map<String, OpenModelLoadGenerator.EndpointStats> stats, Duration duration, Map<String, Object> settings) {
+		this.stats = stats;
+		this.duration = duration;
+		this.settings = settings;
+	}
+
+	void print() {
+		System.out.printf("%-24s %9s %9s %8s %6s %6s %7s %9s %9s %9s %9s%n", "endpoint", "offered/s", "done/s",
+				"count", "4xx", "5xx", "dropped", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+		for (OpenModelLoadGenerator.EndpointStats endpoint : stats.values()) {
+			LatencyHistogram latency = endpoint.latency;
+			System.out.printf("%-24s %9.1f %9.1f %8d %6d %6d %7d %9.2f %9.2f %9.2f %9.2f%n", endpoint.name,
+					endpoint.offeredRate, latency.count() / (double) duration.toSeconds(), latency.count(),
+					endpoint.clientErrors.get(), endpoint.serverErrors.get() + endpoint.failures.get(),
+					endpoint.dropped.get(), millis(latency.percentile(50)), millis(latency.percentile(99)),
+					millis(latency.percentile(99.9)), millis(latency.max()));
+		}
+	}
+
+	File write(File directory) throws IOException {
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("finished_at", LocalDateTime.now().toString());
+		report.put("duration_seconds", duration.toSeconds());
+		report.put("settings", settings);
+		List<Map<String, Object>> endpoints = new ArrayList<>();
+		for (OpenModelLoadGenerator.EndpointStats endpoint : stats.values()) {
+			LatencyHistogram latency = endpoint.latency;
+			Map<String, Object> row = new LinkedHashMap<>();
+			row.put("endpoint", endpoint.name);
+			row.put("offered_rate_per_second", endpoint.offeredRate);
+			row.put("throughput_per_second", latency.count() / (double) duration.toSeconds());
+			row.put("count", latency.count());
+			row.put("success", endpoint.success.get());
+			row.put("client_errors", endpoint.clientErrors.get());
+			row.put("server_errors", endpoint.serverErrors.get());
+			row.put("failures", endpoint.failures.get());
+			row.put("dropped", endpoint.dropped.get());
+			row.put("mean_ms", latency.mean() / 1000.0);
+			Map<String, Double> percentiles = new LinkedHashMap<>();
+			for (double percentile : PERCENTILES) {
+				percentiles.put("p" + percentile, millis(latency.percentile(percentile)));
+			}
+			row.put("latency_ms", percentiles);
+			endpoints.add(row);
+		}
+		report.put("endpoints", endpoints);
+
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Cannot create " + directory);
+		}
+		File file = new File(directory, "loadtest-"
+				+ LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+		return file;
+	}
+
+	private static double millis(long micros) {
+		return micros / 1000.0;
+	}
+}
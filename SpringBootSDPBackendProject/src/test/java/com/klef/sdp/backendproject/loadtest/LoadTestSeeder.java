@@ -0,0 +1,154 @@
+package com.klef.sdp.backendproject.loadtest;
+
+import com.klef.sdp.backendproject.model.Donations;
+import com.klef.sdp.backendproject.model.Reward;
+import com.klef.sdp.backendproject.model.Users;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+// Persists a synthetic population through JPA, committing and clearing every BATCH rows so the
+// persistence context stays small. Users cluster around a handful of cities the way real sign-ups
+// do, and donation statuses and sizes follow a rough production-like mix.
+class LoadTestSeeder {
+	private static final int BATCH = 1_000;
+	private static final double[][] CITY_CENTRES = {
+			{16.51, 80.65}, {16.31, 80.44}, {17.39, 78.49}, {13.08, 80.27}, {12.97, 77.59}, {19.08, 72.88}};
+	private static final String[] CITY_NAMES = {"Vijayawada", "Guntur", "Hyderabad", "Chennai", "Bengaluru", "Mumbai"};
+	private static final String[] FOODS = {"Cooked rice and dal", "Vegetable biryani", "Bread loaves", "Fresh fruit",
+			"Packaged snacks", "Milk packets", "Chapati and curry"};
+
+	private final EntityManagerFactory entityManagerFactory;
+	private final Random random;
+
+	LoadTestSeeder(EntityManagerFactory entityManagerFactory, long seed) {
+		this.entityManagerFactory = entityManagerFactory;
+		this.random = new Random(seed);
+	}
+
+	SeededData seed(int donors, int beneficiaries, int donationsPerDonor, int rewardsPerDonor) {
+		LocalDateTime now = LocalDateTime.now();
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+		try {
+			entityManager.getTransaction().begin();
+			Users admin = user("admin", 0, now);
+			admin.setIs_active(true);
+			entityManager.persist(admin);
+
+			List<String> donorIds = new ArrayList<>(donors);
+			List<String> beneficiaryIds = new ArrayList<>(beneficiaries);
+			List<double[]> beneficiaryLocations = new ArrayList<>(beneficiaries);
+			List<String> availableDonationIds = new ArrayList<>();
+			int pending = 0;
+
+			for (int i = 0; i < beneficiaries; i++) {
+				Users beneficiary = user("beneficiary", i, now);
+				entityManager.persist(beneficiary);
+				beneficiaryIds.add(beneficiary.getUser_id());
+				beneficiaryLocations.add(new double[]{beneficiary.getLatitude(), beneficiary.getLongitude()});
+				pending = flushIfFull(entityManager, pending + 1);
+			}
+
+			Donations.FoodCategory[] categories = Donations.FoodCategory.values();
+			for (int i = 0; i < donors; i++) {
+				Users donor = user("donor", i, now);
+				entityManager.persist(donor);
+				donorIds.add(donor.getUser_id());
+				for (int d = 0; d < donationsPerDonor; d++) {
+					Donations donation = new Donations();
+					donation.setDonation_id(UUID.randomUUID().toString());
+					donation.setUser(donor);
+					donation.setFood_description(FOODS[random.nextInt(FOODS.length)]);
+					donation.setFood_category(categories[random.nextInt(categories.length)]);
+					donation.setQuantity_kg(1 + random.nextInt(80) / 4.0);
+					LocalDateTime createdAt = now.minusMinutes(random.nextInt(60 * 24 * 90));
+					donation.setStatus(donationStatus());
+					donation.setExpiry_date(donation.getStatus() == Donations.Status.available
+							? now.plusHours(2 + random.nextInt(70)) : createdAt.plusHours(24));
+					donation.setPickup_window_start(now.plusHours(1));
+					donation.setPickup_window_end(now.plusHours(5));
+					donation.setLatitude(jitter(donor.getLatitude()));
+					donation.setLongitude(jitter(donor.getLongitude()));
+					donation.setCreated_at(createdAt);
+					donation.setUpdated_at(createdAt);
+					entityManager.persist(donation);
+					if (donation.getStatus() == Donations.Status.available) {
+						availableDonationIds.add(donation.getDonation_id());
+					}
+					pending = flushIfFull(entityManager, pending + 1);
+				}
+				for (int r = 0; r < rewardsPerDonor; r++) {
+					Reward reward = new Reward();
+					reward.setReward_id(UUID.randomUUID().toString());
+					reward.setUser(donor);
+					reward.setPoints(5 + random.nextInt(50));
+					reward.setReason("Donation delivered");
+					reward.setAwarded_at(now.minusDays(random.nextInt(90)));
+					entityManager.persist(reward);
+					pending = flushIfFull(entityManager, pending + 1);
+				}
+			}
+			entityManager.getTransaction().commit();
+			return new SeededData(admin.getUser_id(), donorIds, beneficiaryIds, availableDonationIds, beneficiaryLocations);
+		} finally {
+			if (entityManager.getTransaction().isActive()) {
+				entityManager.getTransaction().rollback();
+			}
+			entityManager.close();
+		}
+	}
+
+	private int flushIfFull(EntityManager entityManager, int pending) {
+		if (pending < BATCH) {
+			return pending;
+		}
+		// One transaction per batch; entities referenced after clear() are detached, which is fine for
+		// the many-to-one side of a new row
+		entityManager.getTransaction().commit();
+		entityManager.clear();
+		entityManager.getTransaction().begin();
+		return 0;
+	}
+
+	private Users user(String role, int index, LocalDateTime now) {
+		int city = random.nextInt(CITY_CENTRES.length);
+		Users user = new Users();
+		user.setUser_id(UUID.randomUUID().toString());
+		user.setUsername(role + "-" + index);
+		user.setEmail(role + "-" + index + "@loadtest.local");
+		user.setPassword_hash("loadtest");
+		user.setRole(role);
+		user.setCity(CITY_NAMES[city]);
+		user.setCountry("India");
+		user.setLatitude(jitter(CITY_CENTRES[city][0]));
+		user.setLongitude(jitter(CITY_CENTRES[city][1]));
+		user.setIs_active(random.nextInt(20) != 0);
+		user.setCreated_at(now.minusDays(random.nextInt(365)));
+		user.setUpdated_at(now);
+		return user;
+	}
+
+	// Within roughly 15 km of the given point
+	private double jitter(double degrees) {
+		return degrees + (random.nextDouble() - 0.5) * 0.27;
+	}
+
+	private Donations.Status donationStatus() {
+		int roll = random.nextInt(100);
+		if (roll < 30) {
+			return Donations.Status.available;
+		}
+		if (roll < 40) {
+			return Donations.Status.requested;
+		}
+		if (roll < 85) {
+			return Donations.Status.delivered;
+		}
+		return Donations.Status.expired;
+	}
+}
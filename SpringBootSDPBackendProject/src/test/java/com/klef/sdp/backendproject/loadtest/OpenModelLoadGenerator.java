@@ -0,0 +1,131 @@
+package com.klef.sdp.backendproject.loadtest;
+
+import com.klef.sdp.backendproject.metrics.LatencyHistogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-model load: each scenario's requests arrive as a Poisson process at its configured rate,
+// independent of how fast earlier requests complete. Latency is measured from the moment a request
+// was scheduled to arrive, not from when it was actually sent, so a stalled server shows up as
+// queueing delay instead of silently lowering the offered load (coordinated omission).
+class OpenModelLoadGenerator {
+	private final HttpClient client;
+	private final SeededData data;
+	private final long seed;
+	private final int maxInFlight;
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	static class EndpointStats {
+		final String name;
+		final double offeredRate;
+		final LatencyHistogram latency = new LatencyHistogram();
+		final AtomicLong success = new AtomicLong();
+		final AtomicLong clientErrors = new AtomicLong();
+		final AtomicLong serverErrors = new AtomicLong();
+		final AtomicLong failures = new AtomicLong();
+		// Arrivals not sent because maxInFlight requests were already outstanding
+		final AtomicLong dropped = new AtomicLong();
+
+		EndpointStats(String name, double offeredRate) {
+			this.name = name;
+			this.offeredRate = offeredRate;
+		}
+	}
+
+	OpenModelLoadGenerator(HttpClient client, SeededData data, long seed, int maxInFlight) {
+		this.client = client;
+		this.data = data;
+		this.seed = seed;
+		this.maxInFlight = maxInFlight;
+	}
+
+	Map<String, EndpointStats> run(List<LoadScenario> scenarios, Duration warmup, Duration duration)
+			throws InterruptedException {
+		long start = System.nanoTime();
+		long measureFrom = start + warmup.toNanos();
+		long end = measureFrom + duration.toNanos();
+
+		Map<String, EndpointStats> stats = new LinkedHashMap<>();
+		List<Thread> arrivals = new ArrayList<>();
+		for (int i = 0; i < scenarios.size(); i++) {
+			LoadScenario scenario = scenarios.get(i);
+			EndpointStats endpointStats = new EndpointStats(scenario.getName(), scenario.getRatePerSecond());
+			stats.put(scenario.getName(), endpointStats);
+			Random random = new Random(seed + i);
+			Thread thread = new Thread(() -> arrive(scenario, endpointStats, random, start, measureFrom, end),
+					"load-" + scenario.getName());
+			thread.setDaemon(true);
+			arrivals.add(thread);
+			thread.start();
+		}
+		for (Thread thread : arrivals) {
+			thread.join();
+		}
+		long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+			Thread.sleep(10);
+		}
+		return stats;
+	}
+
+	private void arrive(LoadScenario scenario, EndpointStats stats, Random random, long start, long measureFrom, long end) {
+		if (scenario.getRatePerSecond() <= 0) {
+			return;
+		}
+		double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / scenario.getRatePerSecond();
+		long intended = start;
+		while (true) {
+			// Exponential inter-arrival times give a Poisson arrival process
+			intended += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+			if (intended >= end) {
+				return;
+			}
+			long wait = intended - System.nanoTime();
+			if (wait > 0) {
+				LockSupport.parkNanos(wait);
+			}
+			boolean measured = intended >= measureFrom;
+			if (inFlight.incrementAndGet() > maxInFlight) {
+				inFlight.decrementAndGet();
+				if (measured) {
+					stats.dropped.incrementAndGet();
+				}
+				continue;
+			}
+			HttpRequest request = scenario.newRequest(random, data);
+			long intendedAt = intended;
+			client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+					.whenComplete((response, error) -> {
+						inFlight.decrementAndGet();
+						if (measured) {
+							record(stats, intendedAt, response, error);
+						}
+					});
+		}
+	}
+
+	private static void record(EndpointStats stats, long intendedAt, HttpResponse<?> response, Throwable error) {
+		stats.latency.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedAt));
+		if (error != null) {
+			stats.failures.incrementAndGet();
+		} else if (response.statusCode() >= 500) {
+			stats.serverErrors.incrementAndGet();
+		} else if (response.statusCode() >= 400) {
+			stats.clientErrors.incrementAndGet();
+		} else {
+			stats.success.incrementAndGet();
+		}
+	}
+}
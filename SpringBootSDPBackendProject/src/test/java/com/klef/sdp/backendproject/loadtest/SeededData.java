@@ -0,0 +1,26 @@
+package com.klef.sdp.backendproject.loadtest;
+
+import java.util.List;
+import java.util.Random;
+
+// Ids of the rows the seeder created, for scenarios to pick request parameters from
+class SeededData {
+	final String adminId;
+	final List<String> donorIds;
+	final List<String> beneficiaryIds;
+	final List<String> availableDonationIds;
+	final List<double[]> beneficiaryLocations;
+
+	SeededData(String adminId, List<String> donorIds, List<String> beneficiaryIds,
+			List<String> availableDonationIds, List<double[]> beneficiaryLocations) {
+		this.adminId = adminId;
+		this.donorIds = donorIds;
+		this.beneficiaryIds = beneficiaryIds;
+		this.availableDonationIds = availableDonationIds;
+		this.beneficiaryLocations = beneficiaryLocations;
+	}
+
+	static <T> T pick(List<T> values, Random random) {
+		return values.get(random.nextInt(values.size()));
+	}
+}
@@ -0,0 +1,102 @@
+package com.klef.sdp.backendproject.metrics;
+
+import com.klef.sdp.backendproject.TestEntities;
+import com.klef.sdp.backendproject.dto.DonationRequestResponseDTO;
+import com.klef.sdp.backendproject.model.DonationRequest;
+import com.klef.sdp.backendproject.model.Donations;
+import com.klef.sdp.backendproject.model.Users;
+import com.klef.sdp.backendproject.repository.DonationRequestRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector=com.klef.sdp.backendproject.metrics.SqlStatementInspector",
+		"foodshare.queries.detector.mode=fail",
+		"foodshare.queries.detector.repeat-threshold=3"
+})
+@Import(NPlusOneDetector.class)
+class NPlusOneDetectorTests {
+
+	private static final int DONATIONS = 6;
+
+	@Autowired
+	private NPlusOneDetector detector;
+
+	@Autowired
+	private DonationRequestRepository donationRequestRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Test
+	void flagsEagerAssociationLoadedPerRow() {
+		Users beneficiary = seedRequests();
+
+		detector.begin();
+		List<DonationRequest> requests = donationRequestRepository.findByBeneficiaryUserId(beneficiary.getUser_id());
+		assertEquals(DONATIONS, requests.size());
+		NPlusOneDetectedException e = assertThrows(NPlusOneDetectedException.class,
+				() -> detector.end("GET /api/v1/receiver"));
+		assertTrue(e.getMessage().contains("repeated"), e.getMessage());
+
+		Map<String, Object> row = detector.report().get(0);
+		assertEquals("GET /api/v1/receiver", row.get("endpoint"));
+		assertEquals(1L, row.get("flaggedRequests"));
+	}
+
+	@Test
+	void passesSingleStatementLookup() {
+		Users beneficiary = seedRequests();
+		String requestId = donationRequestRepository.findByBeneficiaryUserId(beneficiary.getUser_id()).get(0).getRequest_id();
+		entityManager.clear();
+
+		detector.begin();
+		donationRequestRepository.findById(requestId);
+		assertDoesNotThrow(() -> detector.end("GET /api/v1/donation-requests/{requestId}"));
+	}
+
+	@Test
+	void passesProjectedListing() {
+		Users beneficiary = seedRequests();
+
+		detector.begin();
+		List<DonationRequestResponseDTO> rows = donationRequestRepository
+				.findResponsesWithDonationByBeneficiary(beneficiary.getUser_id(), null);
+		assertEquals(DONATIONS, rows.size());
+		assertEquals("Cooked rice", rows.get(0).getFoodDescription());
+		assertDoesNotThrow(() -> detector.end("GET /api/v1/receiver"));
+	}
+
+	@Test
+	void shapeIgnoresLiteralsAndInListLength() {
+		assertEquals(QueryCapture.shapeOf("select * from donations where donation_id in (?, ?, ?) and quantity_kg > 5"),
+				QueryCapture.shapeOf("select *  from donations where donation_id in (?) and quantity_kg > 12.5"));
+		assertEquals(QueryCapture.shapeOf("select * from users where username = 'a'"),
+				QueryCapture.shapeOf("select * from users where username = 'it''s'"));
+	}
+
+	// One beneficiary with a request on each of DONATIONS donations from different donors,
+	// with the persistence context cleared so associations have to be loaded from the database
+	private Users seedRequests() {
+		Users beneficiary = entityManager.persist(TestEntities.user("beneficiary"));
+		for (int i = 0; i < DONATIONS; i++) {
+			Users donor = entityManager.persist(TestEntities.user("donor"));
+			Donations donation = entityManager.persist(TestEntities.donation(donor));
+			entityManager.persist(TestEntities.request(donation, beneficiary));
+		}
+		entityManager.flush();
+		entityManager.clear();
+		return beneficiary;
+	}
+}
@@ -0,0 +1,111 @@
+package com.klef.sdp.backendproject.service;
+
+import com.klef.sdp.backendproject.dto.AnalyticsReportResponseDTO;
+import com.klef.sdp.backendproject.model.Donations;
+import com.klef.sdp.backendproject.model.Users;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(AnalyticsReportQuery.class)
+class AnalyticsReportQueryTests {
+
+	// count, delivered total, top donors, city totals
+	private static final long EXPECTED_STATEMENTS = 4;
+
+	@Autowired
+	private AnalyticsReportQuery analyticsReportQuery;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void reportIssuesFixedNumberOfStatements() {
+		seed(3, 2);
+		assertEquals(EXPECTED_STATEMENTS, countStatements());
+
+		seed(40, 3);
+		assertEquals(EXPECTED_STATEMENTS, countStatements());
+	}
+
+	@Test
+	void topDonorsAreOrderedAndLimitedInSql() {
+		seed(8, 1);
+		Users busiest = donor("busiest", "Vijayawada");
+		for (int i = 0; i < 5; i++) {
+			donation(busiest, Donations.Status.delivered, 4.0);
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		AnalyticsReportResponseDTO report = analyticsReportQuery.buildReport(5);
+		assertEquals(5, report.getTopDonors().size());
+		assertEquals(busiest.getUser_id(), report.getTopDonors().get(0).getUserId());
+		assertEquals("busiest", report.getTopDonors().get(0).getUsername());
+		assertEquals(5, report.getTopDonors().get(0).getTotalDonations());
+	}
+
+	private long countStatements() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		analyticsReportQuery.buildReport(5);
+		return statistics.getPrepareStatementCount();
+	}
+
+	private void seed(int donors, int donationsPerDonor) {
+		for (int d = 0; d < donors; d++) {
+			Users user = donor("donor-" + System.nanoTime(), d % 2 == 0 ? "Guntur" : "Hyderabad");
+			for (int i = 0; i < donationsPerDonor; i++) {
+				donation(user, i % 2 == 0 ? Donations.Status.delivered : Donations.Status.available, 2.5);
+			}
+		}
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	private Users donor(String username, String city) {
+		Users user = new Users();
+		user.setUser_id(UUID.randomUUID().toString());
+		user.setUsername(username);
+		user.setEmail(username + "@example.com");
+		user.setPassword_hash("secret");
+		user.setRole("donor");
+		user.setCity(city);
+		user.setIs_active(true);
+		user.setCreated_at(LocalDateTime.now());
+		user.setUpdated_at(LocalDateTime.now());
+		return entityManager.persist(user);
+	}
+
+	private void donation(Users user, Donations.Status status, double quantityKg) {
+		Donations donation = new Donations();
+		donation.setDonation_id(UUID.randomUUID().toString());
+		donation.setUser(user);
+		donation.setFood_description("Cooked rice");
+		donation.setFood_category(Donations.FoodCategory.values()[0]);
+		donation.setQuantity_kg(quantityKg);
+		donation.setExpiry_date(LocalDateTime.now().plusDays(1));
+		donation.setPickup_window_start(LocalDateTime.now());
+		donation.setPickup_window_end(LocalDateTime.now().plusHours(4));
+		donation.setLatitude(16.5);
+		donation.setLongitude(80.6);
+		donation.setStatus(status);
+		donation.setCreated_at(LocalDateTime.now());
+		donation.setUpdated_at(LocalDateTime.now());
+		entityManager.persist(donation);
+	}
+}
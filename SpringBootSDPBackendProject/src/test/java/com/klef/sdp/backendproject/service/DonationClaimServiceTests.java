@@ -0,0 +1,161 @@
+package com.klef.sdp.backendproject.service;
+
+import com.klef.sdp.backendproject.TestEntities;
+import com.klef.sdp.backendproject.model.DonationRequest;
+import com.klef.sdp.backendproject.model.Donations;
+import com.klef.sdp.backendproject.model.Users;
+import com.klef.sdp.backendproject.repository.DonationRequestRepository;
+import com.klef.sdp.backendproject.repository.DonationsRepository;
+import com.klef.sdp.backendproject.repository.UsersRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Runs without the test transaction so every claim commits on its own, as it does in production
+@DataJpaTest
+@Import(DonationClaimService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DonationClaimServiceTests {
+
+	private static final int CLAIMERS = 16;
+	private static final int EDIT_ROUNDS = 20;
+
+	@Autowired
+	private DonationClaimService donationClaimService;
+
+	@Autowired
+	private UsersRepository usersRepository;
+
+	@Autowired
+	private DonationsRepository donationsRepository;
+
+	@Autowired
+	private DonationRequestRepository donationRequestRepository;
+
+	@AfterEach
+	void cleanUp() {
+		donationRequestRepository.deleteAll();
+		donationsRepository.deleteAll();
+		usersRepository.deleteAll();
+	}
+
+	@Test
+	void concurrentApprovalsHaveExactlyOneWinner() throws Exception {
+		Users donor = user("donor");
+		Donations donation = donation(donor);
+		List<String> requestIds = new ArrayList<>();
+		for (int i = 0; i < CLAIMERS; i++) {
+			requestIds.add(request(donation, user("beneficiary")).getRequest_id());
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(CLAIMERS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Boolean>> outcomes = new ArrayList<>();
+		for (String requestId : requestIds) {
+			outcomes.add(executor.submit(() -> {
+				start.await();
+				try {
+					donationClaimService.approve(requestId, donor.getUser_id());
+					return true;
+				} catch (IllegalArgumentException e) {
+					return false;
+				}
+			}));
+		}
+		start.countDown();
+
+		int winners = 0;
+		for (Future<Boolean> outcome : outcomes) {
+			if (outcome.get(30, TimeUnit.SECONDS)) {
+				winners++;
+			}
+		}
+		executor.shutdown();
+
+		assertEquals(1, winners);
+		assertEquals(Donations.Status.requested, donationsRepository.findById(donation.getDonation_id()).get().getStatus());
+		List<DonationRequest> requests = donationRequestRepository.findAll();
+		assertEquals(1, requests.stream().filter(r -> r.getStatus() == DonationRequest.Status.approved).count());
+		assertEquals(CLAIMERS - 1, requests.stream().filter(r -> r.getStatus() == DonationRequest.Status.rejected).count());
+	}
+
+	@Test
+	void approvingAClaimedDonationIsRejected() {
+		Users donor = user("donor");
+		Donations donation = donation(donor);
+		// Claimed without going through the service, so the fresh request below is still pending and
+		// only the conditional update on the donation can turn the approval down
+		donation.setStatus(Donations.Status.requested);
+		donationsRepository.save(donation);
+		DonationRequest pending = request(donation, user("beneficiary"));
+
+		IllegalArgumentException rejection = assertThrows(IllegalArgumentException.class,
+				() -> donationClaimService.approve(pending.getRequest_id(), donor.getUser_id()));
+		assertEquals("Donation has already been claimed", rejection.getMessage());
+		assertEquals(DonationRequest.Status.pending,
+				donationRequestRepository.findById(pending.getRequest_id()).get().getStatus());
+	}
+
+	@Test
+	void editsNeverOverwriteAConcurrentClaim() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		for (int round = 0; round < EDIT_ROUNDS; round++) {
+			Users donor = user("donor");
+			Donations donation = donation(donor);
+			DonationRequest pending = request(donation, user("beneficiary"));
+
+			CountDownLatch start = new CountDownLatch(1);
+			Future<DonationRequest> claim = executor.submit(() -> {
+				start.await();
+				return donationClaimService.approve(pending.getRequest_id(), donor.getUser_id());
+			});
+			// The donor's edit was made against the donation as available
+			Future<Boolean> edit = executor.submit(() -> {
+				start.await();
+				try {
+					donationClaimService.update(donation.getDonation_id(), Donations.Status.available,
+							updated -> updated.setQuantity_kg(7.5));
+					return true;
+				} catch (IllegalArgumentException e) {
+					return false;
+				}
+			});
+			start.countDown();
+			claim.get(30, TimeUnit.SECONDS);
+			boolean edited = edit.get(30, TimeUnit.SECONDS);
+
+			// Either the edit went first and the claim kept it, or the claim went first and the edit was refused
+			Donations current = donationsRepository.findById(donation.getDonation_id()).get();
+			assertEquals(Donations.Status.requested, current.getStatus());
+			assertEquals(edited ? 7.5 : 5.0, current.getQuantity_kg(), 0.0);
+		}
+		executor.shutdown();
+	}
+
+	private Users user(String role) {
+		return usersRepository.save(TestEntities.user(role));
+	}
+
+	private Donations donation(Users donor) {
+		return donationsRepository.save(TestEntities.donation(donor));
+	}
+
+	private DonationRequest request(Donations donation, Users beneficiary) {
+		return donationRequestRepository.save(TestEntities.request(donation, beneficiary));
+	}
+}
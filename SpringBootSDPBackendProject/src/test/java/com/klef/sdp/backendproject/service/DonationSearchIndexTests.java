@@ -0,0 +1,129 @@
+package com.klef.sdp.backendproject.service;
+
+import com.klef.sdp.backendproject.dto.DonationResponseDTO;
+import com.klef.sdp.backendproject.dto.DonationSearchResponseDTO;
+import com.klef.sdp.backendproject.event.DonationChangedEvent;
+import com.klef.sdp.backendproject.event.DonationSnapshot;
+import com.klef.sdp.backendproject.model.Donations;
+import com.klef.sdp.backendproject.model.Users;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DonationSearchIndexTests {
+
+	private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+	private static final Donations.FoodCategory FIRST = Donations.FoodCategory.values()[0];
+	private static final Donations.FoodCategory SECOND = Donations.FoodCategory.values()[1];
+
+	private DonationSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new DonationSearchIndex();
+		ReflectionTestUtils.setField(index, "cellSizeDeg", 0.25);
+		add("d1", "Jeera rice and dal", FIRST, "Vijayawada", 5, 16.50, 80.64);
+		add("d2", "Sourdough loaves", SECOND, "Vijayawada", 2, 16.51, 80.62);
+		add("d3", "Rice flour", SECOND, "Guntur", 9, 16.30, 80.44);
+		add("d4", "Vegetable rice bowls", FIRST, "Hyderabad", 1, 17.38, 78.48);
+	}
+
+	@Test
+	void matchesEveryWordWithLastWordAsPrefix() {
+		assertEquals(List.of("d4", "d1", "d3"), ids(search("rice", null, null, null, null)));
+		assertEquals(List.of("d1"), ids(search("jeera ric", null, null, null, null)));
+		assertEquals(List.of(), ids(search("rice sourdough", null, null, null, null)));
+	}
+
+	@Test
+	void facetsIgnoreOnlyTheCategoryFilter() {
+		DonationSearchResponseDTO response = search("rice", SECOND, null, null, null);
+		assertEquals(List.of("d3"), ids(response));
+		assertEquals(1, response.getTotal());
+		assertEquals(2L, response.getFacets().get(FIRST.name()));
+		assertEquals(1L, response.getFacets().get(SECOND.name()));
+	}
+
+	@Test
+	void filtersByCityAndDistance() {
+		assertEquals(List.of("d2", "d1"), ids(search(null, null, "vijayawada", null, null)));
+		// Vijayawada and Guntur are about 30 km apart; Hyderabad is well over 200 km away
+		DonationSearchResponseDTO nearby = index.search(null, null, null, 16.50, 80.64, 50.0,
+				DonationSearchIndex.Sort.distance, 10, NOW);
+		assertEquals(List.of("d1", "d2", "d3"), ids(nearby));
+		assertTrue(nearby.getContent().get(2).getDistanceKm() > 20);
+	}
+
+	@Test
+	void followsStatusChangesAndExpiry() {
+		DonationSnapshot claimed = snapshot("d1", "Jeera rice and dal", FIRST, "Vijayawada", 5, 16.50, 80.64)
+				.withStatus(Donations.Status.requested, NOW);
+		index.onDonationChanged(new DonationChangedEvent(null, claimed));
+		assertEquals(List.of("d4", "d3"), ids(search("rice", null, null, null, null)));
+
+		index.onDonationChanged(new DonationChangedEvent(claimed, null));
+		assertEquals(3, index.stats().get("donations"));
+
+		// d4 expires in an hour, so two hours from now it is no longer offered
+		DonationSearchResponseDTO later = index.search("rice", null, null, null, null, null,
+				DonationSearchIndex.Sort.expiry, 10, NOW.plusHours(2));
+		assertEquals(List.of("d3"), ids(later));
+	}
+
+	@Test
+	void unfilteredCountsLeaveOutExpiredDonations() {
+		// d4 (FIRST) expires an hour from now and d2 (SECOND) in two; the sweeper has not removed them
+		DonationSearchResponseDTO later = index.search(null, null, null, null, null, null,
+				DonationSearchIndex.Sort.expiry, 10, NOW.plusHours(2));
+		assertEquals(List.of("d1", "d3"), ids(later));
+		assertEquals(2, later.getTotal());
+		assertEquals(1L, later.getFacets().get(FIRST.name()));
+		assertEquals(1L, later.getFacets().get(SECOND.name()));
+		assertEquals(1L, index.countByCategory(NOW.plusHours(2)).get(FIRST));
+	}
+
+	private DonationSearchResponseDTO search(String keyword, Donations.FoodCategory category, String city,
+											 Double latitude, Double longitude) {
+		return index.search(keyword, category, city, latitude, longitude, null, DonationSearchIndex.Sort.expiry, 10, NOW);
+	}
+
+	private static List<String> ids(DonationSearchResponseDTO response) {
+		return response.getContent().stream().map(DonationResponseDTO::getDonationId).collect(Collectors.toList());
+	}
+
+	private void add(String id, String description, Donations.FoodCategory category, String city,
+					 int expiresInHours, double latitude, double longitude) {
+		index.onDonationChanged(new DonationChangedEvent(null,
+				snapshot(id, description, category, city, expiresInHours, latitude, longitude)));
+	}
+
+	private static DonationSnapshot snapshot(String id, String description, Donations.FoodCategory category, String city,
+											 int expiresInHours, double latitude, double longitude) {
+		Users donor = new Users();
+		donor.setUser_id("donor-" + id);
+		donor.setUsername("donor");
+		donor.setCity(city);
+		Donations donation = new Donations();
+		donation.setDonation_id(id);
+		donation.setUser(donor);
+		donation.setFood_description(description);
+		donation.setFood_category(category);
+		donation.setQuantity_kg(3.0);
+		donation.setExpiry_date(NOW.plusHours(expiresInHours));
+		donation.setPickup_window_start(NOW);
+		donation.setPickup_window_end(NOW.plusHours(4));
+		donation.setLatitude(latitude);
+		donation.setLongitude(longitude);
+		donation.setStatus(Donations.Status.available);
+		donation.setCreated_at(NOW.minusHours(1));
+		donation.setUpdated_at(NOW.minusHours(1));
+		return DonationSnapshot.of(donation);
+	}
+}
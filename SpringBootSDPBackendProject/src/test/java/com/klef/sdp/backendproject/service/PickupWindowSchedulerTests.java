@@ -0,0 +1,57 @@
+package com.klef.sdp.backendproject.service;
+
+import com.klef.sdp.backendproject.TestEntities;
+import com.klef.sdp.backendproject.event.DonationChangedEvent;
+import com.klef.sdp.backendproject.event.DonationSnapshot;
+import com.klef.sdp.backendproject.event.PickupWindowEvent;
+import com.klef.sdp.backendproject.model.Donations;
+import com.klef.sdp.backendproject.model.Users;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PickupWindowSchedulerTests {
+
+	@Test
+	void movingTheWindowOfARequestedDonationMovesItsTimers() {
+		List<Object> published = new CopyOnWriteArrayList<>();
+		PickupWindowScheduler scheduler = new PickupWindowScheduler();
+		ReflectionTestUtils.setField(scheduler, "tickMs", 10L);
+		ReflectionTestUtils.setField(scheduler, "wheelSize", 64);
+		ReflectionTestUtils.setField(scheduler, "eventPublisher", (ApplicationEventPublisher) published::add);
+		scheduler.init();
+
+		Users donor = TestEntities.user("donor");
+		Donations donation = TestEntities.donation(donor);
+		donation.setStatus(Donations.Status.requested);
+		donation.setPickup_window_start(LocalDateTime.now().plusHours(1));
+		donation.setPickup_window_end(LocalDateTime.now().plusHours(2));
+		scheduler.onPickupWindow(new PickupWindowEvent(PickupWindowEvent.Type.APPROVED, "request-1",
+				donation.getDonation_id(), donor.getUser_id(), "beneficiary-1",
+				donation.getPickup_window_start(), donation.getPickup_window_end()));
+		scheduler.tick();
+		assertEquals(List.of(), published);
+
+		// The donor moves the window while the donation stays requested; the new one is already open
+		DonationSnapshot before = DonationSnapshot.of(donation);
+		donation.setPickup_window_start(LocalDateTime.now().minusMinutes(1));
+		donation.setPickup_window_end(LocalDateTime.now().plusHours(1));
+		scheduler.onDonationChanged(new DonationChangedEvent(before, DonationSnapshot.of(donation)));
+		scheduler.tick();
+
+		assertEquals(1, published.size());
+		PickupWindowEvent starting = (PickupWindowEvent) published.get(0);
+		assertEquals(PickupWindowEvent.Type.STARTING, starting.getType());
+		assertEquals("request-1", starting.getRequestId());
+		assertEquals(donation.getPickup_window_end(), starting.getPickupWindowEnd());
+		// Only the release for the new end is left; both timers for the old window were cancelled
+		assertEquals(1, scheduler.stats().get("pendingTimers"));
+		assertEquals(1, scheduler.stats().get("trackedDonations"));
+	}
+}
@@ -0,0 +1,66 @@
+package com.klef.sdp.backendproject.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HierarchicalTimingWheelTests {
+
+	@Test
+	void firesTimersOfTheSameTickTogetherInInsertionOrder() {
+		HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 4, 0);
+		wheel.schedule(15, "a");
+		wheel.schedule(19, "b");
+		// Already due: handed out by the next advance without moving the wheel
+		wheel.schedule(5, "overdue");
+
+		assertEquals(List.of("overdue"), wheel.advance(0));
+		assertEquals(List.of(), wheel.advance(9));
+		assertEquals(List.of("a", "b"), wheel.advance(10));
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	void cascadesFromAnUpperLevelOnTime() {
+		// Level 0 covers 40 ms, so 95 ms starts on level 1 and moves down when the wheel reaches 80
+		HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 4, 0);
+		wheel.schedule(95, "x");
+
+		assertEquals(List.of(), wheel.advance(80));
+		assertEquals(1, wheel.size());
+		assertEquals(List.of(), wheel.advance(89));
+		assertEquals(List.of("x"), wheel.advance(90));
+		assertEquals(90, wheel.getCurrentTime());
+	}
+
+	@Test
+	void keepsDeadlinesBeyondTheTopLevelUntilTheyFallDue() {
+		// Eight levels of two 1 ms buckets span 256 ms; later deadlines overflow into the top level
+		HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1, 2, 0);
+		wheel.schedule(10_000, "far");
+		wheel.schedule(300, "near");
+
+		assertEquals(List.of(), wheel.advance(299));
+		assertEquals(List.of("near"), wheel.advance(300));
+		assertEquals(List.of(), wheel.advance(9_999));
+		assertEquals(List.of("far"), wheel.advance(10_000));
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	void cancelledTimersNeverFire() {
+		HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 4, 0);
+		HierarchicalTimingWheel.Timeout<String> cancelled = wheel.schedule(95, "cancelled");
+		wheel.schedule(95, "kept");
+
+		assertTrue(wheel.cancel(cancelled));
+		assertFalse(cancelled.isPending());
+		assertFalse(wheel.cancel(cancelled));
+		assertEquals(List.of("kept"), wheel.advance(100));
+		assertEquals(0, wheel.size());
+	}
+}